@@ -27,27 +27,53 @@ package org.omnimc.trix.api;
 
 import org.objectweb.asm.commons.Remapper;
 import org.omnimc.lumina.data.types.ClassData;
-import org.omnimc.lumina.data.types.FieldData;
-import org.omnimc.lumina.data.types.MethodData;
 import org.omnimc.lumina.mcmap.McMap;
 import org.omnimc.lumina.namespace.Namespace;
-
-import java.io.IOException;
+import org.omnimc.trix.api.cache.DescriptorCache;
+import org.omnimc.trix.api.cache.LookupCache;
+import org.omnimc.trix.api.mapping.McMapSource;
+import org.omnimc.trix.api.mapping.MappingSource;
+import org.omnimc.trix.api.mapping.SymbolTable;
 
 /**
+ * A {@link Remapper} that resolves its names through a {@link MappingSource}.
+ * <p>
+ * By default, this is a lumina {@link McMap} wrapped in a {@link McMapSource}, whose class lookups can optionally
+ * go through a {@link LookupCache}. A compiled {@link SymbolTable} can be used instead for allocation free lookups.
+ * <p>
+ * Descriptors and signatures are always interned through a {@link DescriptorCache} owned by this remapper, so
+ * every visitor sharing it only pays for rewriting a distinct descriptor once.
+ *
  * @author <a href=https://github.com/CadenCCC>Caden</a>
  * @since 2.0.0
  */
 public class TrixRemapper extends Remapper {
 
-    private final McMap chosenMap;
+    private final MappingSource source;
+    private final DescriptorCache descriptorCache = new DescriptorCache();
 
     public TrixRemapper(Namespace namespace) {
         this(namespace.getProperty());
     }
 
+    public TrixRemapper(Namespace namespace, LookupCache<String, ClassData> classCache) {
+        this(namespace.getProperty(), classCache);
+    }
+
     public TrixRemapper(McMap chosenMap) {
-        this.chosenMap = chosenMap;
+        this(chosenMap, null);
+    }
+
+    /**
+     * @param chosenMap  The map every lookup is resolved against.
+     * @param classCache The cache to put in front of {@code chosenMap}, or {@code null} to disable caching.
+     */
+    public TrixRemapper(McMap chosenMap, LookupCache<String, ClassData> classCache) {
+        this(new McMapSource(chosenMap, classCache));
+    }
+
+    public TrixRemapper(MappingSource source) {
+        this.source = source;
     }
 
     @Override
@@ -57,44 +83,72 @@ public class TrixRemapper extends Remapper {
 
     @Override
     public String mapType(String internalName) {
-        ClassData aClass = getClass(internalName);
-        if (aClass == null) {
+        String mappedName = source.mapClassName(internalName);
+        if (mappedName == null) {
             return internalName;
         }
 
-        return aClass.getClassName();
+        return mappedName;
+    }
+
+    @Override
+    public String mapDesc(String descriptor) {
+        return descriptorCache.mapDesc(descriptor, super::mapDesc);
+    }
+
+    @Override
+    public String mapMethodDesc(String methodDescriptor) {
+        return descriptorCache.mapMethodDesc(methodDescriptor, super::mapMethodDesc);
+    }
+
+    @Override
+    public String mapSignature(String signature, boolean typeSignature) {
+        return descriptorCache.mapSignature(signature, typeSignature, value -> super.mapSignature(value, typeSignature));
     }
 
     @Override
     public String mapFieldName(String owner, String name, String descriptor) {
-        ClassData classData = getClass(owner);
-        if (classData == null) {
+        String mappedName = source.mapFieldName(owner, name, descriptor != null ? mapDesc(descriptor) : "");
+        if (mappedName == null) {
             return name;
         }
 
-        FieldData field = classData.getField(name, descriptor != null ? mapDesc(descriptor) : "");
-
-        return field.getFieldName();
+        return mappedName;
     }
 
     @Override
     public String mapMethodName(String owner, String name, String descriptor) {
-        ClassData classData = getClass(owner);
-        if (classData == null) {
+        String mappedName = source.mapMethodName(owner, name, descriptor != null ? mapMethodDesc(descriptor) : "");
+        if (mappedName == null) {
             return name;
         }
 
-        MethodData method = classData.getMethod(name, descriptor != null ? mapMethodDesc(descriptor) : "");
+        return mappedName;
+    }
 
-        return method.getMethodName();
+    /**
+     * @param internalName The obfuscated internal name of a class.
+     * @return {@code true} if the class, or a member looked up through it, has a mapping, without building the
+     * mapped name. See {@link MappingSource#containsClass(String)}.
+     */
+    public boolean containsClass(String internalName) {
+        return source.containsClass(internalName);
     }
 
-    private ClassData getClass(String name) {
-        try {
-            return chosenMap.getClassData(name);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+    public MappingSource getSource() {
+        return source;
+    }
+
+    /**
+     * @return The cache in front of the {@link McMap}, or {@code null} if caching is disabled or this remapper is
+     * not backed by an {@link McMap}.
+     */
+    public LookupCache<String, ClassData> getClassCache() {
+        return source instanceof McMapSource ? ((McMapSource) source).getClassCache() : null;
+    }
+
+    public DescriptorCache getDescriptorCache() {
+        return descriptorCache;
     }
 
 }
\ No newline at end of file
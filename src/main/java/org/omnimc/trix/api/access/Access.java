@@ -35,7 +35,7 @@ public class Access {
 
     public static final int DEFAULT_ACCESS = -1;
 
-    private int access;
+    private volatile int access;
 
     public Access() {
         this(DEFAULT_ACCESS);
@@ -49,7 +49,7 @@ public class Access {
         return access;
     }
 
-    public void setAccess(int access) {
+    public synchronized void setAccess(int access) {
         this.access = AccessUtil.mostOpenAccess(this.access, access);
     }
 }
\ No newline at end of file
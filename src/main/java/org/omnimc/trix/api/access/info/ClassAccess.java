@@ -27,8 +27,8 @@ package org.omnimc.trix.api.access.info;
 
 import org.omnimc.trix.api.access.Access;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * @author <a href=https://github.com/CadenCCC>Caden</a>
@@ -36,8 +36,8 @@ import java.util.Map;
  */
 public final class ClassAccess extends Access {
 
-    private final Map<String, MethodAccess> methods = new HashMap<>();
-    private final Map<String, FieldAccess> fields = new HashMap<>();
+    private final Map<String, MethodAccess> methods = new ConcurrentHashMap<>();
+    private final Map<String, FieldAccess> fields = new ConcurrentHashMap<>();
 
     public ClassAccess() {
         super();
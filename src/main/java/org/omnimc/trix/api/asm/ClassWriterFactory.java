@@ -0,0 +1,66 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.asm;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+
+/**
+ * Creates the {@link ClassWriter} a transformed class is written with.
+ * <p>
+ * {@link #COPY_THROUGH} seeds the writer with the {@link ClassReader} of the original class. Its constant pool is
+ * copied as a whole and, as long as the reader is passed straight through a chain of visitors to the writer, every
+ * method no visitor touched is copied byte for byte instead of being decoded and encoded again. This makes
+ * transformations that only touch a few members a lot faster, at the cost of keeping constant pool entries that are
+ * no longer used.
+ * <p>
+ * Both write with {@link ClassWriter#COMPUTE_MAXS}, so traits that change control flow need a writer that computes
+ * frames, see {@link org.omnimc.trix.impl.hierarchy.HierarchyClassWriter#factory}.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+@FunctionalInterface
+public interface ClassWriterFactory {
+
+    /**
+     * A fresh writer with {@link ClassWriter#COMPUTE_MAXS}, nothing is copied from the original class.
+     */
+    ClassWriterFactory DEFAULT = reader -> new ClassWriter(ClassWriter.COMPUTE_MAXS);
+
+    /**
+     * A writer seeded from the original class with {@link ClassWriter#COMPUTE_MAXS}, see
+     * {@link ClassWriter#ClassWriter(ClassReader, int)}.
+     */
+    ClassWriterFactory COPY_THROUGH = reader -> new ClassWriter(reader, ClassWriter.COMPUTE_MAXS);
+
+    /**
+     * @param reader The reader of the class about to be written.
+     * @return A new writer for that class.
+     */
+    ClassWriter create(ClassReader reader);
+
+}
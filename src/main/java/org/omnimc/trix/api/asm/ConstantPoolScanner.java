@@ -0,0 +1,238 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.asm;
+
+import java.util.Arrays;
+import java.util.function.Predicate;
+
+/**
+ * Reads only the constant pool of a class file to find out which classes it references.
+ * <p>
+ * Every class a class file mentions is either a {@code CONSTANT_Class} entry or part of a descriptor or signature
+ * stored as a {@code CONSTANT_Utf8} entry. Scanning those is enough to tell whether a remapper could change
+ * anything, without building a tree or visiting a single method.
+ * <p>
+ * Descriptors are picked out of every {@code CONSTANT_Utf8} entry, so plain strings that happen to look like
+ * descriptors may produce extra names. That only ever makes the scan more conservative.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class ConstantPoolScanner {
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_INTEGER = 3;
+    private static final int CONSTANT_FLOAT = 4;
+    private static final int CONSTANT_LONG = 5;
+    private static final int CONSTANT_DOUBLE = 6;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_STRING = 8;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_INTERFACE_METHODREF = 11;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+    private static final int CONSTANT_METHOD_HANDLE = 15;
+    private static final int CONSTANT_METHOD_TYPE = 16;
+    private static final int CONSTANT_DYNAMIC = 17;
+    private static final int CONSTANT_INVOKE_DYNAMIC = 18;
+    private static final int CONSTANT_MODULE = 19;
+    private static final int CONSTANT_PACKAGE = 20;
+
+    /**
+     * @param classBytes The class file.
+     * @param isMapped   A membership test for mapped class names.
+     * @return {@code true} if any class referenced by {@code classBytes} passes {@code isMapped}.
+     * @throws IllegalArgumentException If {@code classBytes} is not a class file.
+     */
+    public static boolean referencesAny(byte[] classBytes, Predicate<String> isMapped) {
+        if (classBytes.length < 10 || readInt(classBytes, 0) != 0xCAFEBABE) {
+            throw new IllegalArgumentException("Not a class file.");
+        }
+
+        int constantCount = readUnsignedShort(classBytes, 8);
+        int[] utf8Offsets = new int[constantCount];
+        boolean[] classNames = new boolean[constantCount];
+        Arrays.fill(utf8Offsets, -1);
+
+        int offset = 10;
+        for (int i = 1; i < constantCount; i++) {
+            int tag = classBytes[offset] & 0xFF;
+            switch (tag) {
+                case CONSTANT_UTF8:
+                    utf8Offsets[i] = offset + 1;
+                    offset += 3 + readUnsignedShort(classBytes, offset + 1);
+                    break;
+                case CONSTANT_CLASS:
+                    classNames[readUnsignedShort(classBytes, offset + 1)] = true;
+                    offset += 3;
+                    break;
+                case CONSTANT_STRING:
+                case CONSTANT_METHOD_TYPE:
+                case CONSTANT_MODULE:
+                case CONSTANT_PACKAGE:
+                    offset += 3;
+                    break;
+                case CONSTANT_METHOD_HANDLE:
+                    offset += 4;
+                    break;
+                case CONSTANT_INTEGER:
+                case CONSTANT_FLOAT:
+                case CONSTANT_FIELDREF:
+                case CONSTANT_METHODREF:
+                case CONSTANT_INTERFACE_METHODREF:
+                case CONSTANT_NAME_AND_TYPE:
+                case CONSTANT_DYNAMIC:
+                case CONSTANT_INVOKE_DYNAMIC:
+                    offset += 5;
+                    break;
+                case CONSTANT_LONG:
+                case CONSTANT_DOUBLE:
+                    offset += 9;
+                    i++;
+                    break;
+                default:
+                    throw new IllegalArgumentException("Unknown constant pool tag " + tag + " at offset " + offset + ".");
+            }
+        }
+
+        for (int i = 1; i < constantCount; i++) {
+            if (utf8Offsets[i] < 0) {
+                continue;
+            }
+
+            String value = readUtf8(classBytes, utf8Offsets[i]);
+            if (classNames[i] && !value.startsWith("[") && isMapped.test(value)) {
+                return true;
+            }
+
+            if (value.indexOf('L') >= 0 && descriptorReferencesAny(value, isMapped)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    /**
+     * Picks every class out of a descriptor or signature, including inner classes of parameterized types
+     * ({@code Louter<TT;>.Inner;} is tested as {@code outer$Inner}).
+     */
+    static boolean descriptorReferencesAny(String descriptor, Predicate<String> isMapped) {
+        String[] outerNames = new String[4];
+        int depth = 0;
+        int length = descriptor.length();
+
+        for (int i = 0; i < length; i++) {
+            char c = descriptor.charAt(i);
+            switch (c) {
+                case 'L': {
+                    int end = nameEnd(descriptor, i + 1);
+                    String name = descriptor.substring(i + 1, end);
+                    if (!name.isEmpty() && isMapped.test(name)) {
+                        return true;
+                    }
+
+                    outerNames[depth] = name;
+                    i = end - 1;
+                    break;
+                }
+                case '.': {
+                    if (outerNames[depth] == null) {
+                        break;
+                    }
+
+                    int end = nameEnd(descriptor, i + 1);
+                    String name = outerNames[depth] + '$' + descriptor.substring(i + 1, end);
+                    if (isMapped.test(name)) {
+                        return true;
+                    }
+
+                    outerNames[depth] = name;
+                    i = end - 1;
+                    break;
+                }
+                case '<':
+                    depth++;
+                    if (depth == outerNames.length) {
+                        outerNames = Arrays.copyOf(outerNames, depth << 1);
+                    }
+                    outerNames[depth] = null;
+                    break;
+                case '>':
+                    depth = Math.max(0, depth - 1);
+                    break;
+                default:
+                    break;
+            }
+        }
+
+        return false;
+    }
+
+    private static int nameEnd(String descriptor, int start) {
+        int end = start;
+        while (end < descriptor.length()) {
+            char c = descriptor.charAt(end);
+            if (c == ';' || c == '<' || c == '>' || c == '.' || c == ':') {
+                break;
+            }
+            end++;
+        }
+        return end;
+    }
+
+    /**
+     * Decodes the modified UTF-8 used by class files.
+     */
+    private static String readUtf8(byte[] bytes, int offset) {
+        int length = readUnsignedShort(bytes, offset);
+        int start = offset + 2;
+        int end = start + length;
+
+        char[] chars = new char[length];
+        int charCount = 0;
+        for (int i = start; i < end; ) {
+            int b = bytes[i++] & 0xFF;
+            if ((b & 0x80) == 0) {
+                chars[charCount++] = (char) b;
+            } else if ((b & 0xE0) == 0xC0) {
+                chars[charCount++] = (char) (((b & 0x1F) << 6) | (bytes[i++] & 0x3F));
+            } else {
+                chars[charCount++] = (char) (((b & 0x0F) << 12) | ((bytes[i++] & 0x3F) << 6) | (bytes[i++] & 0x3F));
+            }
+        }
+        return new String(chars, 0, charCount);
+    }
+
+    private static int readUnsignedShort(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 8) | (bytes[offset + 1] & 0xFF);
+    }
+
+    private static int readInt(byte[] bytes, int offset) {
+        return ((bytes[offset] & 0xFF) << 24) | ((bytes[offset + 1] & 0xFF) << 16)
+                | ((bytes[offset + 2] & 0xFF) << 8) | (bytes[offset + 3] & 0xFF);
+    }
+}
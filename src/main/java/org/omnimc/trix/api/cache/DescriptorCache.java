@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.cache;
+
+import java.util.function.UnaryOperator;
+
+/**
+ * An interned cache of remapped descriptors and signatures.
+ * <p>
+ * Descriptors and signatures repeat a lot across a jar, so every distinct string is only rewritten once and the
+ * same remapped instance is handed back afterward. Type signatures and class/method signatures are kept apart
+ * because the same string can be remapped differently depending on which one it is.
+ * <p>
+ * Each kind is kept in its own {@link LookupCache}, so the cache stays bounded however many distinct descriptors a
+ * session sees, the least recently used ones are simply rewritten again.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class DescriptorCache {
+
+    private final LookupCache<String, String> descriptors;
+    private final LookupCache<String, String> methodDescriptors;
+    private final LookupCache<String, String> signatures;
+    private final LookupCache<String, String> typeSignatures;
+
+    public DescriptorCache() {
+        this(LookupCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * @param maximumSize The amount of entries each kind of descriptor or signature is allowed to hold.
+     */
+    public DescriptorCache(int maximumSize) {
+        this.descriptors = new LookupCache<>(maximumSize);
+        this.methodDescriptors = new LookupCache<>(maximumSize);
+        this.signatures = new LookupCache<>(maximumSize);
+        this.typeSignatures = new LookupCache<>(maximumSize);
+    }
+
+    public String mapDesc(String descriptor, UnaryOperator<String> mapper) {
+        return lookup(descriptors, descriptor, mapper);
+    }
+
+    public String mapMethodDesc(String methodDescriptor, UnaryOperator<String> mapper) {
+        return lookup(methodDescriptors, methodDescriptor, mapper);
+    }
+
+    public String mapSignature(String signature, boolean typeSignature, UnaryOperator<String> mapper) {
+        return lookup(typeSignature ? typeSignatures : signatures, signature, mapper);
+    }
+
+    public int getSize() {
+        return descriptors.getSize() + methodDescriptors.getSize() + signatures.getSize() + typeSignatures.getSize();
+    }
+
+    public long getHits() {
+        return descriptors.getHits() + methodDescriptors.getHits() + signatures.getHits() + typeSignatures.getHits();
+    }
+
+    public long getMisses() {
+        return descriptors.getMisses() + methodDescriptors.getMisses() + signatures.getMisses() + typeSignatures.getMisses();
+    }
+
+    public void clear() {
+        descriptors.clear();
+        methodDescriptors.clear();
+        signatures.clear();
+        typeSignatures.clear();
+    }
+
+    @Override
+    public String toString() {
+        return "DescriptorCache{size=" + getSize() +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                '}';
+    }
+
+    /*
+     * The mapper may call back into the remapper and touch the same cache again, LookupCache allows that because
+     * it never holds a lock while loading.
+     */
+    private static String lookup(LookupCache<String, String> cache, String key, UnaryOperator<String> mapper) {
+        if (key == null) {
+            return mapper.apply(null);
+        }
+
+        return cache.get(key, mapper);
+    }
+}
@@ -0,0 +1,231 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.cache;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * A bounded, thread-safe memoizing cache used to sit in front of expensive lookups.
+ * <p>
+ * The cache is split into segments, each guarded by its own lock and evicting its least recently used entry
+ * once it grows past its share of {@link #getMaximumSize()}. Loaders are allowed to return {@code null}, which
+ * is remembered as a negative result so that misses are not repeated either.
+ * <p>
+ * Loading happens outside the segment lock, so two threads racing on the same key may both call the loader,
+ * but only the first result is kept.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class LookupCache<K, V> {
+
+    /**
+     * The default amount of entries a cache is allowed to hold.
+     */
+    public static final int DEFAULT_MAXIMUM_SIZE = 16_384;
+
+    private static final Object NULL_VALUE = new Object();
+
+    private final Segment[] segments;
+    private final int maximumSize;
+    private final int segmentMask;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public LookupCache() {
+        this(DEFAULT_MAXIMUM_SIZE);
+    }
+
+    public LookupCache(int maximumSize) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("Maximum size must be positive, got " + maximumSize);
+        }
+
+        int segmentCount = Integer.highestOneBit(Math.max(1, Math.min(16, maximumSize / 64)));
+        int segmentSize = Math.max(1, maximumSize / segmentCount);
+
+        this.maximumSize = maximumSize;
+        this.segmentMask = segmentCount - 1;
+        this.segments = new Segment[segmentCount];
+        for (int i = 0; i < segmentCount; i++) {
+            segments[i] = new Segment(segmentSize, evictions);
+        }
+    }
+
+    /**
+     * Returns the cached value for {@code key}, computing it with {@code loader} if it has not been seen yet.
+     *
+     * @param key    The key to look up, cannot be {@code null}.
+     * @param loader Computes the value on a miss, it may return {@code null} for a negative result.
+     * @return The cached or freshly loaded value, which may be {@code null}.
+     */
+    @SuppressWarnings("unchecked")
+    public V get(K key, Function<? super K, ? extends V> loader) {
+        Objects.requireNonNull(key, "Key cannot be null.");
+
+        Segment segment = segmentFor(key);
+        Object cached;
+        synchronized (segment) {
+            cached = segment.get(key);
+        }
+
+        if (cached != null) {
+            hits.increment();
+            return cached == NULL_VALUE ? null : (V) cached;
+        }
+
+        misses.increment();
+        V loaded = loader.apply(key);
+        Object toStore = loaded == null ? NULL_VALUE : loaded;
+
+        synchronized (segment) {
+            Object existing = segment.putIfAbsent(key, toStore);
+            if (existing != null) {
+                return existing == NULL_VALUE ? null : (V) existing;
+            }
+        }
+
+        return loaded;
+    }
+
+    /**
+     * @param key The key to check.
+     * @return {@code true} if a value, including a negative one, is currently cached for {@code key}.
+     */
+    public boolean contains(K key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            return segment.containsKey(key);
+        }
+    }
+
+    public void invalidate(K key) {
+        Segment segment = segmentFor(key);
+        synchronized (segment) {
+            segment.remove(key);
+        }
+    }
+
+    /**
+     * Removes every entry from the cache, the hit and miss counters are left untouched.
+     */
+    public void clear() {
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                segment.clear();
+            }
+        }
+    }
+
+    public int getSize() {
+        int size = 0;
+        for (Segment segment : segments) {
+            synchronized (segment) {
+                size += segment.size();
+            }
+        }
+        return size;
+    }
+
+    public int getMaximumSize() {
+        return maximumSize;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    /**
+     * @return The ratio of hits to total requests, or {@code 0} if nothing has been requested yet.
+     */
+    public double getHitRate() {
+        long hitCount = getHits();
+        long total = hitCount + getMisses();
+        return total == 0 ? 0 : (double) hitCount / total;
+    }
+
+    public void resetStatistics() {
+        hits.reset();
+        misses.reset();
+        evictions.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "LookupCache{size=" + getSize() +
+                ", maximumSize=" + maximumSize +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", evictions=" + getEvictions() +
+                '}';
+    }
+
+    private Segment segmentFor(Object key) {
+        int hash = key.hashCode();
+        hash ^= (hash >>> 16);
+        return segments[hash & segmentMask];
+    }
+
+    /**
+     * An access ordered map that drops its eldest entry when it is full.
+     */
+    private static final class Segment extends LinkedHashMap<Object, Object> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int capacity;
+        private final LongAdder evictions;
+
+        private Segment(int capacity, LongAdder evictions) {
+            super(16, 0.75F, true);
+            this.capacity = capacity;
+            this.evictions = evictions;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Object, Object> eldest) {
+            if (size() > capacity) {
+                evictions.increment();
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,395 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.cache;
+
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.Trait;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileLock;
+import java.nio.channels.OverlappingFileLockException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.UnaryOperator;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * A persistent, content addressed cache of transformed class bytes.
+ * <p>
+ * Entries are keyed by a SHA-256 hash of the input bytes together with a fingerprint of whatever produced the
+ * output, usually the active mappings and {@link TraitSequence}s, see {@link #fingerprint(String, TraitSequence[])}.
+ * A hit hands back the stored output without parsing, transforming or writing the class again.
+ * <p>
+ * The cache can be shared by several processes. Entries are written to a temporary file and atomically moved into
+ * place, and eviction is guarded by a lock file. Every entry starts with the length and CRC32C of its output, so an
+ * entry left incomplete or damaged, for example by a file system without atomic moves or a crash, is detected,
+ * deleted and treated as a miss. Once the cache grows past its size limit, the least recently used entries are
+ * removed, based on the modification time every hit refreshes.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class TransformCache {
+
+    /**
+     * The default size limit, 512 MiB.
+     */
+    public static final long DEFAULT_MAXIMUM_BYTES = 512L * 1024 * 1024;
+
+    private static final String LOCK_FILE = ".lock";
+    private static final String ENTRY_EXTENSION = ".bin";
+
+    /**
+     * The length and CRC32C of the output, written in front of it.
+     */
+    private static final int HEADER_BYTES = Integer.BYTES * 2;
+
+    /**
+     * When evicting, entries are removed until the cache is down to this share of its limit so that eviction
+     * doesn't run again on the very next write.
+     */
+    private static final double EVICTION_TARGET = 0.9;
+
+    private final Path directory;
+    private final long maximumBytes;
+    private final AtomicLong approximateSize;
+    private final Object evictionLock = new Object();
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public TransformCache(Path directory) throws IOException {
+        this(directory, DEFAULT_MAXIMUM_BYTES);
+    }
+
+    public TransformCache(Path directory, long maximumBytes) throws IOException {
+        if (maximumBytes <= 0) {
+            throw new IllegalArgumentException("Maximum bytes must be positive, got " + maximumBytes);
+        }
+
+        this.directory = Files.createDirectories(directory);
+        this.maximumBytes = maximumBytes;
+        this.approximateSize = new AtomicLong(computeSize());
+    }
+
+    /**
+     * Builds a fingerprint from a caller supplied {@code salt} and the priority and target of every trait.
+     * <p>
+     * Nothing about the code of a trait goes into the fingerprint, traits are usually lambdas whose class names
+     * change from one build to the next. The {@code salt} must therefore identify the mappings in use and change
+     * whenever the trait code changes, a version string works well.
+     *
+     * @param salt      Identifies the mappings and trait code in use.
+     * @param sequences The sequences that will be applied.
+     * @return A hex encoded fingerprint.
+     */
+    public static String fingerprint(String salt, TraitSequence<?>... sequences) {
+        MessageDigest digest = sha256();
+        digest.update(salt.getBytes(StandardCharsets.UTF_8));
+
+        for (TraitSequence<?> sequence : sequences) {
+            digest.update((byte) 0);
+            Trait<?>[] traits = sequence == null ? null : sequence.getSequence();
+            if (traits == null) {
+                continue;
+            }
+
+            for (Trait<?> trait : traits) {
+                Target target = trait.getTarget();
+                String description = target.getPriority() + "|" + target.getTargetType() + '|' + target.getTargetName() + '\n';
+                digest.update(description.getBytes(StandardCharsets.UTF_8));
+            }
+        }
+
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * @param input       The untransformed bytes.
+     * @param fingerprint The fingerprint of the transformation.
+     * @return The cached output, or {@code null} on a miss or if the entry was incomplete.
+     */
+    public byte[] get(byte[] input, String fingerprint) {
+        Path entry = entryPath(key(input, fingerprint));
+        try {
+            byte[] output = read(entry);
+            if (output == null) {
+                Files.deleteIfExists(entry);
+                misses.increment();
+                return null;
+            }
+
+            hits.increment();
+            touch(entry);
+            return output;
+        } catch (NoSuchFileException e) {
+            misses.increment();
+            return null;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read cache entry " + entry, e);
+        }
+    }
+
+    public void put(byte[] input, String fingerprint, byte[] output) {
+        Path entry = entryPath(key(input, fingerprint));
+        try {
+            Files.createDirectories(entry.getParent());
+            Path temp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+            try {
+                write(temp, output);
+                try {
+                    Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException e) {
+                    Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temp);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write cache entry " + entry, e);
+        }
+
+        if (approximateSize.addAndGet(HEADER_BYTES + output.length) > maximumBytes) {
+            evict();
+        }
+    }
+
+    /**
+     * Returns the cached output for {@code input}, or runs {@code transform} and caches its result.
+     */
+    public byte[] computeIfAbsent(byte[] input, String fingerprint, UnaryOperator<byte[]> transform) {
+        byte[] output = get(input, fingerprint);
+        if (output == null) {
+            output = transform.apply(input);
+            put(input, fingerprint, output);
+        }
+        return output;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public long getMaximumBytes() {
+        return maximumBytes;
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    @Override
+    public String toString() {
+        return "TransformCache{directory=" + directory +
+                ", approximateSize=" + approximateSize.get() +
+                ", maximumBytes=" + maximumBytes +
+                ", hits=" + getHits() +
+                ", misses=" + getMisses() +
+                ", evictions=" + getEvictions() +
+                '}';
+    }
+
+    /**
+     * Removes the least recently used entries until the cache is back under its limit. The lock file keeps other
+     * processes from evicting at the same time, if one already is this simply returns.
+     */
+    private void evict() {
+        synchronized (evictionLock) {
+            try (FileChannel channel = FileChannel.open(directory.resolve(LOCK_FILE), StandardOpenOption.CREATE, StandardOpenOption.WRITE);
+                 FileLock lock = channel.tryLock()) {
+                if (lock == null) {
+                    return;
+                }
+
+                List<CachedEntry> entries = listEntries();
+                long size = 0;
+                for (CachedEntry entry : entries) {
+                    size += entry.size;
+                }
+
+                long target = (long) (maximumBytes * EVICTION_TARGET);
+                entries.sort(Comparator.comparing(entry -> entry.lastUsed));
+                for (CachedEntry entry : entries) {
+                    if (size <= target) {
+                        break;
+                    }
+
+                    if (Files.deleteIfExists(entry.path)) {
+                        evictions.increment();
+                    }
+                    size -= entry.size;
+                }
+
+                approximateSize.set(size);
+            } catch (OverlappingFileLockException ignored) {
+                // Another thread in this JVM holds the lock through a different cache instance.
+            } catch (IOException e) {
+                throw new UncheckedIOException("Failed to evict cache entries.", e);
+            }
+        }
+    }
+
+    private long computeSize() throws IOException {
+        long size = 0;
+        for (CachedEntry entry : listEntries()) {
+            size += entry.size;
+        }
+        return size;
+    }
+
+    private List<CachedEntry> listEntries() throws IOException {
+        List<CachedEntry> entries = new ArrayList<>();
+        try (Stream<Path> paths = Files.walk(directory, 2)) {
+            for (Path path : (Iterable<Path>) paths::iterator) {
+                if (!path.getFileName().toString().endsWith(ENTRY_EXTENSION)) {
+                    continue;
+                }
+
+                try {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                    entries.add(new CachedEntry(path, attributes.size(), attributes.lastModifiedTime()));
+                } catch (NoSuchFileException ignored) {
+                    // Evicted by another process while listing.
+                }
+            }
+        }
+        return entries;
+    }
+
+    private static void write(Path path, byte[] output) throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES).putInt(output.length).putInt(checksum(output));
+        try (OutputStream stream = Files.newOutputStream(path)) {
+            stream.write(header.array());
+            stream.write(output);
+        }
+    }
+
+    /**
+     * @return The output stored in {@code path}, or {@code null} if it is shorter or longer than its header says or
+     * its checksum doesn't match.
+     */
+    private static byte[] read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_BYTES);
+            if (!readFully(channel, header)) {
+                return null;
+            }
+
+            int length = header.getInt(0);
+            if (length < 0 || channel.size() != (long) HEADER_BYTES + length) {
+                return null;
+            }
+
+            byte[] output = new byte[length];
+            if (!readFully(channel, ByteBuffer.wrap(output)) || checksum(output) != header.getInt(Integer.BYTES)) {
+                return null;
+            }
+            return output;
+        }
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int checksum(byte[] output) {
+        CRC32C crc = new CRC32C();
+        crc.update(output);
+        return (int) crc.getValue();
+    }
+
+    private static void touch(Path entry) {
+        try {
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+        } catch (IOException ignored) {
+            // The entry may have just been evicted by another process, that is fine.
+        }
+    }
+
+    private Path entryPath(String key) {
+        return directory.resolve(key.substring(0, 2)).resolve(key.substring(2) + ENTRY_EXTENSION);
+    }
+
+    private static String key(byte[] input, String fingerprint) {
+        MessageDigest digest = sha256();
+        digest.update(fingerprint.getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(input);
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class CachedEntry {
+
+        private final Path path;
+        private final long size;
+        private final FileTime lastUsed;
+
+        private CachedEntry(Path path, long size, FileTime lastUsed) {
+            this.path = path;
+            this.size = size;
+            this.lastUsed = lastUsed;
+        }
+    }
+}
@@ -0,0 +1,787 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.jar;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.commons.Remapper;
+import org.omnimc.trix.api.asm.ClassWriterFactory;
+import org.omnimc.trix.api.cache.TransformCache;
+import org.omnimc.trix.api.metrics.TraitMetrics;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.resource.FileTrait;
+import org.omnimc.trix.api.trait.sequence.TraitIndex;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.api.util.TraitUtil;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+import java.util.Enumeration;
+import java.util.Iterator;
+import java.util.Objects;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+/**
+ * Applies {@link ClassTrait}s and {@link FileTrait}s to every entry of a jar and writes the result to a new jar.
+ * <p>
+ * A run is a three stage pipeline. The calling thread reads entries one after another, each entry is transformed
+ * as its own task on the configured {@link Executor}, and a dedicated writer thread writes finished entries to the
+ * output as soon as they are ready. Entries are always written in the order they appear in the input jar, so the
+ * output is the same no matter how many threads are used.
+ * <p>
+ * The pipeline is bounded by bytes rather than by entries: an entry is only read once it fits in
+ * {@link Builder#maxBytesInFlight(long)} next to every entry read but not yet written, otherwise the reader waits for
+ * the writer to catch up. Nothing else about the jar is kept around, so peak memory stays about the same no matter
+ * how large the input is. If writing fails, entries that haven't started transforming yet are cancelled.
+ * <p>
+ * Every {@code .class} entry goes through
+ * {@link TraitUtil#applyClassTraits(String, byte[], Remapper, TraitSequence, ClassWriterFactory)} and everything
+ * else through {@link TraitUtil#applyFileTraits(String, byte[], Remapper, TraitSequence)}. If a class trait renames
+ * a class, its entry is renamed with it.
+ * <p>
+ * When reading from a file, entries that no trait targets, like assets, sounds or textures, are copied as they are
+ * stored. Their compressed bytes, CRC, name bytes, extra fields and comment go straight from the input zip to the
+ * output zip without being inflated or deflated again, see {@link Builder#rawPassthrough(boolean)}. Entries a trait
+ * changed are written with a UTF-8 name and without extra fields.
+ * <p>
+ * Transformed classes can be kept in a {@link TransformCache}, see {@link Builder#cache(TransformCache, String)}. A
+ * class already in the cache skips reading, transforming and writing altogether, its entry name is stored with it.
+ * <p>
+ * Time spent on every trait can be recorded into a {@link TraitMetrics} of this engine's own, see
+ * {@link Builder#metrics(TraitMetrics)}.
+ * <p>
+ * Trait sequences are compiled into a {@link TraitIndex} when the engine is built, so changes made to them
+ * afterwards need a new engine. An engine holds no per-run state and can be used for several jars at once.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class JarTraitEngine {
+
+    /**
+     * The default amount of bytes that may be read but not yet written, 64 MiB.
+     */
+    public static final long DEFAULT_MAX_BYTES_IN_FLIGHT = 64L * 1024 * 1024;
+
+    private static final String CLASS_EXTENSION = ".class";
+
+    /**
+     * Entries are written as a header followed by their data, buffering keeps that from turning into two small
+     * writes to the file for every entry.
+     */
+    private static final int OUTPUT_BUFFER_SIZE = 64 * 1024;
+
+    private final Remapper remapper;
+    private final TraitSequence<? extends ClassTrait> classTraits;
+    private final TraitSequence<? extends FileTrait> fileTraits;
+    private final Executor executor;
+    private final long maxBytesInFlight;
+    private final boolean rawPassthrough;
+    private final ClassWriterFactory writerFactory;
+    private final TransformCache cache;
+    private final String cacheFingerprint;
+    private final TraitMetrics metrics;
+
+    private JarTraitEngine(Builder builder) {
+        this.remapper = builder.remapper;
+        this.classTraits = TraitIndex.compile(builder.classTraits);
+        this.fileTraits = TraitIndex.compile(builder.fileTraits);
+        this.executor = builder.executor;
+        this.maxBytesInFlight = builder.maxBytesInFlight;
+        this.rawPassthrough = builder.rawPassthrough;
+        this.writerFactory = builder.writerFactory;
+        this.cache = builder.cache;
+        this.cacheFingerprint = builder.cacheFingerprint;
+        this.metrics = builder.metrics;
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Transforms every entry of {@code input} and writes them to {@code output}.
+     * <p>
+     * The output is written next to its destination first and moved into place once complete.
+     *
+     * @param input  The jar to read.
+     * @param output Where the transformed jar should be written.
+     * @throws IOException If either jar can't be read or written.
+     */
+    public void transform(Path input, Path output) throws IOException {
+        Path parent = output.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, output.getFileName().toString(), ".tmp");
+
+        try {
+            RawZipFile rawZip = rawPassthrough ? RawZipFile.open(input) : null;
+            if (rawZip != null) {
+                try (rawZip; OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temp), OUTPUT_BUFFER_SIZE)) {
+                    runRaw(rawZip, outputStream);
+                }
+            } else {
+                try (ZipFile zipFile = new ZipFile(input.toFile());
+                     OutputStream outputStream = new BufferedOutputStream(Files.newOutputStream(temp), OUTPUT_BUFFER_SIZE)) {
+                    Enumeration<? extends ZipEntry> entries = zipFile.entries();
+                    run(budget -> {
+                        if (!entries.hasMoreElements()) {
+                            return null;
+                        }
+
+                        ZipEntry entry = entries.nextElement();
+                        return transformAsync(budget, entry, () -> {
+                            try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                                return inputStream.readAllBytes();
+                            }
+                        });
+                    }, new JarEntryWriter(new JarOutputStream(outputStream)));
+                }
+            }
+
+            Files.move(temp, output, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    /**
+     * Transforms a jar that is only available as a stream, for example one being downloaded.
+     * <p>
+     * Neither stream is closed, {@code output} is flushed once the jar is complete.
+     *
+     * @param input  The jar to read.
+     * @param output Where the transformed jar is written.
+     * @throws IOException If either stream fails.
+     */
+    public void transform(InputStream input, OutputStream output) throws IOException {
+        ZipInputStream zipInput = new ZipInputStream(input);
+
+        run(budget -> {
+            ZipEntry entry = zipInput.getNextEntry();
+            if (entry == null) {
+                return null;
+            }
+
+            return transformAsync(budget, entry, zipInput::readAllBytes);
+        }, new JarEntryWriter(new JarOutputStream(new BufferedOutputStream(output, OUTPUT_BUFFER_SIZE))));
+    }
+
+    /**
+     * Copies untargeted entries as they are stored and only inflates the ones some trait wants to change.
+     * <p>
+     * The reader thread only reads the stored bytes of each entry. Targeted entries are inflated, checked, transformed
+     * and deflated again on the executor. They count against the budget with their compressed size until they are
+     * inflated, and with their full size from then on.
+     */
+    private void runRaw(RawZipFile rawZip, OutputStream output) throws IOException {
+        Iterator<RawZipFile.Entry> entries = rawZip.entries().iterator();
+        RawZipWriter zipWriter = new RawZipWriter(output);
+
+        run(budget -> {
+            if (!entries.hasNext()) {
+                return null;
+            }
+
+            RawZipFile.Entry entry = entries.next();
+            if (!budget.acquire(entry.compressedSize)) {
+                return null;
+            }
+
+            if (entry.isDirectory() || !isTargeted(entry.name)) {
+                RawZipFile.Stored stored = rawZip.readStored(entry);
+                return new PendingEntry(CompletableFuture.completedFuture(new TransformedEntry(entry, stored)), entry.compressedSize);
+            }
+
+            byte[] raw = rawZip.readRaw(entry);
+            CompletableFuture<TransformedEntry> future = CompletableFuture.supplyAsync(() -> {
+                byte[] bytes = inflate(entry, raw);
+                long inflatedCost = Math.max(0, bytes.length - raw.length);
+                budget.grow(inflatedCost);
+
+                TransformedEntry transformed = transformEntry(null, entry.name, bytes);
+                return new TransformedEntry(transformed.name, entry.dosTime, RawZipWriter.compress(transformed.bytes), inflatedCost);
+            }, executor);
+            return new PendingEntry(future, entry.compressedSize);
+        }, new EntryWriter() {
+            @Override
+            public void write(TransformedEntry entry) throws IOException {
+                if (entry.stored != null) {
+                    zipWriter.copy(entry.rawEntry, entry.stored);
+                } else {
+                    zipWriter.write(entry.name, entry.dosTime, entry.compressed);
+                }
+            }
+
+            @Override
+            public void finish() throws IOException {
+                zipWriter.finish();
+            }
+        });
+    }
+
+    private static byte[] inflate(RawZipFile.Entry entry, byte[] raw) {
+        try {
+            return RawZipFile.inflate(entry, raw);
+        } catch (ZipException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void run(EntryProducer producer, EntryWriter entryWriter) throws IOException {
+        ByteBudget budget = new ByteBudget(maxBytesInFlight);
+        BlockingQueue<PendingEntry> queue = new LinkedBlockingQueue<>();
+        AtomicReference<Throwable> writerFailure = new AtomicReference<>();
+
+        Thread writer = new Thread(() -> {
+            try {
+                for (PendingEntry pending = queue.take(); pending != PendingEntry.END; pending = queue.take()) {
+                    TransformedEntry transformed = join(pending.future);
+                    entryWriter.write(transformed);
+                    budget.release(pending.cost + transformed.inflatedCost);
+                }
+                entryWriter.finish();
+            } catch (Throwable t) {
+                writerFailure.set(t);
+                budget.abort();
+                cancel(queue);
+            }
+        }, "Trix Jar Writer");
+        writer.setDaemon(true);
+        writer.start();
+
+        try {
+            PendingEntry pending;
+            while ((pending = producer.next(budget)) != null) {
+                queue.add(pending);
+            }
+        } finally {
+            queue.add(PendingEntry.END);
+            joinWriter(writer);
+        }
+
+        Throwable failure = writerFailure.get();
+        if (failure != null) {
+            // Entries queued while the writer was failing.
+            cancel(queue);
+        }
+        if (failure instanceof IOException) {
+            throw (IOException) failure;
+        } else if (failure != null) {
+            throw new IOException("Failed to write jar.", failure);
+        }
+    }
+
+    /**
+     * Waits for room in {@code budget} before the entry is read. An entry whose size isn't known up front, like one
+     * from a stream written with a data descriptor, is read first and waited for before it is handed off.
+     *
+     * @return The entry handed off for transformation, or {@code null} if the pipeline was aborted.
+     */
+    private PendingEntry transformAsync(ByteBudget budget, ZipEntry entry, EntryReader reader) throws IOException {
+        if (entry.isDirectory()) {
+            return new PendingEntry(CompletableFuture.completedFuture(new TransformedEntry(entry, entry.getName(), null)), 0);
+        }
+
+        long size = entry.getSize();
+        if (size >= 0 && !budget.acquire(size)) {
+            return null;
+        }
+
+        byte[] bytes = reader.read();
+        if (size < 0 && !budget.acquire(bytes.length)) {
+            return null;
+        }
+
+        long cost = size >= 0 ? size : bytes.length;
+        return new PendingEntry(CompletableFuture.supplyAsync(() -> transformEntry(entry, entry.getName(), bytes), executor), cost);
+    }
+
+    /**
+     * Cancels every entry left in {@code queue}, so tasks that haven't started yet never run.
+     */
+    private static void cancel(BlockingQueue<PendingEntry> queue) {
+        for (PendingEntry pending = queue.poll(); pending != null; pending = queue.poll()) {
+            if (pending != PendingEntry.END) {
+                pending.future.cancel(false);
+            }
+        }
+    }
+
+    private boolean isTargeted(String name) {
+        if (name.endsWith(CLASS_EXTENSION)) {
+            return TraitUtil.isTargeted(name.substring(0, name.length() - CLASS_EXTENSION.length()), classTraits);
+        }
+
+        return TraitUtil.isTargeted(name, fileTraits);
+    }
+
+    private TransformedEntry transformEntry(ZipEntry entry, String name, byte[] bytes) {
+        if (!isTargeted(name)) {
+            return new TransformedEntry(entry, name, bytes);
+        }
+
+        if (name.endsWith(CLASS_EXTENSION)) {
+            String className = name.substring(0, name.length() - CLASS_EXTENSION.length());
+            if (cache != null) {
+                return transformCachedClass(entry, name, className, bytes);
+            }
+
+            byte[] transformed = TraitUtil.applyClassTraits(className, bytes, remapper, classTraits, writerFactory, metrics);
+            return new TransformedEntry(entry, CachedClass.of(bytes, transformed).rename(name), transformed);
+        }
+
+        return new TransformedEntry(entry, name, TraitUtil.applyFileTraits(name, bytes, remapper, fileTraits, metrics));
+    }
+
+    /**
+     * A hit is written as it was cached, renamed with the class names stored next to it, so the class is never
+     * parsed.
+     */
+    private TransformedEntry transformCachedClass(ZipEntry entry, String name, String className, byte[] bytes) {
+        byte[] cached = cache.get(bytes, cacheFingerprint);
+        CachedClass cachedClass = cached == null ? null : CachedClass.decode(cached);
+        if (cachedClass == null) {
+            byte[] transformed = TraitUtil.applyClassTraits(className, bytes, remapper, classTraits, writerFactory, metrics);
+            cachedClass = CachedClass.of(bytes, transformed);
+            cache.put(bytes, cacheFingerprint, cachedClass.encode());
+        }
+        return new TransformedEntry(entry, cachedClass.rename(name), cachedClass.bytes);
+    }
+
+    private static TransformedEntry join(CompletableFuture<TransformedEntry> future) throws IOException {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to transform jar entry.", e.getCause());
+        }
+    }
+
+    private static void joinWriter(Thread writer) throws InterruptedIOException {
+        try {
+            writer.join();
+        } catch (InterruptedException e) {
+            writer.interrupt();
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the jar writer.");
+        }
+    }
+
+    private interface EntryProducer {
+
+        /**
+         * Implementations acquire the cost of an entry from {@code budget} before reading it.
+         *
+         * @param budget The budget of the running pipeline.
+         * @return The next entry, already read and handed off for transformation, or {@code null} at the end or once
+         * the pipeline was aborted.
+         */
+        PendingEntry next(ByteBudget budget) throws IOException;
+    }
+
+    private interface EntryReader {
+
+        byte[] read() throws IOException;
+    }
+
+    private interface EntryWriter {
+
+        void write(TransformedEntry entry) throws IOException;
+
+        void finish() throws IOException;
+    }
+
+    /**
+     * Writes entries through a {@link JarOutputStream}, which deflates every one of them again, used whenever raw
+     * passthrough isn't possible. Only the name, time and comment of an entry are kept, extra fields are dropped.
+     */
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class JarEntryWriter implements EntryWriter {
+
+        private final JarOutputStream jarOutput;
+
+        private JarEntryWriter(JarOutputStream jarOutput) {
+            this.jarOutput = jarOutput;
+        }
+
+        @Override
+        public void write(TransformedEntry transformed) throws IOException {
+            ZipEntry outputEntry = new ZipEntry(transformed.name);
+            outputEntry.setTime(transformed.source.getTime());
+            if (transformed.source.getComment() != null) {
+                outputEntry.setComment(transformed.source.getComment());
+            }
+
+            jarOutput.putNextEntry(outputEntry);
+            if (transformed.bytes != null) {
+                jarOutput.write(transformed.bytes);
+            }
+            jarOutput.closeEntry();
+        }
+
+        @Override
+        public void finish() throws IOException {
+            jarOutput.finish();
+            jarOutput.flush();
+        }
+    }
+
+    /**
+     * The result of transforming an entry, either its plain bytes with its source {@link ZipEntry} for
+     * {@link JarEntryWriter} to deflate, already compressed with its DOS timestamp when going through
+     * {@link RawZipWriter}, or an untouched entry of a {@link RawZipFile} to be copied as it is stored.
+     */
+    private static final class TransformedEntry {
+
+        private final String name;
+        private final ZipEntry source;
+        private final byte[] bytes;
+        private final int dosTime;
+        private final RawZipWriter.Compressed compressed;
+        private final RawZipFile.Entry rawEntry;
+        private final RawZipFile.Stored stored;
+        private final long inflatedCost;
+
+        private TransformedEntry(ZipEntry source, String name, byte[] bytes) {
+            this(name, source, bytes, 0, null, null, null, 0);
+        }
+
+        /**
+         * @param inflatedCost What inflating the entry added to the budget on top of its compressed size.
+         */
+        private TransformedEntry(String name, int dosTime, RawZipWriter.Compressed compressed, long inflatedCost) {
+            this(name, null, null, dosTime, compressed, null, null, inflatedCost);
+        }
+
+        private TransformedEntry(RawZipFile.Entry rawEntry, RawZipFile.Stored stored) {
+            this(rawEntry.name, null, null, rawEntry.dosTime, null, rawEntry, stored, 0);
+        }
+
+        private TransformedEntry(String name, ZipEntry source, byte[] bytes, int dosTime, RawZipWriter.Compressed compressed,
+                                 RawZipFile.Entry rawEntry, RawZipFile.Stored stored, long inflatedCost) {
+            this.name = name;
+            this.source = source;
+            this.bytes = bytes;
+            this.dosTime = dosTime;
+            this.compressed = compressed;
+            this.rawEntry = rawEntry;
+            this.stored = stored;
+            this.inflatedCost = inflatedCost;
+        }
+    }
+
+    /**
+     * A transformed class together with the class names its entry is renamed with, kept in the
+     * {@link TransformCache} as one value so a hit doesn't have to parse the class to find its name.
+     */
+    private static final class CachedClass {
+
+        private static final byte UNCHANGED_NAME = 0;
+        private static final byte CHANGED_NAME = 1;
+
+        private final String originalName;
+        private final String transformedName;
+        private final byte[] bytes;
+
+        /**
+         * @param originalName    The class name before transforming, or {@code null} if a trait didn't change it.
+         * @param transformedName The class name after transforming, or {@code null} if a trait didn't change it.
+         */
+        private CachedClass(String originalName, String transformedName, byte[] bytes) {
+            this.originalName = originalName;
+            this.transformedName = transformedName;
+            this.bytes = bytes;
+        }
+
+        private static CachedClass of(byte[] original, byte[] transformed) {
+            if (original == transformed) {
+                return new CachedClass(null, null, transformed);
+            }
+
+            String originalName = new ClassReader(original).getClassName();
+            String transformedName = new ClassReader(transformed).getClassName();
+            if (originalName.equals(transformedName)) {
+                return new CachedClass(null, null, transformed);
+            }
+            return new CachedClass(originalName, transformedName, transformed);
+        }
+
+        /**
+         * Keeps any prefix like {@code META-INF/versions/9/} and swaps the class name if a trait changed it.
+         */
+        private String rename(String entryName) {
+            if (originalName == null) {
+                return entryName;
+            }
+
+            String originalEntry = originalName + CLASS_EXTENSION;
+            if (!entryName.endsWith(originalEntry)) {
+                return entryName;
+            }
+
+            return entryName.substring(0, entryName.length() - originalEntry.length()) + transformedName + CLASS_EXTENSION;
+        }
+
+        private byte[] encode() {
+            if (originalName == null) {
+                return ByteBuffer.allocate(1 + bytes.length).put(UNCHANGED_NAME).put(bytes).array();
+            }
+
+            byte[] original = originalName.getBytes(StandardCharsets.UTF_8);
+            byte[] transformed = transformedName.getBytes(StandardCharsets.UTF_8);
+            return ByteBuffer.allocate(1 + Integer.BYTES * 2 + original.length + transformed.length + bytes.length)
+                    .put(CHANGED_NAME)
+                    .putInt(original.length).put(original)
+                    .putInt(transformed.length).put(transformed)
+                    .put(bytes)
+                    .array();
+        }
+
+        /**
+         * @return The decoded class, or {@code null} if {@code encoded} wasn't written by {@link #encode()}.
+         */
+        private static CachedClass decode(byte[] encoded) {
+            try {
+                ByteBuffer buffer = ByteBuffer.wrap(encoded);
+                byte kind = buffer.get();
+                if (kind == UNCHANGED_NAME) {
+                    return new CachedClass(null, null, Arrays.copyOfRange(encoded, 1, encoded.length));
+                }
+
+                if (kind != CHANGED_NAME) {
+                    return null;
+                }
+
+                String originalName = readString(buffer);
+                String transformedName = readString(buffer);
+                return new CachedClass(originalName, transformedName, Arrays.copyOfRange(encoded, buffer.position(), encoded.length));
+            } catch (BufferUnderflowException | NegativeArraySizeException e) {
+                return null;
+            }
+        }
+
+        private static String readString(ByteBuffer buffer) {
+            byte[] string = new byte[buffer.getInt()];
+            buffer.get(string);
+            return new String(string, StandardCharsets.UTF_8);
+        }
+    }
+
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class PendingEntry {
+
+        private static final PendingEntry END = new PendingEntry(null, 0);
+
+        private final CompletableFuture<TransformedEntry> future;
+        private final long cost;
+
+        private PendingEntry(CompletableFuture<TransformedEntry> future, long cost) {
+            this.future = future;
+            this.cost = cost;
+        }
+    }
+
+    /**
+     * Tracks how many bytes are between the reader and the writer. A single entry larger than the whole budget is
+     * still let through once nothing else is in flight, otherwise it could never be written.
+     */
+    private static final class ByteBudget {
+
+        private final long capacity;
+        private long used;
+        private boolean aborted;
+
+        private ByteBudget(long capacity) {
+            this.capacity = capacity;
+        }
+
+        /**
+         * @return {@code false} if the pipeline was aborted while waiting.
+         */
+        synchronized boolean acquire(long bytes) throws InterruptedIOException {
+            while (!aborted && used > 0 && used + bytes > capacity) {
+                try {
+                    wait();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new InterruptedIOException("Interrupted while waiting for the jar writer.");
+                }
+            }
+
+            if (aborted) {
+                return false;
+            }
+
+            used += bytes;
+            return true;
+        }
+
+        /**
+         * Adds to the bytes in flight without waiting, for an entry that grew after it was let through. The reader
+         * waits for it like for any other entry.
+         */
+        synchronized void grow(long bytes) {
+            used += bytes;
+        }
+
+        synchronized void release(long bytes) {
+            used -= bytes;
+            notifyAll();
+        }
+
+        synchronized void abort() {
+            aborted = true;
+            notifyAll();
+        }
+    }
+
+    public static final class Builder {
+
+        private Remapper remapper;
+        private TraitSequence<? extends ClassTrait> classTraits;
+        private TraitSequence<? extends FileTrait> fileTraits;
+        private Executor executor = ForkJoinPool.commonPool();
+        private long maxBytesInFlight = DEFAULT_MAX_BYTES_IN_FLIGHT;
+        private boolean rawPassthrough = true;
+        private ClassWriterFactory writerFactory = ClassWriterFactory.DEFAULT;
+        private TransformCache cache;
+        private String cacheFingerprint;
+        private TraitMetrics metrics;
+
+        private Builder() {
+        }
+
+        /**
+         * @param remapper The {@link Remapper} handed to every trait.
+         */
+        public Builder remapper(Remapper remapper) {
+            this.remapper = remapper;
+            return this;
+        }
+
+        public Builder classTraits(TraitSequence<? extends ClassTrait> classTraits) {
+            this.classTraits = classTraits;
+            return this;
+        }
+
+        public Builder fileTraits(TraitSequence<? extends FileTrait> fileTraits) {
+            this.fileTraits = fileTraits;
+            return this;
+        }
+
+        /**
+         * @param executor The executor entries are transformed on, {@link ForkJoinPool#commonPool()} by default.
+         */
+        public Builder executor(Executor executor) {
+            this.executor = Objects.requireNonNull(executor, "Executor cannot be null.");
+            return this;
+        }
+
+        /**
+         * @param maxBytesInFlight How many bytes of entries may be read but not yet written,
+         *                         {@link #DEFAULT_MAX_BYTES_IN_FLIGHT} by default.
+         */
+        public Builder maxBytesInFlight(long maxBytesInFlight) {
+            if (maxBytesInFlight <= 0) {
+                throw new IllegalArgumentException("Max bytes in flight must be positive, got " + maxBytesInFlight);
+            }
+
+            this.maxBytesInFlight = maxBytesInFlight;
+            return this;
+        }
+
+        /**
+         * @param rawPassthrough {@code true} by default, copies untargeted entries without inflating and deflating them.
+         *                       Only applies when reading a jar from a file, Zip64 and encrypted jars always fall back
+         *                       to regular copying.
+         */
+        public Builder rawPassthrough(boolean rawPassthrough) {
+            this.rawPassthrough = rawPassthrough;
+            return this;
+        }
+
+        /**
+         * @param writerFactory Creates the writer for every transformed class, {@link ClassWriterFactory#DEFAULT}
+         *                      by default. {@link ClassWriterFactory#COPY_THROUGH} reuses the constant pool of the
+         *                      original class.
+         */
+        public Builder classWriterFactory(ClassWriterFactory writerFactory) {
+            this.writerFactory = Objects.requireNonNull(writerFactory, "Writer factory cannot be null.");
+            return this;
+        }
+
+        /**
+         * @param cache       The cache transformed classes are kept in, or {@code null} to disable caching. Entries
+         *                    hold the class together with its name, so only engines should write to it under
+         *                    their fingerprint.
+         * @param fingerprint Identifies the mappings and traits in use, see
+         *                    {@link TransformCache#fingerprint(String, TraitSequence[])}. Whenever either changes,
+         *                    so must the fingerprint.
+         */
+        public Builder cache(TransformCache cache, String fingerprint) {
+            if (cache != null) {
+                Objects.requireNonNull(fingerprint, "Fingerprint cannot be null.");
+            }
+
+            this.cache = cache;
+            this.cacheFingerprint = fingerprint;
+            return this;
+        }
+
+        /**
+         * @param metrics Where every transformed entry and trait is recorded, or {@code null} to not measure
+         *                anything, which is the default. Classes served from the cache aren't recorded.
+         */
+        public Builder metrics(TraitMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public JarTraitEngine build() {
+            return new JarTraitEngine(this);
+        }
+    }
+}
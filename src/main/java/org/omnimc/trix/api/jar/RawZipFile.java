@@ -0,0 +1,353 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.jar;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharacterCodingException;
+import java.nio.charset.Charset;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipException;
+
+/**
+ * A minimal zip reader that can hand out the compressed bytes of an entry as they are stored.
+ * <p>
+ * {@link java.util.zip.ZipFile} always inflates, which is wasted work when an entry is only going to be copied.
+ * This reads the central directory itself and exposes each entry's raw data along with its CRC and sizes, so they
+ * can be written to another zip untouched by {@link RawZipWriter}.
+ * <p>
+ * Names are decoded as UTF-8 when general purpose flag 11 is set, or when they are valid UTF-8 anyway since most
+ * jar tools never set it. Anything else is decoded as IBM437, the encoding the zip format defaults to. The name is
+ * also kept exactly as it was stored, along with the extra fields and comment of the entry, so a copied entry comes
+ * out the same no matter how its name was decoded.
+ * <p>
+ * Only plain zip files are supported. {@link #open(Path)} returns {@code null} for Zip64 or encrypted archives, in
+ * which case the caller should fall back to {@link java.util.zip.ZipFile}.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+final class RawZipFile implements Closeable {
+
+    static final int METHOD_STORED = 0;
+    static final int METHOD_DEFLATED = 8;
+
+    static final int ENCRYPTED_FLAG = 0x0001;
+    static final int UTF8_FLAG = 0x0800;
+
+    /**
+     * What names without {@link #UTF8_FLAG} are decoded with if they aren't valid UTF-8. IBM437 lives in an optional
+     * JDK module, so without it those names fall back to ISO-8859-1, which still decodes every byte.
+     */
+    private static final Charset LEGACY_CHARSET = Charset.isSupported("IBM437") ? Charset.forName("IBM437") : StandardCharsets.ISO_8859_1;
+
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054B50;
+    private static final int ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR = 0x07064B50;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014B50;
+    private static final int LOCAL_FILE_HEADER = 0x04034B50;
+
+    private static final int END_OF_CENTRAL_DIRECTORY_SIZE = 22;
+    private static final int CENTRAL_DIRECTORY_HEADER_SIZE = 46;
+    private static final int LOCAL_FILE_HEADER_SIZE = 30;
+    private static final int MAX_COMMENT_LENGTH = 0xFFFF;
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final FileChannel channel;
+    private final List<Entry> entries;
+
+    private RawZipFile(FileChannel channel, List<Entry> entries) {
+        this.channel = channel;
+        this.entries = entries;
+    }
+
+    /**
+     * @param path The zip file to open.
+     * @return A {@link RawZipFile}, or {@code null} if the file uses features this reader doesn't support.
+     * @throws IOException If the file can't be read or is not a zip file.
+     */
+    static RawZipFile open(Path path) throws IOException {
+        FileChannel channel = FileChannel.open(path, StandardOpenOption.READ);
+        try {
+            List<Entry> entries = readCentralDirectory(channel);
+            if (entries == null) {
+                channel.close();
+                return null;
+            }
+
+            return new RawZipFile(channel, entries);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+    }
+
+    List<Entry> entries() {
+        return entries;
+    }
+
+    /**
+     * @return The entry data exactly as it is stored in the zip.
+     */
+    byte[] readRaw(Entry entry) throws IOException {
+        return readStored(entry).data;
+    }
+
+    /**
+     * @return The entry data exactly as it is stored in the zip, along with the extra field of its local header.
+     */
+    Stored readStored(Entry entry) throws IOException {
+        ByteBuffer header = read(entry.localHeaderOffset, LOCAL_FILE_HEADER_SIZE);
+        if (header.getInt(0) != LOCAL_FILE_HEADER) {
+            throw new ZipException("Invalid local file header for " + entry.name);
+        }
+
+        int nameLength = header.getShort(26) & 0xFFFF;
+        int extraLength = header.getShort(28) & 0xFFFF;
+        long extraOffset = entry.localHeaderOffset + LOCAL_FILE_HEADER_SIZE + nameLength;
+        byte[] localExtra = extraLength == 0 ? NO_BYTES : read(extraOffset, extraLength).array();
+        return new Stored(localExtra, read(extraOffset + extraLength, (int) entry.compressedSize).array());
+    }
+
+    /**
+     * Inflates data read with {@link #readRaw(Entry)}. It doesn't touch the file, so it can run on any thread.
+     *
+     * @return The uncompressed entry data, checked against its CRC.
+     */
+    static byte[] inflate(Entry entry, byte[] raw) throws ZipException {
+        byte[] data;
+
+        if (entry.method == METHOD_STORED) {
+            data = raw;
+        } else if (entry.method == METHOD_DEFLATED) {
+            data = new byte[(int) entry.size];
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(raw);
+                int inflated = 0;
+                while (inflated < data.length && !inflater.finished()) {
+                    int count = inflater.inflate(data, inflated, data.length - inflated);
+                    if (count == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                        break;
+                    }
+                    inflated += count;
+                }
+
+                if (inflated != data.length) {
+                    throw new ZipException("Truncated data for " + entry.name);
+                }
+            } catch (DataFormatException e) {
+                throw new ZipException("Invalid deflate data for " + entry.name + ": " + e.getMessage());
+            } finally {
+                inflater.end();
+            }
+        } else {
+            throw new ZipException("Unsupported compression method " + entry.method + " for " + entry.name);
+        }
+
+        CRC32 crc = new CRC32();
+        crc.update(data);
+        if ((int) crc.getValue() != entry.crc) {
+            throw new ZipException("CRC mismatch for " + entry.name);
+        }
+        return data;
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private ByteBuffer read(long position, int length) throws IOException {
+        return read(channel, position, length);
+    }
+
+    private static ByteBuffer read(FileChannel channel, long position, int length) throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(length).order(ByteOrder.LITTLE_ENDIAN);
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer, position + buffer.position()) < 0) {
+                throw new EOFException("Unexpected end of zip file.");
+            }
+        }
+        return buffer.flip();
+    }
+
+    private static List<Entry> readCentralDirectory(FileChannel channel) throws IOException {
+        long fileSize = channel.size();
+        int tailLength = (int) Math.min(fileSize, END_OF_CENTRAL_DIRECTORY_SIZE + MAX_COMMENT_LENGTH);
+        ByteBuffer tail = read(channel, fileSize - tailLength, tailLength);
+
+        int end = -1;
+        for (int i = tailLength - END_OF_CENTRAL_DIRECTORY_SIZE; i >= 0; i--) {
+            if (tail.getInt(i) == END_OF_CENTRAL_DIRECTORY) {
+                end = i;
+                break;
+            }
+        }
+
+        if (end < 0) {
+            throw new ZipException("Not a zip file.");
+        }
+
+        if (end >= 20 && tail.getInt(end - 20) == ZIP64_END_OF_CENTRAL_DIRECTORY_LOCATOR) {
+            return null;
+        }
+
+        int entryCount = tail.getShort(end + 10) & 0xFFFF;
+        long directorySize = tail.getInt(end + 12) & 0xFFFFFFFFL;
+        long directoryOffset = tail.getInt(end + 16) & 0xFFFFFFFFL;
+        if (entryCount == 0xFFFF || directorySize == 0xFFFFFFFFL || directoryOffset == 0xFFFFFFFFL) {
+            return null;
+        }
+
+        ByteBuffer directory = read(channel, directoryOffset, (int) directorySize);
+        List<Entry> entries = new ArrayList<>(entryCount);
+
+        int offset = 0;
+        for (int i = 0; i < entryCount; i++) {
+            if (directory.getInt(offset) != CENTRAL_DIRECTORY_HEADER) {
+                throw new ZipException("Invalid central directory header.");
+            }
+
+            int flags = directory.getShort(offset + 8) & 0xFFFF;
+            int method = directory.getShort(offset + 10) & 0xFFFF;
+            int dosTime = directory.getInt(offset + 12);
+            int crc = directory.getInt(offset + 16);
+            long compressedSize = directory.getInt(offset + 20) & 0xFFFFFFFFL;
+            long size = directory.getInt(offset + 24) & 0xFFFFFFFFL;
+            int nameLength = directory.getShort(offset + 28) & 0xFFFF;
+            int extraLength = directory.getShort(offset + 30) & 0xFFFF;
+            int commentLength = directory.getShort(offset + 32) & 0xFFFF;
+            long localHeaderOffset = directory.getInt(offset + 42) & 0xFFFFFFFFL;
+
+            if ((flags & ENCRYPTED_FLAG) != 0 || compressedSize == 0xFFFFFFFFL || size == 0xFFFFFFFFL || localHeaderOffset == 0xFFFFFFFFL) {
+                return null;
+            }
+
+            int nameOffset = offset + CENTRAL_DIRECTORY_HEADER_SIZE;
+            byte[] rawName = Arrays.copyOfRange(directory.array(), nameOffset, nameOffset + nameLength);
+            byte[] extra = Arrays.copyOfRange(directory.array(), nameOffset + nameLength, nameOffset + nameLength + extraLength);
+            byte[] comment = Arrays.copyOfRange(directory.array(), nameOffset + nameLength + extraLength,
+                                                nameOffset + nameLength + extraLength + commentLength);
+
+            entries.add(new Entry(decodeName(rawName, (flags & UTF8_FLAG) != 0), rawName, flags & UTF8_FLAG, method, dosTime, crc,
+                                  compressedSize, size, localHeaderOffset, extra, comment));
+
+            offset = nameOffset + nameLength + extraLength + commentLength;
+        }
+
+        return Collections.unmodifiableList(entries);
+    }
+
+    /**
+     * @param utf8 Whether the entry has {@link #UTF8_FLAG} set.
+     */
+    private static String decodeName(byte[] rawName, boolean utf8) {
+        if (utf8) {
+            return new String(rawName, StandardCharsets.UTF_8);
+        }
+
+        try {
+            return StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPORT)
+                    .onUnmappableCharacter(CodingErrorAction.REPORT)
+                    .decode(ByteBuffer.wrap(rawName))
+                    .toString();
+        } catch (CharacterCodingException e) {
+            return new String(rawName, LEGACY_CHARSET);
+        }
+    }
+
+    @SuppressWarnings("ClassCanBeRecord")
+    static final class Entry {
+
+        final String name;
+        final byte[] rawName;
+        final int nameFlags;
+        final int method;
+        final int dosTime;
+        final int crc;
+        final long compressedSize;
+        final long size;
+        final long localHeaderOffset;
+        final byte[] extra;
+        final byte[] comment;
+
+        /**
+         * @param rawName   The name exactly as it is stored.
+         * @param nameFlags {@link #UTF8_FLAG} if it is set for this entry, otherwise {@code 0}.
+         * @param extra     The extra field of the central directory header.
+         */
+        Entry(String name, byte[] rawName, int nameFlags, int method, int dosTime, int crc, long compressedSize, long size,
+              long localHeaderOffset, byte[] extra, byte[] comment) {
+            this.name = name;
+            this.rawName = rawName;
+            this.nameFlags = nameFlags;
+            this.method = method;
+            this.dosTime = dosTime;
+            this.crc = crc;
+            this.compressedSize = compressedSize;
+            this.size = size;
+            this.localHeaderOffset = localHeaderOffset;
+            this.extra = extra;
+            this.comment = comment;
+        }
+
+        boolean isDirectory() {
+            return name.endsWith("/");
+        }
+    }
+
+    /**
+     * The data of an entry as it is stored, and the extra field of its local header, which may differ from the one in
+     * the central directory.
+     */
+    @SuppressWarnings("ClassCanBeRecord")
+    static final class Stored {
+
+        final byte[] localExtra;
+        final byte[] data;
+
+        Stored(byte[] localExtra, byte[] data) {
+            this.localExtra = localExtra;
+            this.data = data;
+        }
+    }
+}
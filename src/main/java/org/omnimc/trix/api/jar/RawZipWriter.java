@@ -0,0 +1,208 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.jar;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+import java.util.zip.ZipException;
+
+/**
+ * A minimal zip writer that accepts entries which are already compressed.
+ * <p>
+ * Entries are written with their CRC and sizes in the local header, so {@link #write(String, int, int, int, long, byte[])}
+ * can write data that is already compressed without ever inflating it, and
+ * {@link #copy(RawZipFile.Entry, RawZipFile.Stored)} copies an entry of a {@link RawZipFile} with its name bytes,
+ * extra fields and comment exactly as they were. {@link #compress(byte[])} prepares new data the same way, and can
+ * be called from any thread ahead of time. New entries are always written with UTF-8 names and without extra fields.
+ * <p>
+ * Zip64 is not supported, writing more than 65535 entries or 4 GiB fails with a {@link ZipException}.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+final class RawZipWriter {
+
+    private static final int LOCAL_FILE_HEADER = 0x04034B50;
+    private static final int CENTRAL_DIRECTORY_HEADER = 0x02014B50;
+    private static final int END_OF_CENTRAL_DIRECTORY = 0x06054B50;
+
+    private static final int VERSION = 20;
+
+    private static final byte[] NO_BYTES = new byte[0];
+
+    private final OutputStream output;
+    private final ByteArrayOutputStream centralDirectory = new ByteArrayOutputStream();
+
+    private long offset;
+    private int entryCount;
+
+    RawZipWriter(OutputStream output) {
+        this.output = output;
+    }
+
+    /**
+     * Deflates {@code data} unless that doesn't make it smaller.
+     */
+    static Compressed compress(byte[] data) {
+        CRC32 crc = new CRC32();
+        crc.update(data);
+
+        if (data.length > 0) {
+            Deflater deflater = new Deflater(Deflater.DEFAULT_COMPRESSION, true);
+            try {
+                deflater.setInput(data);
+                deflater.finish();
+
+                ByteArrayOutputStream compressed = new ByteArrayOutputStream(Math.max(64, data.length / 2));
+                byte[] buffer = new byte[8192];
+                while (!deflater.finished()) {
+                    compressed.write(buffer, 0, deflater.deflate(buffer));
+                }
+
+                if (compressed.size() < data.length) {
+                    return new Compressed(RawZipFile.METHOD_DEFLATED, (int) crc.getValue(), data.length, compressed.toByteArray());
+                }
+            } finally {
+                deflater.end();
+            }
+        }
+
+        return new Compressed(RawZipFile.METHOD_STORED, (int) crc.getValue(), data.length, data);
+    }
+
+    void write(String name, int dosTime, Compressed compressed) throws IOException {
+        write(name, dosTime, compressed.method, compressed.crc, compressed.size, compressed.data);
+    }
+
+    /**
+     * @param data The entry data, already compressed with {@code method}.
+     */
+    void write(String name, int dosTime, int method, int crc, long size, byte[] data) throws IOException {
+        write(name.getBytes(StandardCharsets.UTF_8), RawZipFile.UTF8_FLAG, dosTime, method, crc, size, data, NO_BYTES, NO_BYTES, NO_BYTES);
+    }
+
+    /**
+     * Copies {@code entry} as it is stored, keeping its name bytes, extra fields and comment.
+     */
+    void copy(RawZipFile.Entry entry, RawZipFile.Stored stored) throws IOException {
+        write(entry.rawName, entry.nameFlags, entry.dosTime, entry.method, entry.crc, entry.size, stored.data,
+              stored.localExtra, entry.extra, entry.comment);
+    }
+
+    private void write(byte[] nameBytes, int flags, int dosTime, int method, int crc, long size, byte[] data,
+                       byte[] localExtra, byte[] centralExtra, byte[] comment) throws IOException {
+        if (entryCount == 0xFFFF || offset + data.length > 0xFFFFFFFFL || size > 0xFFFFFFFFL) {
+            throw new ZipException("Output is too large, Zip64 is not supported.");
+        }
+
+        ByteBuffer header = ByteBuffer.allocate(30 + nameBytes.length + localExtra.length).order(ByteOrder.LITTLE_ENDIAN);
+        header.putInt(LOCAL_FILE_HEADER)
+                .putShort((short) VERSION)
+                .putShort((short) flags)
+                .putShort((short) method)
+                .putInt(dosTime)
+                .putInt(crc)
+                .putInt(data.length)
+                .putInt((int) size)
+                .putShort((short) nameBytes.length)
+                .putShort((short) localExtra.length)
+                .put(nameBytes)
+                .put(localExtra);
+
+        ByteBuffer central = ByteBuffer.allocate(46 + nameBytes.length + centralExtra.length + comment.length).order(ByteOrder.LITTLE_ENDIAN);
+        central.putInt(CENTRAL_DIRECTORY_HEADER)
+                .putShort((short) VERSION)
+                .putShort((short) VERSION)
+                .putShort((short) flags)
+                .putShort((short) method)
+                .putInt(dosTime)
+                .putInt(crc)
+                .putInt(data.length)
+                .putInt((int) size)
+                .putShort((short) nameBytes.length)
+                .putShort((short) centralExtra.length)
+                .putShort((short) comment.length)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putInt(0)
+                .putInt((int) offset)
+                .put(nameBytes)
+                .put(centralExtra)
+                .put(comment);
+
+        output.write(header.array());
+        output.write(data);
+        centralDirectory.write(central.array());
+
+        offset += header.capacity() + data.length;
+        entryCount++;
+    }
+
+    /**
+     * Writes the central directory, the underlying stream is flushed but not closed.
+     */
+    void finish() throws IOException {
+        if (offset + centralDirectory.size() > 0xFFFFFFFFL) {
+            throw new ZipException("Output is too large, Zip64 is not supported.");
+        }
+
+        ByteBuffer end = ByteBuffer.allocate(22).order(ByteOrder.LITTLE_ENDIAN);
+        end.putInt(END_OF_CENTRAL_DIRECTORY)
+                .putShort((short) 0)
+                .putShort((short) 0)
+                .putShort((short) entryCount)
+                .putShort((short) entryCount)
+                .putInt(centralDirectory.size())
+                .putInt((int) offset)
+                .putShort((short) 0);
+
+        centralDirectory.writeTo(output);
+        output.write(end.array());
+        output.flush();
+    }
+
+    @SuppressWarnings("ClassCanBeRecord")
+    static final class Compressed {
+
+        final int method;
+        final int crc;
+        final long size;
+        final byte[] data;
+
+        Compressed(int method, int crc, long size, byte[] data) {
+            this.method = method;
+            this.crc = crc;
+            this.size = size;
+            this.data = data;
+        }
+    }
+}
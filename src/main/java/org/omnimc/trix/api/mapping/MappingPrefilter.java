@@ -0,0 +1,296 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.mapping;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Answers "definitely not mapped" for a class name without asking the {@link MappingSource}.
+ * <p>
+ * A name is rejected if it starts with one of the excluded package prefixes, or if it is not in the Bloom filter
+ * built from the mapping's class names. A filter built without any keys rejects every name, unless the Bloom filter
+ * was turned off with {@link Builder#useBloomFilter(boolean)}. Anything else might be mapped and has to go to the real lookup. The filter
+ * keeps counters for each outcome so its hit rate can be checked on real jars, see {@link #toString()}.
+ * <p>
+ * Instances are immutable apart from their counters and safe to share between threads.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class MappingPrefilter {
+
+    /**
+     * Packages that never show up in game mappings.
+     */
+    public static final String[] DEFAULT_EXCLUSIONS = {"java/", "javax/", "jdk/", "sun/", "com/sun/"};
+
+    public static final double DEFAULT_FALSE_POSITIVE_RATE = 0.01;
+
+    private final String[] exclusions;
+    private final long[] bloomBits;
+    private final int bloomBitCount;
+    private final int bloomHashes;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder excluded = new LongAdder();
+    private final LongAdder bloomRejected = new LongAdder();
+    private final LongAdder falsePositives = new LongAdder();
+
+    private MappingPrefilter(Builder builder) {
+        this.exclusions = builder.exclusions.toArray(new String[0]);
+
+        int keyCount = builder.keys.size();
+        if (!builder.useBloomFilter) {
+            this.bloomBits = null;
+            this.bloomBitCount = 0;
+            this.bloomHashes = 0;
+            return;
+        }
+
+        if (keyCount == 0) {
+            // Nothing is mapped, an empty filter rejects every name.
+            this.bloomBits = new long[1];
+            this.bloomBitCount = 64;
+            this.bloomHashes = 1;
+            return;
+        }
+
+        double ln2 = Math.log(2);
+        long bits = (long) Math.ceil(-keyCount * Math.log(builder.falsePositiveRate) / (ln2 * ln2));
+        this.bloomBitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, bits));
+        this.bloomHashes = Math.max(1, (int) Math.round((double) bloomBitCount / keyCount * ln2));
+        this.bloomBits = new long[(bloomBitCount + 63) >>> 6];
+
+        for (String key : builder.keys) {
+            int first = key.hashCode();
+            int second = secondHash(first);
+            for (int i = 0; i < bloomHashes; i++) {
+                int bit = Math.floorMod(first + i * second, bloomBitCount);
+                bloomBits[bit >>> 6] |= 1L << bit;
+            }
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * @param className The internal name of a class.
+     * @return {@code false} if the class is definitely not mapped, {@code true} if it might be.
+     */
+    public boolean mightBeMapped(String className) {
+        requests.increment();
+
+        for (String exclusion : exclusions) {
+            if (className.startsWith(exclusion)) {
+                excluded.increment();
+                return false;
+            }
+        }
+
+        if (bloomBits != null) {
+            int first = className.hashCode();
+            int second = secondHash(first);
+            for (int i = 0; i < bloomHashes; i++) {
+                int bit = Math.floorMod(first + i * second, bloomBitCount);
+                if ((bloomBits[bit >>> 6] & (1L << bit)) == 0) {
+                    bloomRejected.increment();
+                    return false;
+                }
+            }
+        }
+
+        return true;
+    }
+
+    /**
+     * Wraps {@code source} so that every class lookup goes through this filter first.
+     *
+     * @param source The real lookup.
+     * @return A filtered {@link MappingSource}.
+     */
+    public MappingSource filter(MappingSource source) {
+        return new FilteredSource(source, this);
+    }
+
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    public long getExcluded() {
+        return excluded.sum();
+    }
+
+    public long getBloomRejected() {
+        return bloomRejected.sum();
+    }
+
+    /**
+     * @return How many names passed the filter but were not mapped, only counted by {@link #filter(MappingSource)}.
+     */
+    public long getFalsePositives() {
+        return falsePositives.sum();
+    }
+
+    /**
+     * @return The share of requests that were answered without going to the real lookup.
+     */
+    public double getRejectionRate() {
+        long total = getRequests();
+        return total == 0 ? 0 : (double) (getExcluded() + getBloomRejected()) / total;
+    }
+
+    public void resetStatistics() {
+        requests.reset();
+        excluded.reset();
+        bloomRejected.reset();
+        falsePositives.reset();
+    }
+
+    @Override
+    public String toString() {
+        return "MappingPrefilter{requests=" + getRequests() +
+                ", excluded=" + getExcluded() +
+                ", bloomRejected=" + getBloomRejected() +
+                ", falsePositives=" + getFalsePositives() +
+                ", rejectionRate=" + String.format("%.2f%%", getRejectionRate() * 100) +
+                '}';
+    }
+
+    private static int secondHash(int hash) {
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        return (hash ^ (hash >>> 16)) | 1;
+    }
+
+    public static final class Builder {
+
+        private final List<String> exclusions = new ArrayList<>();
+        private final List<String> keys = new ArrayList<>();
+        private double falsePositiveRate = DEFAULT_FALSE_POSITIVE_RATE;
+        private boolean useBloomFilter = true;
+
+        private Builder() {
+        }
+
+        /**
+         * @param packagePrefix An internal name prefix, like {@code java/}, whose classes are never mapped.
+         */
+        public Builder exclude(String packagePrefix) {
+            exclusions.add(packagePrefix);
+            return this;
+        }
+
+        public Builder excludeDefaults() {
+            for (String exclusion : DEFAULT_EXCLUSIONS) {
+                exclude(exclusion);
+            }
+            return this;
+        }
+
+        /**
+         * @param classNames The obfuscated names of every mapped class.
+         */
+        public Builder addKeys(Iterable<String> classNames) {
+            for (String className : classNames) {
+                keys.add(className);
+            }
+            return this;
+        }
+
+        public Builder addKeys(SymbolTable table) {
+            for (int i = 0; i < table.getClassCount(); i++) {
+                keys.add(table.getSymbol(table.getClassSymbol(i)));
+            }
+            return this;
+        }
+
+        public Builder falsePositiveRate(double falsePositiveRate) {
+            if (falsePositiveRate <= 0 || falsePositiveRate >= 1) {
+                throw new IllegalArgumentException("False positive rate must be between 0 and 1, got " + falsePositiveRate);
+            }
+
+            this.falsePositiveRate = falsePositiveRate;
+            return this;
+        }
+
+        /**
+         * @param useBloomFilter {@code false} to only check the excluded prefixes, even if keys were added.
+         */
+        public Builder useBloomFilter(boolean useBloomFilter) {
+            this.useBloomFilter = useBloomFilter;
+            return this;
+        }
+
+        public MappingPrefilter build() {
+            return new MappingPrefilter(this);
+        }
+    }
+
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class FilteredSource implements MappingSource {
+
+        private final MappingSource source;
+        private final MappingPrefilter filter;
+
+        private FilteredSource(MappingSource source, MappingPrefilter filter) {
+            this.source = source;
+            this.filter = filter;
+        }
+
+        @Override
+        public String mapClassName(String name) {
+            if (!filter.mightBeMapped(name)) {
+                return null;
+            }
+
+            String mappedName = source.mapClassName(name);
+            if (mappedName == null) {
+                filter.falsePositives.increment();
+            }
+            return mappedName;
+        }
+
+        @Override
+        public String mapFieldName(String owner, String name, String descriptor) {
+            return filter.mightBeMapped(owner) ? source.mapFieldName(owner, name, descriptor) : null;
+        }
+
+        @Override
+        public String mapMethodName(String owner, String name, String descriptor) {
+            return filter.mightBeMapped(owner) ? source.mapMethodName(owner, name, descriptor) : null;
+        }
+
+        @Override
+        public boolean containsClass(String name) {
+            return filter.mightBeMapped(name) && source.containsClass(name);
+        }
+    }
+}
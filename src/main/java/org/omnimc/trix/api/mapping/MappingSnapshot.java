@@ -0,0 +1,352 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.mapping;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * A {@link MappingSource} that reads a {@link SymbolTable} straight out of a memory mapped file.
+ * <p>
+ * {@link #write(SymbolTable, Path)} lays out the arrays of a {@link SymbolTable} back to back, and
+ * {@link #open(Path)} maps that file and reads from it in place. Nothing is copied onto the heap when opening,
+ * so the cost of opening a snapshot doesn't depend on how many classes it holds. The operating system pages in
+ * only the parts of the file that lookups actually touch.
+ * <p>
+ * The layout is a header of {@code int}s followed by every {@code int} array and lastly the symbol characters:
+ * <pre>
+ * magic, version, symbolCount, charCount, classCount, classSlots, fieldCount, fieldSlots, methodCount, methodSlots
+ * symbolOffsets[symbolCount + 1], symbolHashes[symbolCount]
+ * classNames[classCount], classMapped[classCount], classSlots[classSlots]
+ * fieldOwners[fieldCount], fieldKeys[fieldCount], fieldMapped[fieldCount], fieldSlots[fieldSlots]
+ * methodOwners[methodCount], methodKeys[methodCount], methodMapped[methodCount], methodSlots[methodSlots]
+ * symbolChars[charCount]
+ * </pre>
+ * Instances only use absolute reads on the mapped buffer, so they are safe to share between threads.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class MappingSnapshot implements MappingSource {
+
+    public static final int MAGIC = 0x5452584D; // TRXM
+    public static final int VERSION = 1;
+
+    private static final int HEADER_INTS = 10;
+
+    private final ByteBuffer buffer;
+
+    private final int symbolOffsets;
+    private final int symbolHashes;
+    private final int classCount;
+    private final int classNames;
+    private final int classMapped;
+    private final int classSlots;
+    private final int classSlotCount;
+    private final int fieldOwners;
+    private final int fieldKeys;
+    private final int fieldMapped;
+    private final int fieldSlots;
+    private final int fieldSlotCount;
+    private final int methodOwners;
+    private final int methodKeys;
+    private final int methodMapped;
+    private final int methodSlots;
+    private final int methodSlotCount;
+    private final int symbolChars;
+
+    private MappingSnapshot(ByteBuffer buffer) throws IOException {
+        if (buffer.capacity() < HEADER_INTS * Integer.BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a mapping snapshot.");
+        }
+
+        int version = buffer.getInt(4);
+        if (version != VERSION) {
+            throw new IOException("Unsupported mapping snapshot version " + version + ", expected " + VERSION + ".");
+        }
+
+        int symbolCount = buffer.getInt(8);
+        int charCount = buffer.getInt(12);
+        this.classCount = buffer.getInt(16);
+        this.classSlotCount = buffer.getInt(20);
+        int fieldCount = buffer.getInt(24);
+        this.fieldSlotCount = buffer.getInt(28);
+        int methodCount = buffer.getInt(32);
+        this.methodSlotCount = buffer.getInt(36);
+
+        if (symbolCount < 0 || charCount < 0) {
+            throw new IOException("Mapping snapshot is corrupt, it holds " + symbolCount + " symbols and " + charCount + " characters.");
+        }
+        checkTable("class", classCount, classSlotCount);
+        checkTable("field", fieldCount, fieldSlotCount);
+        checkTable("method", methodCount, methodSlotCount);
+
+        // Sections are laid out in longs so a corrupt header can't wrap around, every offset is at most the size of
+        // the buffer once the size check below passes.
+        long offset = HEADER_INTS * Integer.BYTES;
+        this.symbolOffsets = (int) offset;
+        offset += (symbolCount + 1L) * Integer.BYTES;
+        this.symbolHashes = (int) offset;
+        offset += (long) symbolCount * Integer.BYTES;
+
+        this.classNames = (int) offset;
+        offset += (long) classCount * Integer.BYTES;
+        this.classMapped = (int) offset;
+        offset += (long) classCount * Integer.BYTES;
+        this.classSlots = (int) offset;
+        offset += (long) classSlotCount * Integer.BYTES;
+
+        this.fieldOwners = (int) offset;
+        offset += (long) fieldCount * Integer.BYTES;
+        this.fieldKeys = (int) offset;
+        offset += (long) fieldCount * Integer.BYTES;
+        this.fieldMapped = (int) offset;
+        offset += (long) fieldCount * Integer.BYTES;
+        this.fieldSlots = (int) offset;
+        offset += (long) fieldSlotCount * Integer.BYTES;
+
+        this.methodOwners = (int) offset;
+        offset += (long) methodCount * Integer.BYTES;
+        this.methodKeys = (int) offset;
+        offset += (long) methodCount * Integer.BYTES;
+        this.methodMapped = (int) offset;
+        offset += (long) methodCount * Integer.BYTES;
+        this.methodSlots = (int) offset;
+        offset += (long) methodSlotCount * Integer.BYTES;
+
+        this.symbolChars = (int) offset;
+        offset += (long) charCount * Character.BYTES;
+
+        if (offset != buffer.capacity()) {
+            throw new IOException("Mapping snapshot is truncated or corrupt, expected " + offset + " bytes but found " + buffer.capacity() + ".");
+        }
+
+        this.buffer = buffer;
+    }
+
+    /**
+     * Lookups probe until they hit an empty slot, so a table has to be a power of two and at most half full like
+     * {@link SymbolTable} writes it, otherwise a lookup could index past the table or never stop.
+     */
+    private static void checkTable(String kind, int count, int slotCount) throws IOException {
+        if (count < 0 || slotCount <= 0 || Integer.bitCount(slotCount) != 1 || count * 2L > slotCount) {
+            throw new IOException("Mapping snapshot is corrupt, its " + kind + " table has " + slotCount + " slots for " + count + " entries.");
+        }
+    }
+
+    /**
+     * Maps a snapshot previously written with {@link #write(SymbolTable, Path)}.
+     *
+     * @param path The snapshot file.
+     * @return A {@link MappingSnapshot} reading directly from the mapped file.
+     * @throws IOException If the file can't be mapped or is not a valid snapshot.
+     */
+    public static MappingSnapshot open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Mapping snapshot is too large, found " + channel.size() + " bytes.");
+            }
+
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new MappingSnapshot(buffer);
+        }
+    }
+
+    /**
+     * Writes {@code table} to {@code path}. The file is written next to its destination first and then moved into
+     * place, so readers never see a half written snapshot.
+     *
+     * @param table The table to write.
+     * @param path  Where the snapshot should end up.
+     * @throws IOException If the snapshot can't be written.
+     */
+    public static void write(SymbolTable table, Path path) throws IOException {
+        Path parent = path.toAbsolutePath().getParent();
+        Files.createDirectories(parent);
+        Path temp = Files.createTempFile(parent, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                out.writeInt(table.symbolHashes.length);
+                out.writeInt(table.symbolChars.length);
+                out.writeInt(table.classNames.length);
+                out.writeInt(table.classSlots.length);
+                out.writeInt(table.fieldKeys.length);
+                out.writeInt(table.fieldSlots.length);
+                out.writeInt(table.methodKeys.length);
+                out.writeInt(table.methodSlots.length);
+
+                writeInts(out, table.symbolOffsets);
+                writeInts(out, table.symbolHashes);
+                writeInts(out, table.classNames);
+                writeInts(out, table.classMapped);
+                writeInts(out, table.classSlots);
+                writeInts(out, table.fieldOwners);
+                writeInts(out, table.fieldKeys);
+                writeInts(out, table.fieldMapped);
+                writeInts(out, table.fieldSlots);
+                writeInts(out, table.methodOwners);
+                writeInts(out, table.methodKeys);
+                writeInts(out, table.methodMapped);
+                writeInts(out, table.methodSlots);
+
+                for (char c : table.symbolChars) {
+                    out.writeChar(c);
+                }
+            }
+
+            Files.move(temp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    @Override
+    public String mapClassName(String name) {
+        int classId = findClass(name);
+        return classId == SymbolTable.NOT_FOUND ? null : readSymbol(intAt(classMapped, classId));
+    }
+
+    @Override
+    public String mapFieldName(String owner, String name, String descriptor) {
+        int classId = findClass(owner);
+        if (classId == SymbolTable.NOT_FOUND) {
+            return null;
+        }
+
+        int fieldId = findMember(fieldSlots, fieldSlotCount, fieldOwners, fieldKeys, classId, name, descriptor);
+        return fieldId == SymbolTable.NOT_FOUND ? null : readSymbol(intAt(fieldMapped, fieldId));
+    }
+
+    @Override
+    public String mapMethodName(String owner, String name, String descriptor) {
+        int classId = findClass(owner);
+        if (classId == SymbolTable.NOT_FOUND) {
+            return null;
+        }
+
+        int methodId = findMember(methodSlots, methodSlotCount, methodOwners, methodKeys, classId, name, descriptor);
+        return methodId == SymbolTable.NOT_FOUND ? null : readSymbol(intAt(methodMapped, methodId));
+    }
+
+    @Override
+    public boolean containsClass(String name) {
+        return findClass(name) != SymbolTable.NOT_FOUND;
+    }
+
+    public int getClassCount() {
+        return classCount;
+    }
+
+    private int findClass(String name) {
+        int hash = name.hashCode();
+        int mask = classSlotCount - 1;
+        for (int slot = SymbolTable.mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int classId = intAt(classSlots, slot) - 1;
+            if (classId < 0) {
+                return SymbolTable.NOT_FOUND;
+            }
+
+            int symbol = intAt(classNames, classId);
+            if (intAt(symbolHashes, symbol) == hash && symbolEquals(symbol, name, "")) {
+                return classId;
+            }
+        }
+    }
+
+    private int findMember(int slots, int slotCount, int owners, int keys, int classId, String name, String descriptor) {
+        int hash = SymbolTable.concatHash(name, descriptor);
+        int mask = slotCount - 1;
+        for (int slot = SymbolTable.memberHash(classId, hash) & mask; ; slot = (slot + 1) & mask) {
+            int memberId = intAt(slots, slot) - 1;
+            if (memberId < 0) {
+                return SymbolTable.NOT_FOUND;
+            }
+
+            int key = intAt(keys, memberId);
+            if (intAt(owners, memberId) == classId && intAt(symbolHashes, key) == hash && symbolEquals(key, name, descriptor)) {
+                return memberId;
+            }
+        }
+    }
+
+    private boolean symbolEquals(int symbol, String first, String second) {
+        int start = intAt(symbolOffsets, symbol);
+        int firstLength = first.length();
+        if (intAt(symbolOffsets, symbol + 1) - start != firstLength + second.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < firstLength; i++) {
+            if (charAt(start + i) != first.charAt(i)) {
+                return false;
+            }
+        }
+
+        start += firstLength;
+        for (int i = 0; i < second.length(); i++) {
+            if (charAt(start + i) != second.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String readSymbol(int symbol) {
+        int start = intAt(symbolOffsets, symbol);
+        int length = intAt(symbolOffsets, symbol + 1) - start;
+
+        char[] chars = new char[length];
+        for (int i = 0; i < length; i++) {
+            chars[i] = charAt(start + i);
+        }
+        return new String(chars);
+    }
+
+    private int intAt(int section, int index) {
+        return buffer.getInt(section + index * Integer.BYTES);
+    }
+
+    private char charAt(int index) {
+        return buffer.getChar(symbolChars + index * Character.BYTES);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        for (int value : values) {
+            out.writeInt(value);
+        }
+    }
+}
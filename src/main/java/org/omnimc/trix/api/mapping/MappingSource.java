@@ -0,0 +1,75 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.mapping;
+
+import org.omnimc.trix.api.TrixRemapper;
+
+/**
+ * The backend a {@link TrixRemapper} resolves its names against.
+ * <p>
+ * Every method returns {@code null} when the source does not know about the requested name, the remapper then
+ * falls back to the original name. Member descriptors passed in are expected to be already remapped, the same way
+ * lumina keys its members.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public interface MappingSource {
+
+    /**
+     * @param name The obfuscated internal name of a class.
+     * @return The mapped internal name, or {@code null} if the class is not mapped.
+     */
+    String mapClassName(String name);
+
+    /**
+     * @param owner      The obfuscated internal name of the owning class.
+     * @param name       The obfuscated field name.
+     * @param descriptor The remapped field descriptor.
+     * @return The mapped field name, or {@code null} if the field is not mapped.
+     */
+    String mapFieldName(String owner, String name, String descriptor);
+
+    /**
+     * @param owner      The obfuscated internal name of the owning class.
+     * @param name       The obfuscated method name.
+     * @param descriptor The remapped method descriptor.
+     * @return The mapped method name, or {@code null} if the method is not mapped.
+     */
+    String mapMethodName(String owner, String name, String descriptor);
+
+    /**
+     * Whether the class is known to this source. Any class used as an owner for a field or method this source maps
+     * must be known, even if its own name maps to itself. {@link org.omnimc.trix.api.util.MappingUtil#needsRemapping}
+     * skips every class that references nothing known.
+     *
+     * @param name The obfuscated internal name of a class.
+     * @return {@code true} if this source has a mapping for the class or for a member looked up through it.
+     */
+    default boolean containsClass(String name) {
+        return mapClassName(name) != null;
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.mapping;
+
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.lumina.data.types.FieldData;
+import org.omnimc.lumina.data.types.MethodData;
+import org.omnimc.lumina.mcmap.McMap;
+import org.omnimc.trix.api.cache.LookupCache;
+
+import java.io.IOException;
+
+/**
+ * A {@link MappingSource} that resolves everything through a lumina {@link McMap}.
+ * <p>
+ * Class lookups can optionally go through a {@link LookupCache}, in which case both found and missing classes
+ * are remembered and the {@link McMap} is only consulted once per class name.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class McMapSource implements MappingSource {
+
+    private final McMap chosenMap;
+    private final LookupCache<String, ClassData> classCache;
+
+    public McMapSource(McMap chosenMap) {
+        this(chosenMap, null);
+    }
+
+    /**
+     * @param chosenMap  The map every lookup is resolved against.
+     * @param classCache The cache to put in front of {@code chosenMap}, or {@code null} to disable caching.
+     */
+    public McMapSource(McMap chosenMap, LookupCache<String, ClassData> classCache) {
+        this.chosenMap = chosenMap;
+        this.classCache = classCache;
+    }
+
+    @Override
+    public String mapClassName(String name) {
+        ClassData classData = getClass(name);
+        return classData == null ? null : classData.getClassName();
+    }
+
+    @Override
+    public String mapFieldName(String owner, String name, String descriptor) {
+        ClassData classData = getClass(owner);
+        if (classData == null) {
+            return null;
+        }
+
+        FieldData field = classData.getField(name, descriptor);
+        return field == null ? null : field.getFieldName();
+    }
+
+    @Override
+    public String mapMethodName(String owner, String name, String descriptor) {
+        ClassData classData = getClass(owner);
+        if (classData == null) {
+            return null;
+        }
+
+        MethodData method = classData.getMethod(name, descriptor);
+        return method == null ? null : method.getMethodName();
+    }
+
+    public McMap getMap() {
+        return chosenMap;
+    }
+
+    /**
+     * @return The cache in front of the {@link McMap}, or {@code null} if caching is disabled.
+     */
+    public LookupCache<String, ClassData> getClassCache() {
+        return classCache;
+    }
+
+    public ClassData getClass(String name) {
+        if (classCache == null) {
+            return loadClass(name);
+        }
+
+        return classCache.get(name, this::loadClass);
+    }
+
+    private ClassData loadClass(String name) {
+        try {
+            return chosenMap.getClassData(name);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+}
@@ -0,0 +1,502 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.mapping;
+
+import org.omnimc.lumina.data.Mappings;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.lumina.data.types.FieldData;
+import org.omnimc.lumina.data.types.MethodData;
+import org.omnimc.lumina.mcmap.McMap;
+import org.omnimc.lumina.namespace.Namespace;
+
+import java.io.IOException;
+import java.util.*;
+
+/**
+ * A frozen, compiled form of a mapping set.
+ * <p>
+ * Every distinct name and member key is stored once in a shared {@code char} pool and referred to by an integer
+ * symbol ID. Classes, fields and methods are plain parallel {@code int} arrays, found through open addressed hash
+ * tables, so a lookup never allocates and only touches a handful of arrays. The mapped {@link String}s handed
+ * back are materialized the first time they are asked for and reused afterward.
+ * <p>
+ * Members are keyed the same way lumina keys them, by their obfuscated name followed by their remapped descriptor.
+ * Instances are immutable and safe to share between threads.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class SymbolTable implements MappingSource {
+
+    /**
+     * Returned by the {@code find} methods when there is no such entry.
+     */
+    public static final int NOT_FOUND = -1;
+
+    final char[] symbolChars;
+    final int[] symbolOffsets;
+    final int[] symbolHashes;
+    private final String[] symbolStrings;
+
+    final int[] classNames;
+    final int[] classMapped;
+    final int[] classSlots;
+
+    final int[] fieldOwners;
+    final int[] fieldKeys;
+    final int[] fieldMapped;
+    final int[] fieldSlots;
+
+    final int[] methodOwners;
+    final int[] methodKeys;
+    final int[] methodMapped;
+    final int[] methodSlots;
+
+    private SymbolTable(Builder builder) {
+        int symbolCount = builder.symbolList.size();
+        int totalChars = 0;
+        for (String symbol : builder.symbolList) {
+            totalChars += symbol.length();
+        }
+
+        this.symbolChars = new char[totalChars];
+        this.symbolOffsets = new int[symbolCount + 1];
+        this.symbolHashes = new int[symbolCount];
+        this.symbolStrings = new String[symbolCount];
+
+        int offset = 0;
+        for (int i = 0; i < symbolCount; i++) {
+            String symbol = builder.symbolList.get(i);
+            symbol.getChars(0, symbol.length(), symbolChars, offset);
+            symbolOffsets[i] = offset;
+            symbolHashes[i] = symbol.hashCode();
+            offset += symbol.length();
+        }
+        symbolOffsets[symbolCount] = offset;
+
+        this.classNames = builder.classNames.toArray();
+        this.classMapped = builder.classMapped.toArray();
+        this.classSlots = new int[tableSize(classNames.length)];
+        for (int i = 0; i < classNames.length; i++) {
+            insert(classSlots, mix(symbolHashes[classNames[i]]), i);
+        }
+
+        this.fieldOwners = builder.fieldOwners.toArray();
+        this.fieldKeys = builder.fieldKeys.toArray();
+        this.fieldMapped = builder.fieldMapped.toArray();
+        this.fieldSlots = new int[tableSize(fieldKeys.length)];
+        for (int i = 0; i < fieldKeys.length; i++) {
+            insert(fieldSlots, memberHash(fieldOwners[i], symbolHashes[fieldKeys[i]]), i);
+        }
+
+        this.methodOwners = builder.methodOwners.toArray();
+        this.methodKeys = builder.methodKeys.toArray();
+        this.methodMapped = builder.methodMapped.toArray();
+        this.methodSlots = new int[tableSize(methodKeys.length)];
+        for (int i = 0; i < methodKeys.length; i++) {
+            insert(methodSlots, memberHash(methodOwners[i], symbolHashes[methodKeys[i]]), i);
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Compiles every class, field and method held by {@code mappings}.
+     *
+     * @param mappings The mappings to compile.
+     * @return A new {@link SymbolTable}.
+     */
+    public static SymbolTable compile(Mappings mappings) {
+        Builder builder = builder();
+        for (Map.Entry<String, ClassData> entry : mappings.getClasses().entrySet()) {
+            builder.addClassData(entry.getKey(), entry.getValue());
+        }
+        return builder.build();
+    }
+
+    /**
+     * {@link McMap} resolves its classes on demand, so the classes that should be compiled have to be named.
+     *
+     * @param map        The map to pull the classes from.
+     * @param classNames The obfuscated names of the classes to compile, unknown names are skipped.
+     * @return A new {@link SymbolTable}.
+     */
+    public static SymbolTable compile(McMap map, Iterable<String> classNames) {
+        Builder builder = builder();
+        for (String className : classNames) {
+            ClassData classData;
+            try {
+                classData = map.getClassData(className);
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+
+            if (classData != null) {
+                builder.addClassData(className, classData);
+            }
+        }
+        return builder.build();
+    }
+
+    public static SymbolTable compile(Namespace namespace, Iterable<String> classNames) {
+        return compile(namespace.getProperty(), classNames);
+    }
+
+    @Override
+    public String mapClassName(String name) {
+        int classId = findClass(name);
+        return classId == NOT_FOUND ? null : getSymbol(classMapped[classId]);
+    }
+
+    @Override
+    public String mapFieldName(String owner, String name, String descriptor) {
+        int classId = findClass(owner);
+        if (classId == NOT_FOUND) {
+            return null;
+        }
+
+        int fieldId = findMember(fieldSlots, fieldOwners, fieldKeys, classId, name, descriptor);
+        return fieldId == NOT_FOUND ? null : getSymbol(fieldMapped[fieldId]);
+    }
+
+    @Override
+    public String mapMethodName(String owner, String name, String descriptor) {
+        int classId = findClass(owner);
+        if (classId == NOT_FOUND) {
+            return null;
+        }
+
+        int methodId = findMember(methodSlots, methodOwners, methodKeys, classId, name, descriptor);
+        return methodId == NOT_FOUND ? null : getSymbol(methodMapped[methodId]);
+    }
+
+    @Override
+    public boolean containsClass(String name) {
+        return findClass(name) != NOT_FOUND;
+    }
+
+    /**
+     * @param name The obfuscated internal name of a class.
+     * @return The class ID, or {@link #NOT_FOUND}.
+     */
+    public int findClass(String name) {
+        int hash = name.hashCode();
+        int mask = classSlots.length - 1;
+        for (int slot = mix(hash) & mask; ; slot = (slot + 1) & mask) {
+            int classId = classSlots[slot] - 1;
+            if (classId < 0) {
+                return NOT_FOUND;
+            }
+
+            int symbol = classNames[classId];
+            if (symbolHashes[symbol] == hash && symbolEquals(symbol, name, "")) {
+                return classId;
+            }
+        }
+    }
+
+    /**
+     * @return The field ID, or {@link #NOT_FOUND}.
+     */
+    public int findField(int classId, String name, String descriptor) {
+        return findMember(fieldSlots, fieldOwners, fieldKeys, classId, name, descriptor);
+    }
+
+    /**
+     * @return The method ID, or {@link #NOT_FOUND}.
+     */
+    public int findMethod(int classId, String name, String descriptor) {
+        return findMember(methodSlots, methodOwners, methodKeys, classId, name, descriptor);
+    }
+
+    public int getClassSymbol(int classId) {
+        return classNames[classId];
+    }
+
+    public int getMappedClassSymbol(int classId) {
+        return classMapped[classId];
+    }
+
+    public int getMappedFieldSymbol(int fieldId) {
+        return fieldMapped[fieldId];
+    }
+
+    public int getMappedMethodSymbol(int methodId) {
+        return methodMapped[methodId];
+    }
+
+    /**
+     * @param symbolId The ID of the symbol.
+     * @return The symbol as a {@link String}, created once and reused afterward.
+     */
+    public String getSymbol(int symbolId) {
+        String symbol = symbolStrings[symbolId];
+        if (symbol == null) {
+            int start = symbolOffsets[symbolId];
+            // Racing threads may both create it, which is harmless since Strings are immutable.
+            symbol = new String(symbolChars, start, symbolOffsets[symbolId + 1] - start);
+            symbolStrings[symbolId] = symbol;
+        }
+        return symbol;
+    }
+
+    public int getSymbolCount() {
+        return symbolHashes.length;
+    }
+
+    public int getClassCount() {
+        return classNames.length;
+    }
+
+    public int getFieldCount() {
+        return fieldKeys.length;
+    }
+
+    public int getMethodCount() {
+        return methodKeys.length;
+    }
+
+    private int findMember(int[] slots, int[] owners, int[] keys, int classId, String name, String descriptor) {
+        int hash = concatHash(name, descriptor);
+        int mask = slots.length - 1;
+        for (int slot = memberHash(classId, hash) & mask; ; slot = (slot + 1) & mask) {
+            int memberId = slots[slot] - 1;
+            if (memberId < 0) {
+                return NOT_FOUND;
+            }
+
+            int key = keys[memberId];
+            if (owners[memberId] == classId && symbolHashes[key] == hash && symbolEquals(key, name, descriptor)) {
+                return memberId;
+            }
+        }
+    }
+
+    private boolean symbolEquals(int symbol, String first, String second) {
+        int start = symbolOffsets[symbol];
+        int firstLength = first.length();
+        if (symbolOffsets[symbol + 1] - start != firstLength + second.length()) {
+            return false;
+        }
+
+        for (int i = 0; i < firstLength; i++) {
+            if (symbolChars[start + i] != first.charAt(i)) {
+                return false;
+            }
+        }
+
+        start += firstLength;
+        for (int i = 0; i < second.length(); i++) {
+            if (symbolChars[start + i] != second.charAt(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Works out {@code (first + second).hashCode()} without building the concatenated {@link String}.
+     */
+    static int concatHash(String first, String second) {
+        int hash = first.hashCode();
+        for (int i = 0; i < second.length(); i++) {
+            hash = 31 * hash + second.charAt(i);
+        }
+        return hash;
+    }
+
+    static int memberHash(int classId, int keyHash) {
+        return mix(keyHash * 31 + classId);
+    }
+
+    static int mix(int hash) {
+        hash *= 0x9E3779B9;
+        return hash ^ (hash >>> 16);
+    }
+
+    static int tableSize(int entries) {
+        return Math.max(2, Integer.highestOneBit(Math.max(1, entries) * 2 - 1) << 1);
+    }
+
+    private static void insert(int[] slots, int hash, int index) {
+        int mask = slots.length - 1;
+        int slot = hash & mask;
+        while (slots[slot] != 0) {
+            slot = (slot + 1) & mask;
+        }
+        slots[slot] = index + 1;
+    }
+
+    /**
+     * Collects classes and members before freezing them into a {@link SymbolTable}.
+     * <p>
+     * Adding the same class or member twice keeps the last mapped name.
+     */
+    public static final class Builder {
+
+        private final Map<String, Integer> symbolIds = new HashMap<>();
+        private final List<String> symbolList = new ArrayList<>();
+
+        private final Map<String, Integer> classIds = new HashMap<>();
+        private final IntBuffer classNames = new IntBuffer();
+        private final IntBuffer classMapped = new IntBuffer();
+
+        private final Map<Long, Integer> fieldIds = new HashMap<>();
+        private final IntBuffer fieldOwners = new IntBuffer();
+        private final IntBuffer fieldKeys = new IntBuffer();
+        private final IntBuffer fieldMapped = new IntBuffer();
+
+        private final Map<Long, Integer> methodIds = new HashMap<>();
+        private final IntBuffer methodOwners = new IntBuffer();
+        private final IntBuffer methodKeys = new IntBuffer();
+        private final IntBuffer methodMapped = new IntBuffer();
+
+        private Builder() {
+        }
+
+        public Builder addClass(String obfuscatedName, String mappedName) {
+            Integer existing = classIds.get(obfuscatedName);
+            if (existing != null) {
+                classMapped.set(existing, symbol(mappedName));
+                return this;
+            }
+
+            classIds.put(obfuscatedName, classNames.size());
+            classNames.add(symbol(obfuscatedName));
+            classMapped.add(symbol(mappedName));
+            return this;
+        }
+
+        /**
+         * @param owner      The obfuscated name of a class that has already been added.
+         * @param name       The obfuscated name of the field.
+         * @param descriptor The remapped descriptor of the field.
+         * @param mappedName The mapped name of the field.
+         */
+        public Builder addField(String owner, String name, String descriptor, String mappedName) {
+            return addFieldKey(owner, name + descriptor, mappedName);
+        }
+
+        /**
+         * @param owner      The obfuscated name of a class that has already been added.
+         * @param name       The obfuscated name of the method.
+         * @param descriptor The remapped descriptor of the method.
+         * @param mappedName The mapped name of the method.
+         */
+        public Builder addMethod(String owner, String name, String descriptor, String mappedName) {
+            return addMethodKey(owner, name + descriptor, mappedName);
+        }
+
+        /**
+         * Adds the class along with every field and method in {@link ClassData#getFields()} and {@link ClassData#getMethods()}.
+         */
+        public Builder addClassData(String obfuscatedName, ClassData classData) {
+            addClass(obfuscatedName, classData.getClassName());
+
+            for (Map.Entry<String, FieldData> field : classData.getFields().entrySet()) {
+                addFieldKey(obfuscatedName, field.getKey(), field.getValue().getFieldName());
+            }
+
+            for (Map.Entry<String, MethodData> method : classData.getMethods().entrySet()) {
+                addMethodKey(obfuscatedName, method.getKey(), method.getValue().getMethodName());
+            }
+            return this;
+        }
+
+        public SymbolTable build() {
+            return new SymbolTable(this);
+        }
+
+        private Builder addFieldKey(String owner, String key, String mappedName) {
+            addMember(fieldIds, fieldOwners, fieldKeys, fieldMapped, owner, key, mappedName);
+            return this;
+        }
+
+        private Builder addMethodKey(String owner, String key, String mappedName) {
+            addMember(methodIds, methodOwners, methodKeys, methodMapped, owner, key, mappedName);
+            return this;
+        }
+
+        private void addMember(Map<Long, Integer> ids, IntBuffer owners, IntBuffer keys, IntBuffer mapped,
+                               String owner, String key, String mappedName) {
+            Integer classId = classIds.get(owner);
+            if (classId == null) {
+                throw new IllegalStateException("Class " + owner + " has to be added before its members.");
+            }
+
+            int keySymbol = symbol(key);
+            long id = ((long) classId << 32) | (keySymbol & 0xFFFFFFFFL);
+
+            Integer existing = ids.get(id);
+            if (existing != null) {
+                mapped.set(existing, symbol(mappedName));
+                return;
+            }
+
+            ids.put(id, keys.size());
+            owners.add(classId);
+            keys.add(keySymbol);
+            mapped.add(symbol(mappedName));
+        }
+
+        private int symbol(String value) {
+            Integer id = symbolIds.get(value);
+            if (id == null) {
+                id = symbolList.size();
+                symbolIds.put(value, id);
+                symbolList.add(value);
+            }
+            return id;
+        }
+    }
+
+    private static final class IntBuffer {
+
+        private int[] values = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size << 1);
+            }
+            values[size++] = value;
+        }
+
+        void set(int index, int value) {
+            values[index] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(values, size);
+        }
+    }
+}
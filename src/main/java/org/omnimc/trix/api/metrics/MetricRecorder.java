@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counts, totals and a latency histogram for one trait or phase.
+ * <p>
+ * Latencies go into log-linear buckets, eight per power of two, so percentiles are accurate to within about 12%
+ * while recording stays a handful of atomic adds. Safe to record into from any number of threads.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class MetricRecorder {
+
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int BUCKETS = (64 - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+    private final LongAdder count = new LongAdder();
+    private final LongAdder sizedCount = new LongAdder();
+    private final LongAdder totalNanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+    private final LongAdder bytesIn = new LongAdder();
+    private final LongAdder bytesOut = new LongAdder();
+    private final LongAdder allocatedBytes = new LongAdder();
+    private final AtomicLongArray histogram = new AtomicLongArray(BUCKETS);
+
+    /**
+     * Records an invocation whose input and output sizes are known.
+     *
+     * @param nanos          How long the invocation took.
+     * @param bytesIn        The size of the input.
+     * @param bytesOut       The size of the output.
+     * @param allocatedBytes The bytes the invocation allocated, or {@code 0} if allocations aren't tracked.
+     */
+    public void record(long nanos, long bytesIn, long bytesOut, long allocatedBytes) {
+        record(nanos, allocatedBytes);
+        sizedCount.increment();
+        this.bytesIn.add(bytesIn);
+        this.bytesOut.add(bytesOut);
+    }
+
+    /**
+     * Records an invocation whose sizes aren't known, like a trait working on a {@link org.objectweb.asm.tree.ClassNode}.
+     * It counts towards every total except {@link #getBytesIn()} and {@link #getBytesOut()}.
+     *
+     * @param nanos          How long the invocation took.
+     * @param allocatedBytes The bytes the invocation allocated, or {@code 0} if allocations aren't tracked.
+     */
+    public void record(long nanos, long allocatedBytes) {
+        nanos = Math.max(0, nanos);
+        count.increment();
+        totalNanos.add(nanos);
+        maxNanos.accumulate(nanos);
+        this.allocatedBytes.add(Math.max(0, allocatedBytes));
+        histogram.incrementAndGet(bucketOf(nanos));
+    }
+
+    public long getCount() {
+        return count.sum();
+    }
+
+    /**
+     * @return How many of the recorded invocations came with their sizes, see {@link #getBytesIn()}.
+     */
+    public long getSizedCount() {
+        return sizedCount.sum();
+    }
+
+    public long getTotalNanos() {
+        return totalNanos.sum();
+    }
+
+    public long getMaxNanos() {
+        return maxNanos.get();
+    }
+
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) getTotalNanos() / count;
+    }
+
+    /**
+     * @return The input size summed over every invocation recorded with its sizes.
+     */
+    public long getBytesIn() {
+        return bytesIn.sum();
+    }
+
+    /**
+     * @return The output size summed over every invocation recorded with its sizes.
+     */
+    public long getBytesOut() {
+        return bytesOut.sum();
+    }
+
+    public long getAllocatedBytes() {
+        return allocatedBytes.sum();
+    }
+
+    /**
+     * @param percentile A value from {@code 0} to {@code 100}, like {@code 99}.
+     * @return The upper bound of the bucket holding that percentile, or {@code 0} if nothing was recorded.
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = new long[BUCKETS];
+        long total = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = histogram.get(i);
+            total += counts[i];
+        }
+
+        if (total == 0) {
+            return 0;
+        }
+
+        long rank = Math.max(1, (long) Math.ceil(total * Math.min(100, Math.max(0, percentile)) / 100));
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank) {
+                return Math.min(upperBoundOf(i), getMaxNanos());
+            }
+        }
+        return getMaxNanos();
+    }
+
+    public void reset() {
+        count.reset();
+        sizedCount.reset();
+        totalNanos.reset();
+        maxNanos.reset();
+        bytesIn.reset();
+        bytesOut.reset();
+        allocatedBytes.reset();
+        for (int i = 0; i < BUCKETS; i++) {
+            histogram.set(i, 0);
+        }
+    }
+
+    /**
+     * Sizes are left out when nothing was recorded with them.
+     */
+    @Override
+    public String toString() {
+        String sizes = getSizedCount() == 0 ? "" : String.format(", in=%d, out=%d", getBytesIn(), getBytesOut());
+        return String.format("count=%d, total=%.3fms, mean=%.1fus, p50=%.1fus, p99=%.1fus, max=%.1fus%s, allocated=%d",
+                             getCount(), getTotalNanos() / 1e6, getMeanNanos() / 1e3, getPercentileNanos(50) / 1e3,
+                             getPercentileNanos(99) / 1e3, getMaxNanos() / 1e3, sizes, getAllocatedBytes());
+    }
+
+    private static int bucketOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int subBucket = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + subBucket;
+    }
+
+    private static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        long subBucket = bucket % SUB_BUCKETS;
+        long upper = ((SUB_BUCKETS + subBucket + 1) << (exponent - SUB_BUCKET_BITS)) - 1;
+        return upper < 0 ? Long.MAX_VALUE : upper;
+    }
+}
@@ -0,0 +1,53 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.metrics;
+
+/**
+ * The parts of applying traits to a class that {@link TraitMetrics} times separately.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public enum Phase {
+    /**
+     * Reading class bytes into a tree, including any visitor traits that run while reading. Only the bytes going in
+     * are counted, the bytes out are always {@code 0}.
+     */
+    READ,
+    /**
+     * Running every trait over the tree or the file bytes. Sizes are only recorded for files.
+     */
+    TRANSFORM,
+    /**
+     * Writing the tree back to bytes, including any visitor traits that run while writing. Only the bytes coming out
+     * are counted, the bytes in are always {@code 0}.
+     */
+    WRITE,
+    /**
+     * Streaming a class from reader to writer in one pass, used when only visitor traits apply.
+     */
+    STREAM
+}
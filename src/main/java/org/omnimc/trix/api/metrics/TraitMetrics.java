@@ -0,0 +1,229 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.metrics;
+
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.Trait;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Timing, throughput and allocation metrics for every {@link Trait} and every {@link Phase} of
+ * {@link org.omnimc.trix.api.util.TraitUtil}.
+ * <p>
+ * Metrics are only recorded by the {@link org.omnimc.trix.api.jar.JarTraitEngine} or
+ * {@link org.omnimc.trix.api.util.TraitUtil} call they are handed to, so separate engines and callers never mix their
+ * numbers. Without them nothing is measured at all. Every trait invocation records its latency and the bytes going in
+ * and out where known. The bytes it allocated are only recorded by metrics created with
+ * {@link #TraitMetrics(boolean)}, when the JVM supports measuring that per thread.
+ * <pre>{@code
+ * TraitMetrics metrics = new TraitMetrics(true);
+ * JarTraitEngine engine = JarTraitEngine.builder().classTraits(traits).metrics(metrics).build();
+ * engine.transform(input, output);
+ * System.out.println(metrics.report());
+ * }</pre>
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class TraitMetrics {
+
+    private static final com.sun.management.ThreadMXBean THREAD_BEAN = findThreadBean();
+
+    private final Map<Phase, MetricRecorder> phases;
+    private final Map<Trait<?>, MetricRecorder> traits = new ConcurrentHashMap<>();
+    private final boolean allocationTracked;
+
+    /**
+     * Creates metrics that don't track allocations.
+     */
+    public TraitMetrics() {
+        this(false);
+    }
+
+    /**
+     * @param trackAllocations Whether to record the bytes every trait and phase allocates. This turns on per thread
+     *                         allocation measuring for the whole JVM, which stays on after these metrics are gone.
+     */
+    public TraitMetrics(boolean trackAllocations) {
+        Map<Phase, MetricRecorder> phases = new EnumMap<>(Phase.class);
+        for (Phase phase : Phase.values()) {
+            phases.put(phase, new MetricRecorder());
+        }
+        this.phases = Collections.unmodifiableMap(phases);
+        this.allocationTracked = trackAllocations && enableAllocationTracking();
+    }
+
+    /**
+     * @return The bytes allocated by the current thread so far, or {@code 0} if allocations aren't tracked.
+     */
+    public long currentAllocatedBytes() {
+        return allocationTracked ? THREAD_BEAN.getCurrentThreadAllocatedBytes() : 0;
+    }
+
+    /**
+     * @return {@code true} if allocations were asked for and the JVM can measure them.
+     */
+    public boolean isAllocationTracked() {
+        return allocationTracked;
+    }
+
+    /**
+     * @param startNanos     The {@link System#nanoTime()} the phase started at.
+     * @param startAllocated The {@link #currentAllocatedBytes()} the phase started at.
+     */
+    public void recordPhase(Phase phase, long startNanos, long startAllocated, long bytesIn, long bytesOut) {
+        phases.get(phase).record(System.nanoTime() - startNanos, bytesIn, bytesOut, currentAllocatedBytes() - startAllocated);
+    }
+
+    /**
+     * Records a phase whose sizes aren't known, see {@link MetricRecorder#record(long, long)}.
+     */
+    public void recordPhase(Phase phase, long startNanos, long startAllocated) {
+        phases.get(phase).record(System.nanoTime() - startNanos, currentAllocatedBytes() - startAllocated);
+    }
+
+    /**
+     * @param startNanos     The {@link System#nanoTime()} the trait started at.
+     * @param startAllocated The {@link #currentAllocatedBytes()} the trait started at.
+     */
+    public void recordTrait(Trait<?> trait, long startNanos, long startAllocated, long bytesIn, long bytesOut) {
+        getOrCreate(trait).record(System.nanoTime() - startNanos, bytesIn, bytesOut, currentAllocatedBytes() - startAllocated);
+    }
+
+    /**
+     * Records a trait whose sizes aren't known, like every {@link org.omnimc.trix.api.trait.clazz.ClassTrait}, see
+     * {@link MetricRecorder#record(long, long)}.
+     */
+    public void recordTrait(Trait<?> trait, long startNanos, long startAllocated) {
+        getOrCreate(trait).record(System.nanoTime() - startNanos, currentAllocatedBytes() - startAllocated);
+    }
+
+    private MetricRecorder getOrCreate(Trait<?> trait) {
+        return traits.computeIfAbsent(trait, ignored -> new MetricRecorder());
+    }
+
+    public MetricRecorder getPhase(Phase phase) {
+        return phases.get(phase);
+    }
+
+    /**
+     * @return The metrics of {@code trait}, or {@code null} if it never ran.
+     */
+    public MetricRecorder getTrait(Trait<?> trait) {
+        return traits.get(trait);
+    }
+
+    /**
+     * @return Every trait that ran so far and its metrics.
+     */
+    public Map<Trait<?>, MetricRecorder> getTraits() {
+        return Collections.unmodifiableMap(traits);
+    }
+
+    public void reset() {
+        phases.values().forEach(MetricRecorder::reset);
+        traits.clear();
+    }
+
+    /**
+     * @return A summary of every phase, then every trait with the slowest first.
+     */
+    public String report() {
+        StringBuilder report = new StringBuilder("Trait metrics");
+        if (!isAllocationTracked()) {
+            report.append(" (allocations not tracked)");
+        }
+        report.append(System.lineSeparator()).append("Phases:").append(System.lineSeparator());
+
+        for (Map.Entry<Phase, MetricRecorder> entry : phases.entrySet()) {
+            if (entry.getValue().getCount() != 0) {
+                report.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append(System.lineSeparator());
+            }
+        }
+
+        List<Map.Entry<Trait<?>, MetricRecorder>> entries = new ArrayList<>(traits.entrySet());
+        entries.sort((first, second) -> Long.compare(second.getValue().getTotalNanos(), first.getValue().getTotalNanos()));
+
+        report.append("Traits:").append(System.lineSeparator());
+        for (Map.Entry<Trait<?>, MetricRecorder> entry : entries) {
+            report.append("  ").append(describe(entry.getKey())).append(": ").append(entry.getValue()).append(System.lineSeparator());
+        }
+        return report.toString();
+    }
+
+    @Override
+    public String toString() {
+        return report();
+    }
+
+    /**
+     * Traits are usually lambdas wrapped in the same class, so they are told apart by their target as well.
+     */
+    private static String describe(Trait<?> trait) {
+        Target target = trait.getTarget();
+        String name = trait.getClass().getSimpleName();
+        return name + '@' + Integer.toHexString(System.identityHashCode(trait)) + " [" + target.getTargetType() +
+                (target.getTargetName() == null ? "" : ' ' + target.getTargetName()) + ", priority " + target.getPriority() + ']';
+    }
+
+    private static com.sun.management.ThreadMXBean findThreadBean() {
+        try {
+            if (ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean threadBean
+                    && threadBean.isThreadAllocatedMemorySupported()) {
+                return threadBean;
+            }
+        } catch (UnsupportedOperationException | SecurityException | LinkageError ignored) {
+            // Not a HotSpot based JVM, allocations just aren't tracked.
+        }
+        return null;
+    }
+
+    /**
+     * @return {@code true} if per thread allocation measuring is on, turning it on first if needed.
+     */
+    private static boolean enableAllocationTracking() {
+        if (THREAD_BEAN == null) {
+            return false;
+        }
+
+        try {
+            if (!THREAD_BEAN.isThreadAllocatedMemoryEnabled()) {
+                THREAD_BEAN.setThreadAllocatedMemoryEnabled(true);
+            }
+            return true;
+        } catch (UnsupportedOperationException | SecurityException ignored) {
+            // Not allowed, allocations just aren't tracked.
+            return false;
+        }
+    }
+}
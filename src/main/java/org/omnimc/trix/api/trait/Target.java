@@ -28,6 +28,7 @@ package org.omnimc.trix.api.trait;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.Objects;
+import java.util.regex.Pattern;
 
 /**
  * This class is meant to provide targeting to {@link Trait}.
@@ -62,14 +63,50 @@ public interface Target extends Comparable<Target> {
      * This is a utility method that lets you easily create a new instance of {@link Target} with a provided {@code priority} & {@code TargetType}.
      *
      * @param priority This is the priority the Target will have, the default is {@link Target#DEFAULT_PRIORITY}.
-     * @param type     This type is either going to be {@link TargetType#DIRECT} or {@link TargetType#ALL}.
+     * @param type     Any {@link TargetType}, like {@link TargetType#DIRECT} or {@link TargetType#PACKAGE}.
      *                 However, default is {@link Target#DEFAULT_TARGET_TYPE}.
-     * @return An instance of {@link ProxyTarget} filled in with the provided data.
+     * @return An instance of {@link ProxyTarget} filled in with the provided data, the current value of
+     * {@link TargetType#getTarget()} is copied into it.
      */
     static Target of(int priority, TargetType type) {
         return new ProxyTarget(priority, type);
     }
 
+    /**
+     * Creates a {@link Target} that owns its target name, nothing shared with other targets can change it later.
+     *
+     * @param priority This is the priority the Target will have, the default is {@link Target#DEFAULT_PRIORITY}.
+     * @param type     Any {@link TargetType}.
+     * @param target   The name, prefix, package or glob to target, ignored for {@link TargetType#ALL}.
+     * @return An immutable instance of {@link Target}.
+     */
+    static Target of(int priority, TargetType type, String target) {
+        return new ProxyTarget(priority, type, type == TargetType.ALL ? null : Objects.requireNonNull(target, "Target cannot be null."));
+    }
+
+    static Target direct(String className) {
+        return direct(DEFAULT_PRIORITY, className);
+    }
+
+    static Target direct(int priority, String className) {
+        return of(priority, TargetType.DIRECT, className);
+    }
+
+    static Target prefix(int priority, String prefix) {
+        return of(priority, TargetType.PREFIX, prefix);
+    }
+
+    /**
+     * @param packageName A package like {@code net/minecraft} or {@code net.minecraft}, its sub packages are included.
+     */
+    static Target inPackage(int priority, String packageName) {
+        return of(priority, TargetType.PACKAGE, packageName);
+    }
+
+    static Target glob(int priority, String glob) {
+        return of(priority, TargetType.GLOB, glob);
+    }
+
     /**
      * This is the implementing method for getting a priority, the default is {@link Target#DEFAULT_PRIORITY}.
      *
@@ -84,23 +121,59 @@ public interface Target extends Comparable<Target> {
      */
     TargetType getTargetType();
 
+    /**
+     * The name, prefix, package or glob this target applies to. Unlike {@link TargetType#getTarget()} it belongs to
+     * this instance, so every target can have its own.
+     * <p>
+     * Implementations written before this existed fall back to {@link TargetType#getTarget()}.
+     *
+     * @return The target, or {@code null} for {@link TargetType#ALL}.
+     */
+    @SuppressWarnings("deprecation")
+    default String getTargetName() {
+        TargetType targetType = getTargetType();
+        return targetType == TargetType.ALL ? null : targetType.getTarget();
+    }
+
+    /**
+     * @param objectName The name of a class or file.
+     * @return {@code true} if this target applies to {@code objectName}.
+     */
+    default boolean matches(String objectName) {
+        return getTargetType().matches(getTargetName(), objectName);
+    }
+
     @Override
     default int compareTo(@NotNull Target o) {
         return Integer.compare(o.getPriority(), getPriority());
     }
 
     /**
-     * This is a utility class that provides an instance for the {@link Target#of(int, TargetType)} method.
+     * This is a utility class that provides an instance for the {@link Target#of(int, TargetType, String)} method.
+     * <p>
+     * It is immutable and can be shared between threads.
      */
-    @SuppressWarnings("ClassCanBeRecord")
     final class ProxyTarget implements Target {
 
         private final int priority;
         private final TargetType targetType;
-
+        private final String targetName;
+        private final Pattern globPattern;
+
+        /**
+         * Copies the current value of {@link TargetType#getTarget()}, later calls to
+         * {@link TargetType#setTarget(String)} don't change this target.
+         */
+        @SuppressWarnings("deprecation")
         public ProxyTarget(int priority, TargetType targetType) {
+            this(priority, targetType, targetType == TargetType.ALL ? null : targetType.getTarget());
+        }
+
+        public ProxyTarget(int priority, TargetType targetType, String targetName) {
             this.priority = priority;
             this.targetType = targetType;
+            this.targetName = targetType == TargetType.PACKAGE && targetName != null ? TargetType.toPackagePrefix(targetName) : targetName;
+            this.globPattern = targetType == TargetType.GLOB && targetName != null ? TargetType.compileGlob(targetName) : null;
         }
 
         @Override
@@ -113,16 +186,34 @@ public interface Target extends Comparable<Target> {
             return targetType;
         }
 
+        @Override
+        public String getTargetName() {
+            return targetName;
+        }
+
+        @Override
+        public boolean matches(String objectName) {
+            if (globPattern != null) {
+                return globPattern.matcher(objectName).matches();
+            }
+            return targetType.matches(targetName, objectName);
+        }
+
         @Override
         public boolean equals(Object o) {
             if (o == null || getClass() != o.getClass()) return false;
             ProxyTarget that = (ProxyTarget) o;
-            return priority == that.priority && targetType == that.targetType;
+            return priority == that.priority && targetType == that.targetType && Objects.equals(targetName, that.targetName);
         }
 
         @Override
         public int hashCode() {
-            return Objects.hash(priority, targetType);
+            return Objects.hash(priority, targetType, targetName);
+        }
+
+        @Override
+        public String toString() {
+            return "Target{priority=" + priority + ", targetType=" + targetType + ", targetName='" + targetName + "'}";
         }
     }
-}
\ No newline at end of file
+}
@@ -25,13 +25,29 @@
 
 package org.omnimc.trix.api.trait;
 
+import java.util.regex.Pattern;
+
 /**
+ * <ul>
+ *     <li>{@link #DIRECT} targets one exact name, like {@code net/minecraft/client/Minecraft}.</li>
+ *     <li>{@link #ALL} targets every name.</li>
+ *     <li>{@link #PREFIX} targets every name starting with its target.</li>
+ *     <li>{@link #PACKAGE} targets every class in a package and its sub packages, {@code net/minecraft} and
+ *     {@code net.minecraft} both work.</li>
+ *     <li>{@link #GLOB} targets names matching a glob, {@code *} and {@code ?} match within one package, {@code **}
+ *     matches across packages, like {@code com/example/mixin/**Mixin}.</li>
+ * </ul>
+ * The value a type applies to belongs to each {@link Target}, see {@link Target#getTargetName()}.
+ *
  * @author <a href=https://github.com/CadenCCC>Caden</a>
  * @since 1.0.0
  */
 public enum TargetType {
     DIRECT(""),
-    ALL("*");
+    ALL("*"),
+    PREFIX(""),
+    PACKAGE(""),
+    GLOB("");
 
     private String target;
 
@@ -39,17 +55,96 @@ public enum TargetType {
         this.target = target;
     }
 
+    /**
+     * @deprecated The value is shared by every user of this constant, use {@link Target#getTargetName()} instead.
+     */
+    @Deprecated
     public String getTarget() {
         return target;
     }
 
+    /**
+     * Sets the value {@link Target#of(int, TargetType)} copies into the next target it creates. Since the value is
+     * shared by every user of this constant this is not thread safe.
+     *
+     * @deprecated Use {@link Target#of(int, TargetType, String)} or one of the other factories in {@link Target}.
+     */
+    @Deprecated
     public TargetType setTarget(String target) {
-        switch (this) {
-            case ALL:
-                throw new UnsupportedOperationException("Cannot set a target for TargetType.ALL");
-            case DIRECT:
-                this.target = target;
+        if (this == ALL) {
+            throw new UnsupportedOperationException("Cannot set a target for TargetType.ALL");
         }
+
+        this.target = target;
         return this;
     }
-}
\ No newline at end of file
+
+    /**
+     * Checks {@code objectName} against {@code target} the way this type does. Globs are compiled on every call,
+     * {@link Target.ProxyTarget} keeps its compiled glob instead.
+     *
+     * @param target     The name, prefix, package prefix or glob, see {@link Target#getTargetName()}.
+     * @param objectName The name of a class or file.
+     * @return {@code true} if {@code target} applies to {@code objectName}.
+     */
+    public boolean matches(String target, String objectName) {
+        return switch (this) {
+            case ALL -> true;
+            case DIRECT -> target != null && target.equals(objectName);
+            case PREFIX -> target != null && objectName.startsWith(target);
+            case PACKAGE -> target != null && objectName.startsWith(toPackagePrefix(target));
+            case GLOB -> target != null && compileGlob(target).matcher(objectName).matches();
+        };
+    }
+
+    /**
+     * @return {@code packageName} with slashes and a trailing slash, so it can be matched as a prefix.
+     */
+    public static String toPackagePrefix(String packageName) {
+        String prefix = packageName.replace('.', '/');
+        return prefix.isEmpty() || prefix.endsWith("/") ? prefix : prefix + '/';
+    }
+
+    /**
+     * @return Everything in {@code glob} before its first wildcard, every name the glob matches starts with it.
+     */
+    public static String getLiteralPrefix(String glob) {
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c == '*' || c == '?') {
+                return glob.substring(0, i);
+            }
+        }
+        return glob;
+    }
+
+    public static Pattern compileGlob(String glob) {
+        StringBuilder regex = new StringBuilder(glob.length() + 16);
+        int literalStart = 0;
+        for (int i = 0; i < glob.length(); i++) {
+            char c = glob.charAt(i);
+            if (c != '*' && c != '?') {
+                continue;
+            }
+
+            if (literalStart < i) {
+                regex.append(Pattern.quote(glob.substring(literalStart, i)));
+            }
+
+            if (c == '?') {
+                regex.append("[^/]");
+            } else if (i + 1 < glob.length() && glob.charAt(i + 1) == '*') {
+                regex.append(".*");
+                i++;
+            } else {
+                regex.append("[^/]*");
+            }
+            literalStart = i + 1;
+        }
+
+        if (literalStart < glob.length()) {
+            regex.append(Pattern.quote(glob.substring(literalStart)));
+        }
+        return Pattern.compile(regex.toString());
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.trait.clazz;
+
+import org.objectweb.asm.AnnotationVisitor;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.RecordComponentVisitor;
+import org.omnimc.trix.api.asm.Compatibility;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The header of a class as seen by a {@link ClassInterest}, read without building a tree or touching any code.
+ * <p>
+ * Access, super class and interfaces come straight from the {@link ClassReader}. Class annotations are only read
+ * the first time they are asked for, and reading stops as soon as the first field or method is reached.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class ClassInfo {
+
+    private static final int HEADER_FLAGS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    private final ClassReader classReader;
+    private String[] interfaces;
+    private List<String> annotations;
+
+    public ClassInfo(ClassReader classReader) {
+        this.classReader = classReader;
+    }
+
+    public String getName() {
+        return classReader.getClassName();
+    }
+
+    public int getAccess() {
+        return classReader.getAccess();
+    }
+
+    /**
+     * @return The super class, or {@code null} for {@code java/lang/Object} and {@code module-info}.
+     */
+    public String getSuperName() {
+        return classReader.getSuperName();
+    }
+
+    /**
+     * @return The interfaces this class implements directly.
+     */
+    public String[] getInterfaces() {
+        if (interfaces == null) {
+            interfaces = classReader.getInterfaces();
+        }
+        return interfaces.clone();
+    }
+
+    public boolean hasInterface(String interfaceName) {
+        if (interfaces == null) {
+            interfaces = classReader.getInterfaces();
+        }
+
+        for (String anInterface : interfaces) {
+            if (anInterface.equals(interfaceName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @return The descriptors of every annotation on the class itself, visible at runtime or not.
+     */
+    public List<String> getAnnotations() {
+        if (annotations == null) {
+            annotations = readAnnotations(classReader);
+        }
+        return annotations;
+    }
+
+    /**
+     * @param descriptor An annotation descriptor, like {@code Lorg/spongepowered/asm/mixin/Mixin;}.
+     */
+    public boolean hasAnnotation(String descriptor) {
+        return getAnnotations().contains(descriptor);
+    }
+
+    public boolean isInterface() {
+        return (getAccess() & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    private static List<String> readAnnotations(ClassReader classReader) {
+        List<String> annotations = new ArrayList<>(2);
+        try {
+            classReader.accept(new ClassVisitor(Compatibility.ASM_VERSION) {
+                @Override
+                public AnnotationVisitor visitAnnotation(String descriptor, boolean visible) {
+                    annotations.add(descriptor);
+                    return null;
+                }
+
+                @Override
+                public RecordComponentVisitor visitRecordComponent(String name, String descriptor, String signature) {
+                    throw HeaderRead.INSTANCE;
+                }
+
+                @Override
+                public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                    throw HeaderRead.INSTANCE;
+                }
+
+                @Override
+                public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                    throw HeaderRead.INSTANCE;
+                }
+            }, HEADER_FLAGS);
+        } catch (HeaderRead ignored) {
+            // Class annotations always come before the members, nothing after them is needed.
+        }
+        return annotations;
+    }
+
+    /**
+     * Stops a header read early, it carries no stack trace so throwing it costs next to nothing.
+     */
+    private static final class HeaderRead extends RuntimeException {
+
+        private static final long serialVersionUID = 1L;
+
+        private static final HeaderRead INSTANCE = new HeaderRead();
+
+        private HeaderRead() {
+            super(null, null, false, false);
+        }
+    }
+}
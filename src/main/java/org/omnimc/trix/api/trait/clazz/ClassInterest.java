@@ -0,0 +1,84 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.trait.clazz;
+
+import java.util.Objects;
+
+/**
+ * Decides from the header of a class alone whether a {@link ClassTrait} wants to modify it.
+ * <p>
+ * Interests are checked before any tree is built. When none of the traits targeting a class are interested in it,
+ * the class is passed through exactly as it was read.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+@FunctionalInterface
+public interface ClassInterest {
+
+    /**
+     * Interested in every class, the default of every {@link ClassTrait}.
+     */
+    ClassInterest ANY = classInfo -> true;
+
+    /**
+     * @param descriptor An annotation descriptor, like {@code Lorg/spongepowered/asm/mixin/Mixin;}.
+     */
+    static ClassInterest annotatedWith(String descriptor) {
+        Objects.requireNonNull(descriptor, "Descriptor cannot be null.");
+        return classInfo -> classInfo.hasAnnotation(descriptor);
+    }
+
+    /**
+     * @param interfaceName An interface the class must implement directly.
+     */
+    static ClassInterest implementing(String interfaceName) {
+        Objects.requireNonNull(interfaceName, "Interface name cannot be null.");
+        return classInfo -> classInfo.hasInterface(interfaceName);
+    }
+
+    /**
+     * @param superName A class the class must extend directly.
+     */
+    static ClassInterest extending(String superName) {
+        Objects.requireNonNull(superName, "Super name cannot be null.");
+        return classInfo -> superName.equals(classInfo.getSuperName());
+    }
+
+    /**
+     * @param classInfo The header of the class.
+     * @return {@code true} if the trait wants to modify the class.
+     */
+    boolean test(ClassInfo classInfo);
+
+    default ClassInterest and(ClassInterest other) {
+        return classInfo -> test(classInfo) && other.test(classInfo);
+    }
+
+    default ClassInterest or(ClassInterest other) {
+        return classInfo -> test(classInfo) || other.test(classInfo);
+    }
+}
@@ -43,21 +43,40 @@ public interface ClassTrait extends Trait<ClassNode> {
     }
 
     static ClassTrait of(BiFunction<ClassNode, Remapper, ClassNode> modify, Target target) {
-        return new InnerClassTrait(modify, target);
+        return of(modify, target, ClassInterest.ANY);
+    }
+
+    static ClassTrait of(BiFunction<ClassNode, Remapper, ClassNode> modify, Target target, ClassInterest interest) {
+        return new InnerClassTrait(modify, target, interest);
     }
 
     @Override
     ClassNode modify(ClassNode nodeToChange, Remapper remapper);
 
+    /**
+     * Checked against the header of every targeted class before any tree is built, see {@link ClassInterest}.
+     *
+     * @return By default, {@link ClassInterest#ANY}.
+     */
+    default ClassInterest getInterest() {
+        return ClassInterest.ANY;
+    }
+
     @SuppressWarnings("ClassCanBeRecord")
     final class InnerClassTrait implements ClassTrait {
 
         private final BiFunction<ClassNode, Remapper, ClassNode> modify;
         private final Target target;
+        private final ClassInterest interest;
 
         public InnerClassTrait(BiFunction<ClassNode, Remapper, ClassNode> modify, Target target) {
+            this(modify, target, ClassInterest.ANY);
+        }
+
+        public InnerClassTrait(BiFunction<ClassNode, Remapper, ClassNode> modify, Target target, ClassInterest interest) {
             this.modify = modify;
             this.target = target;
+            this.interest = interest;
         }
 
         @Override
@@ -69,6 +88,11 @@ public interface ClassTrait extends Trait<ClassNode> {
         public Target getTarget() {
             return target;
         }
+
+        @Override
+        public ClassInterest getInterest() {
+            return interest;
+        }
     }
 
 }
\ No newline at end of file
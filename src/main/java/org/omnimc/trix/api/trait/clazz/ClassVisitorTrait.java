@@ -0,0 +1,116 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.trait.clazz;
+
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.tree.ClassNode;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.visitor.ChainedClassVisitor;
+
+import java.util.function.Function;
+
+/**
+ * A {@link ClassTrait} written as a {@link ChainedClassVisitor}, for transformations like renames or access changes
+ * that don't need the whole class at once. Existing visitors like
+ * {@link org.omnimc.trix.impl.visitors.mappings.MappingClassVisitor} can be used as they are.
+ * <p>
+ * When every trait targeting a class is a visitor trait, {@link org.omnimc.trix.api.util.TraitUtil} streams the class
+ * from its reader through the visitors straight into the writer, without ever building a {@link ClassNode}. Visitor
+ * traits that run before the first or after the last tree based trait are streamed as well, only the ones in between
+ * fall back to {@link #modify(ClassNode, Remapper)}.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public interface ClassVisitorTrait extends ClassTrait {
+
+    static ClassVisitorTrait of(Function<Remapper, ChainedClassVisitor> createVisitor) {
+        return of(createVisitor, Target.defaultTarget());
+    }
+
+    static ClassVisitorTrait of(Function<Remapper, ChainedClassVisitor> createVisitor, Target target) {
+        return of(createVisitor, target, ClassInterest.ANY);
+    }
+
+    static ClassVisitorTrait of(Function<Remapper, ChainedClassVisitor> createVisitor, Target target, ClassInterest interest) {
+        return new InnerClassVisitorTrait(createVisitor, target, interest);
+    }
+
+    /**
+     * Creates the visitor of this trait for one class, it is chained in front of the visitor leading to the writer
+     * with {@link ChainedClassVisitor#withNext(ClassVisitor)}.
+     * <p>
+     * Called once for every class, a new visitor has to be returned every time since chained visitors usually rewire
+     * themselves in {@link ChainedClassVisitor#withNext(ClassVisitor)}.
+     *
+     * @param remapper An instance of {@link Remapper} provided to hopefully support you.
+     * @return A new visitor, {@link ChainedClassVisitor#withNext(ClassVisitor)} may return {@code next} itself to
+     * leave the class alone.
+     */
+    ChainedClassVisitor createVisitor(Remapper remapper);
+
+    /**
+     * Runs {@link #createVisitor(Remapper)} over {@code nodeToChange}, only used when a tree based trait runs before
+     * and after this one.
+     */
+    @Override
+    default ClassNode modify(ClassNode nodeToChange, Remapper remapper) {
+        ClassNode modifiedNode = new ClassNode();
+        nodeToChange.accept(createVisitor(remapper).withNext(modifiedNode));
+        return modifiedNode;
+    }
+
+    @SuppressWarnings("ClassCanBeRecord")
+    final class InnerClassVisitorTrait implements ClassVisitorTrait {
+
+        private final Function<Remapper, ChainedClassVisitor> createVisitor;
+        private final Target target;
+        private final ClassInterest interest;
+
+        public InnerClassVisitorTrait(Function<Remapper, ChainedClassVisitor> createVisitor, Target target, ClassInterest interest) {
+            this.createVisitor = createVisitor;
+            this.target = target;
+            this.interest = interest;
+        }
+
+        @Override
+        public ChainedClassVisitor createVisitor(Remapper remapper) {
+            return createVisitor.apply(remapper);
+        }
+
+        @Override
+        public Target getTarget() {
+            return target;
+        }
+
+        @Override
+        public ClassInterest getInterest() {
+            return interest;
+        }
+    }
+
+}
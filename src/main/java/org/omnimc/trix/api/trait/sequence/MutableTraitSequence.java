@@ -28,65 +28,202 @@ package org.omnimc.trix.api.trait.sequence;
 import org.omnimc.trix.api.trait.Trait;
 
 import java.lang.reflect.Array;
-import java.util.*;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
 
 /**
+ * A copy on write {@link TraitSequence}.
+ * <p>
+ * Every change publishes a new sorted array, so {@link #getSequence()} is a single volatile read and never allocates
+ * or sorts. New traits are inserted into a copy of the current array instead of sorting it again. Changes are lock
+ * free and safe from any number of threads, concurrent adds all end up in the sequence.
+ * <p>
+ * The array is typed as the trait type given to {@link #MutableTraitSequence(Class)}, which
+ * {@link TraitSequence#createMutableTraitSequence(Trait[])} takes from its arguments. Without one, it is the most
+ * specific {@link Trait} type every trait shares, which may be narrower than {@code T}.
+ *
  * @author <a href=https://github.com/CadenCCC>Caden</a>
  * @since 2.0.0
  */
 public class MutableTraitSequence<T extends Trait<?>> implements TraitSequence<T> {
 
-    private final List<T> traits = new ArrayList<>();
-    private boolean sorted = true;
+    private final AtomicReference<Snapshot<T>> snapshot;
+
+    /**
+     * Creates a sequence that picks the type of its array from the traits added to it, prefer
+     * {@link #MutableTraitSequence(Class)} when {@code T} is known.
+     */
+    public MutableTraitSequence() {
+        this(null);
+    }
+
+    /**
+     * @param componentType The type of the array {@link #getSequence()} returns, usually {@code T} itself, or
+     *                      {@code null} to pick it from the traits that are added.
+     */
+    public MutableTraitSequence(Class<T> componentType) {
+        this.snapshot = new AtomicReference<>(new Snapshot<>(componentType, null));
+    }
 
     @SafeVarargs
     public final void addAll(T... traitsToAdd) {
-        traits.addAll(Arrays.asList(traitsToAdd));
-        sorted = false;
+        List<T> traits = new ArrayList<>(traitsToAdd.length);
+        for (T trait : traitsToAdd) {
+            traits.add(trait);
+        }
+        publish(traits);
     }
 
     public void add(T trait) {
-        traits.add(trait);
-        sorted = false;
+        publish(List.of(trait));
+    }
+
+    private void publish(List<T> traitsToAdd) {
+        if (traitsToAdd.isEmpty()) {
+            return;
+        }
+
+        Snapshot<T> current;
+        Snapshot<T> next;
+        do {
+            current = snapshot.get();
+            next = current.with(traitsToAdd);
+        } while (!snapshot.compareAndSet(current, next));
     }
 
     /**
-     * This method returns a sortedArray (with {@link Comparator#naturalOrder()}) of {@code T}.
-     * <p>
-     * We could do this better, but you can't cast whatever {@code T} is because it's most likely a child of {@code T}.
+     * This method returns a sorted array (with {@link Comparator#naturalOrder()}) of {@code T}.
      * <p>
-     * The decision was made to use {@link System#arraycopy(Object, int, Object, int, int)} because we can trick it to be whatever {@code T} is.
+     * The array is shared by every caller until the next change, it must not be modified.
      *
      * @return A sorted raw array of {@code T}, or {@code null} if it's empty.
      */
     @Override
     public T[] getSequence() {
-        if (!sorted) {
-            traits.sort(Comparator.naturalOrder());
-            sorted = true;
+        return snapshot.get().traits;
+    }
+
+    public int getSize() {
+        T[] traits = snapshot.get().traits;
+        return traits == null ? 0 : traits.length;
+    }
+
+    public void clear() {
+        Snapshot<T> current;
+        do {
+            current = snapshot.get();
+        } while (!snapshot.compareAndSet(current, new Snapshot<>(current.componentType, null)));
+    }
+
+    /**
+     * The sorted traits and the type of their array, swapped out as a whole on every change.
+     */
+    private static final class Snapshot<T extends Trait<?>> {
+
+        private final Class<?> componentType;
+        private final T[] traits;
+
+        private Snapshot(Class<?> componentType, T[] traits) {
+            this.componentType = componentType;
+            this.traits = traits;
         }
 
-        if (traits.isEmpty()) {
-            return null;
+        /**
+         * Merges {@code traitsToAdd} into a copy of the sorted traits. New traits land after existing ones of equal
+         * priority, and after each other in the order they were given.
+         */
+        @SuppressWarnings("unchecked")
+        private Snapshot<T> with(List<T> traitsToAdd) {
+            Class<?> type = componentType;
+            for (T trait : traitsToAdd) {
+                type = type == null ? trait.getClass() : commonType(type, trait.getClass());
+            }
+
+            int length = traits == null ? 0 : traits.length;
+            T[] merged = (T[]) Array.newInstance(type, length + traitsToAdd.size());
+
+            if (traitsToAdd.size() == 1) {
+                T trait = traitsToAdd.get(0);
+                int index = insertionPoint(trait);
+                if (traits != null) {
+                    System.arraycopy(traits, 0, merged, 0, index);
+                    System.arraycopy(traits, index, merged, index + 1, length - index);
+                }
+                merged[index] = trait;
+                return new Snapshot<>(type, merged);
+            }
+
+            List<T> sortedToAdd = new ArrayList<>(traitsToAdd);
+            sortedToAdd.sort(Comparator.naturalOrder());
+
+            int existing = 0;
+            int added = 0;
+            for (int i = 0; i < merged.length; i++) {
+                if (added == sortedToAdd.size() || (existing < length && compare(traits[existing], sortedToAdd.get(added)) <= 0)) {
+                    merged[i] = traits[existing++];
+                } else {
+                    merged[i] = sortedToAdd.get(added++);
+                }
+            }
+            return new Snapshot<>(type, merged);
         }
 
-        // This is ugly I know, but we can't really help it.
-        T firstTrait = traits.getFirst();
+        /**
+         * @return The index after every trait that sorts before or equal to {@code trait}.
+         */
+        private int insertionPoint(T trait) {
+            int low = 0;
+            int high = traits == null ? 0 : traits.length;
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (compare(traits[middle], trait) <= 0) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
 
-        @SuppressWarnings("unchecked")
-        T[] newArray = (T[]) Array.newInstance(firstTrait.getClass(), traits.size());
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static int compare(Trait<?> first, Trait<?> second) {
+            return ((Comparable) first).compareTo(second);
+        }
 
-        //noinspection SuspiciousSystemArraycopy
-        System.arraycopy(traits.toArray(), 0, newArray, 0, traits.size());
-        return newArray;
-    }
+        /**
+         * @return {@code type} if {@code other} fits in it, otherwise the most specific {@link Trait} super type of
+         * {@code type} that {@code other} also extends or implements. Shared types outside of {@link Trait}, like
+         * {@link java.io.Serializable}, are never picked since the array has to hold traits.
+         */
+        private static Class<?> commonType(Class<?> type, Class<?> other) {
+            if (type.isAssignableFrom(other)) {
+                return type;
+            }
 
-    public int getSize() {
-        return traits.size();
-    }
+            Set<Class<?>> visited = new HashSet<>();
+            ArrayDeque<Class<?>> queue = new ArrayDeque<>();
+            queue.add(type);
+            while (!queue.isEmpty()) {
+                Class<?> candidate = queue.poll();
+                if (Trait.class.isAssignableFrom(candidate) && candidate.isAssignableFrom(other)) {
+                    return candidate;
+                }
 
-    public void clear() {
-        traits.clear();
-        sorted = true;
+                if (candidate.getSuperclass() != null && visited.add(candidate.getSuperclass())) {
+                    queue.add(candidate.getSuperclass());
+                }
+                for (Class<?> anInterface : candidate.getInterfaces()) {
+                    if (visited.add(anInterface)) {
+                        queue.add(anInterface);
+                    }
+                }
+            }
+            return Trait.class;
+        }
     }
-}
\ No newline at end of file
+}
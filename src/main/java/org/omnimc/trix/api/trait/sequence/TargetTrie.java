@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.trait.sequence;
+
+import org.omnimc.trix.api.trait.TargetType;
+
+import java.util.Arrays;
+import java.util.regex.Pattern;
+
+/**
+ * A character trie over {@link TargetType#PREFIX}, {@link TargetType#PACKAGE} and {@link TargetType#GLOB} targets.
+ * <p>
+ * Prefixes end at their own node. Globs are stored at the node of their literal prefix, see
+ * {@link TargetType#getLiteralPrefix(String)}, and only checked against names that reach that node. Finding every
+ * match for a name walks the trie once along the name, so it costs time proportional to the name's length plus the
+ * globs that share its prefix, not to the number of targets.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+final class TargetTrie {
+
+    private static final int[] NO_INDEXES = new int[0];
+
+    private final Node root = new Node();
+    private int size;
+
+    /**
+     * @param prefix The prefix a name must start with.
+     * @param index  The position of the trait in its sequence.
+     */
+    void addPrefix(String prefix, int index) {
+        Node node = getOrCreate(prefix);
+        node.prefixIndexes = append(node.prefixIndexes, index);
+        size++;
+    }
+
+    void addGlob(String glob, int index) {
+        Node node = getOrCreate(TargetType.getLiteralPrefix(glob));
+        node.globPatterns = Arrays.copyOf(node.globPatterns, node.globPatterns.length + 1);
+        node.globPatterns[node.globPatterns.length - 1] = TargetType.compileGlob(glob);
+        node.globIndexes = append(node.globIndexes, index);
+        size++;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return The sorted positions of every target matching {@code name}, empty if none do.
+     */
+    int[] match(String name) {
+        int[] matches = NO_INDEXES;
+        Node node = root;
+        int depth = 0;
+        while (node != null) {
+            matches = collect(node, name, matches);
+            if (depth == name.length()) {
+                break;
+            }
+            node = node.getChild(name.charAt(depth++));
+        }
+
+        if (matches.length > 1) {
+            Arrays.sort(matches);
+        }
+        return matches;
+    }
+
+    private static int[] collect(Node node, String name, int[] matches) {
+        for (int index : node.prefixIndexes) {
+            matches = append(matches, index);
+        }
+
+        for (int i = 0; i < node.globPatterns.length; i++) {
+            if (node.globPatterns[i].matcher(name).matches()) {
+                matches = append(matches, node.globIndexes[i]);
+            }
+        }
+        return matches;
+    }
+
+    private Node getOrCreate(String key) {
+        Node node = root;
+        for (int i = 0; i < key.length(); i++) {
+            node = node.getOrCreateChild(key.charAt(i));
+        }
+        return node;
+    }
+
+    private static int[] append(int[] array, int value) {
+        int[] appended = Arrays.copyOf(array, array.length + 1);
+        appended[array.length] = value;
+        return appended;
+    }
+
+    private static final class Node {
+
+        private char[] keys = new char[0];
+        private Node[] children = new Node[0];
+        private int[] prefixIndexes = NO_INDEXES;
+        private Pattern[] globPatterns = new Pattern[0];
+        private int[] globIndexes = NO_INDEXES;
+
+        private Node getChild(char key) {
+            for (int i = 0; i < keys.length; i++) {
+                if (keys[i] == key) {
+                    return children[i];
+                }
+            }
+            return null;
+        }
+
+        private Node getOrCreateChild(char key) {
+            Node child = getChild(key);
+            if (child == null) {
+                child = new Node();
+                keys = Arrays.copyOf(keys, keys.length + 1);
+                keys[keys.length - 1] = key;
+                children = Arrays.copyOf(children, children.length + 1);
+                children[children.length - 1] = child;
+            }
+            return child;
+        }
+    }
+}
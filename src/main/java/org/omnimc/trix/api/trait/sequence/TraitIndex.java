@@ -0,0 +1,187 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.trait.sequence;
+
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.TargetType;
+import org.omnimc.trix.api.trait.Trait;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A {@link TraitSequence} compiled for dispatch, finding the traits that apply to a name takes a single lookup
+ * instead of checking every trait.
+ * <p>
+ * Every {@link TargetType#DIRECT} name maps to its own traits merged with the traits that apply to everything, in
+ * the same order {@link #getSequence()} has them. Names nothing targets directly share one array of the traits that
+ * apply to everything.
+ * <p>
+ * {@link TargetType#PREFIX}, {@link TargetType#PACKAGE} and {@link TargetType#GLOB} targets are compiled into a
+ * {@link TargetTrie}, so names they match are found in time proportional to the length of the name. Only those names
+ * get a freshly merged array.
+ * <p>
+ * An index is a snapshot, later changes to the sequence it was compiled from are not reflected.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class TraitIndex<T extends Trait<?>> implements TraitSequence<T> {
+
+    private final T[] sequence;
+    private final T[] allTraits;
+    private final Map<String, T[]> directTraits;
+    private final TargetTrie patternTraits;
+    private final int[] allPositions;
+    private final Map<String, int[]> directPositions;
+
+    private TraitIndex(T[] sequence, T[] allTraits, Map<String, T[]> directTraits, TargetTrie patternTraits,
+                       int[] allPositions, Map<String, int[]> directPositions) {
+        this.sequence = sequence;
+        this.allTraits = allTraits;
+        this.directTraits = directTraits;
+        this.patternTraits = patternTraits;
+        this.allPositions = allPositions;
+        this.directPositions = directPositions;
+    }
+
+    /**
+     * @param sequence The sequence to compile, may be {@code null}.
+     * @return An index over the current traits of {@code sequence}, or {@code sequence} itself if it already is one.
+     */
+    public static <T extends Trait<?>> TraitIndex<T> compile(TraitSequence<T> sequence) {
+        if (sequence instanceof TraitIndex<T> index) {
+            return index;
+        }
+
+        T[] traits = sequence == null ? null : sequence.getSequence();
+        if (traits == null || traits.length == 0) {
+            return new TraitIndex<>(null, null, Map.of(), null, null, Map.of());
+        }
+
+        List<Integer> allIndexes = new ArrayList<>();
+        Map<String, List<Integer>> directIndexes = new HashMap<>();
+        TargetTrie patternTraits = new TargetTrie();
+        for (int i = 0; i < traits.length; i++) {
+            Target target = traits[i].getTarget();
+            String targetName = target.getTargetName();
+            switch (target.getTargetType()) {
+                case DIRECT -> directIndexes.computeIfAbsent(targetName, ignored -> new ArrayList<>()).add(i);
+                case PREFIX -> patternTraits.addPrefix(targetName, i);
+                case PACKAGE -> patternTraits.addPrefix(TargetType.toPackagePrefix(targetName), i);
+                case GLOB -> patternTraits.addGlob(targetName, i);
+                default -> allIndexes.add(i);
+            }
+        }
+
+        int[] allPositions = toArray(allIndexes);
+        Map<String, T[]> directTraits = new HashMap<>((int) (directIndexes.size() / 0.75f) + 1);
+        Map<String, int[]> directPositions = new HashMap<>((int) (directIndexes.size() / 0.75f) + 1);
+        for (Map.Entry<String, List<Integer>> entry : directIndexes.entrySet()) {
+            int[] positions = mergePositions(toArray(entry.getValue()), allPositions);
+            directPositions.put(entry.getKey(), positions);
+            directTraits.put(entry.getKey(), select(traits, positions));
+        }
+
+        T[] allTraits = allPositions.length == 0 ? null : select(traits, allPositions);
+        return new TraitIndex<>(traits.clone(), allTraits, directTraits, patternTraits.isEmpty() ? null : patternTraits,
+                                allPositions, directPositions);
+    }
+
+    /**
+     * The returned array is shared, it must not be modified.
+     *
+     * @param name The name of a class or file.
+     * @return Every trait that applies to {@code name} in sequence order, or {@code null} if there are none.
+     */
+    public T[] getTraits(String name) {
+        T[] traits = directTraits.getOrDefault(name, allTraits);
+        if (patternTraits == null) {
+            return traits;
+        }
+
+        int[] matches = patternTraits.match(name);
+        if (matches.length == 0) {
+            return traits;
+        }
+
+        return select(sequence, mergePositions(directPositions.getOrDefault(name, allPositions), matches));
+    }
+
+    @Override
+    public T[] getSequence() {
+        return sequence == null ? null : sequence.clone();
+    }
+
+    public int getDirectTargetCount() {
+        return directTraits.size();
+    }
+
+    @Override
+    public String toString() {
+        return "TraitIndex{traits=" + (sequence == null ? 0 : sequence.length) +
+                ", directTargets=" + directTraits.size() +
+                ", allTraits=" + (allTraits == null ? 0 : allTraits.length) +
+                '}';
+    }
+
+    /**
+     * Both lists are ascending, so merging them keeps the order of the sequence.
+     */
+    private static int[] mergePositions(int[] first, int[] second) {
+        int[] merged = new int[first.length + second.length];
+        int i = 0;
+        int j = 0;
+        int k = 0;
+        while (i < first.length || j < second.length) {
+            if (j == second.length || (i < first.length && first[i] < second[j])) {
+                merged[k++] = first[i++];
+            } else {
+                merged[k++] = second[j++];
+            }
+        }
+        return merged;
+    }
+
+    private static <T> T[] select(T[] traits, int[] positions) {
+        T[] selected = Arrays.copyOf(traits, positions.length);
+        for (int i = 0; i < positions.length; i++) {
+            selected[i] = traits[positions[i]];
+        }
+        return selected;
+    }
+
+    private static int[] toArray(List<Integer> list) {
+        int[] array = new int[list.size()];
+        for (int i = 0; i < array.length; i++) {
+            array[i] = list.get(i);
+        }
+        return array;
+    }
+}
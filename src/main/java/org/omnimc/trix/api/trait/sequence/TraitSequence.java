@@ -59,9 +59,13 @@ public interface TraitSequence<T extends Trait<?>> {
         return () -> (T[]) array;
     }
 
+    /**
+     * The sequence's array is typed like {@code traits}, which is {@code T} as the compiler sees it.
+     */
     @SafeVarargs
+    @SuppressWarnings("unchecked")
     static <T extends Trait<?>> MutableTraitSequence<T> createMutableTraitSequence(T... traits) {
-        MutableTraitSequence<T> mutableTraits = new MutableTraitSequence<>();
+        MutableTraitSequence<T> mutableTraits = new MutableTraitSequence<>((Class<T>) traits.getClass().getComponentType());
         mutableTraits.addAll(traits);
         return mutableTraits;
     }
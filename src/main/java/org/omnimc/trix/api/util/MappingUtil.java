@@ -0,0 +1,69 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.api.util;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.omnimc.trix.api.TrixRemapper;
+import org.omnimc.trix.api.asm.ConstantPoolScanner;
+import org.omnimc.trix.impl.visitors.mappings.MappingClassVisitor;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class MappingUtil {
+
+    /**
+     * Remaps a class with {@link MappingClassVisitor}.
+     * <p>
+     * The constant pool is scanned first, and if none of the classes it references are mapped, the original
+     * {@code classBytes} are returned as they are without parsing or writing the class.
+     *
+     * @param classBytes The class file to remap.
+     * @param remapper   The remapper to use.
+     * @return The remapped class file, or {@code classBytes} itself if nothing in it is mapped.
+     */
+    public static byte[] remapClass(byte[] classBytes, TrixRemapper remapper) {
+        if (!needsRemapping(classBytes, remapper)) {
+            return classBytes;
+        }
+
+        ClassReader classReader = new ClassReader(classBytes);
+        ClassWriter classWriter = new ClassWriter(0);
+        classReader.accept(new MappingClassVisitor(classWriter, remapper), 0);
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * @param classBytes The class file to check.
+     * @param remapper   The remapper whose mappings are checked.
+     * @return {@code true} if any class referenced by {@code classBytes} is mapped by {@code remapper}.
+     */
+    public static boolean needsRemapping(byte[] classBytes, TrixRemapper remapper) {
+        return ConstantPoolScanner.referencesAny(classBytes, remapper::containsClass);
+    }
+}
@@ -26,57 +26,351 @@
 package org.omnimc.trix.api.util;
 
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
 import org.objectweb.asm.ClassWriter;
 import org.objectweb.asm.commons.Remapper;
 import org.objectweb.asm.tree.ClassNode;
+import org.omnimc.trix.api.asm.ClassWriterFactory;
+import org.omnimc.trix.api.metrics.Phase;
+import org.omnimc.trix.api.metrics.TraitMetrics;
 import org.omnimc.trix.api.trait.Target;
-import org.omnimc.trix.api.trait.TargetType;
 import org.omnimc.trix.api.trait.Trait;
+import org.omnimc.trix.api.trait.clazz.ClassInfo;
+import org.omnimc.trix.api.trait.clazz.ClassInterest;
 import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.clazz.ClassVisitorTrait;
 import org.omnimc.trix.api.trait.resource.FileTrait;
+import org.omnimc.trix.api.trait.sequence.TraitIndex;
 import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.api.visitor.ChainedClassVisitor;
 
 import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
-import java.util.Objects;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
+ * Applies {@link Trait}s to classes and files.
+ * <p>
+ * Every method here keeps no state of its own and can be called from many threads at once, as long as the traits,
+ * the {@link Remapper} and the {@link TraitSequence} handed to it are safe to share. {@link Target}s created through
+ * its factories and {@link TraitIndex} are immutable, and a {@link org.omnimc.trix.api.trait.sequence.MutableTraitSequence}
+ * may be changed while in use.
+ *
  * @author <a href=https://github.com/CadenCCC>Caden</a>
  * @since 2.0.0
  */
 public final class TraitUtil {
 
     public static byte[] applyFileTraits(String fileName, byte[] fileBytes, Remapper remapper, TraitSequence<? extends FileTrait> sequence) {
-        return modifyTrait(fileName, sequence, fileBytes, remapper);
+        return applyFileTraits(fileName, fileBytes, remapper, sequence, null);
     }
 
-    public static byte[] applyClassTraits(String className, URL classURL, Remapper remapper, TraitSequence<? extends ClassTrait> sequence) {
-        try {
-            ClassReader classReader = new ClassReader(classURL.openStream());
-            ClassNode masterNode = new ClassNode();
-            classReader.accept(masterNode, 0);
+    /**
+     * @param metrics Where the time spent on this file and each of its traits is recorded, or {@code null} to not
+     *                measure anything.
+     */
+    public static byte[] applyFileTraits(String fileName, byte[] fileBytes, Remapper remapper, TraitSequence<? extends FileTrait> sequence, TraitMetrics metrics) {
+        if (metrics == null) {
+            return modifyTrait(fileName, sequence, fileBytes, remapper, null);
+        }
 
-            ClassNode classNode = modifyTrait(className, sequence, masterNode, remapper);
+        long startNanos = System.nanoTime();
+        long startAllocated = metrics.currentAllocatedBytes();
+        byte[] transformed = modifyTrait(fileName, sequence, fileBytes, remapper, metrics);
+        metrics.recordPhase(Phase.TRANSFORM, startNanos, startAllocated, fileBytes.length, transformed.length);
+        return transformed;
+    }
 
-            ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
-            classNode.accept(classWriter);
-            return classWriter.toByteArray();
+    public static byte[] applyClassTraits(String className, URL classURL, Remapper remapper, TraitSequence<? extends ClassTrait> sequence) {
+        try (InputStream classStream = classURL.openStream()) {
+            return applyClassTraits(className, classStream.readAllBytes(), remapper, sequence);
         } catch (IOException e) {
             throw new RuntimeException("Failed to apply Trait!!", e);
         }
     }
 
-    private static <E, T extends Trait<E>> E modifyTrait(String objectName, TraitSequence<T> sequence, E modify, Remapper remapper) {
-        for (T traitObject : sequence.getSequence()) {
-            Target target = traitObject.getTarget();
-            TargetType targetType = target.getTargetType();
-            if (targetType.equals(TargetType.DIRECT) && !Objects.equals(targetType.getTarget(), objectName)) {
+    /**
+     * @return The transformed bytes, or {@code classBytes} itself if no trait targets the class or is interested in
+     * it, see {@link ClassInterest}.
+     */
+    public static byte[] applyClassTraits(String className, byte[] classBytes, Remapper remapper, TraitSequence<? extends ClassTrait> sequence) {
+        return applyClassTraits(className, classBytes, remapper, sequence, ClassWriterFactory.DEFAULT);
+    }
+
+    /**
+     * Applies class traits to the remaining bytes of {@code classBuffer}, its position is left untouched.
+     * <p>
+     * Heap buffers are read in place, direct and memory mapped buffers are copied once since {@link ClassReader}
+     * only reads from arrays.
+     */
+    public static byte[] applyClassTraits(String className, ByteBuffer classBuffer, Remapper remapper, TraitSequence<? extends ClassTrait> sequence) {
+        if (!classBuffer.hasArray()) {
+            byte[] classBytes = new byte[classBuffer.remaining()];
+            classBuffer.duplicate().get(classBytes);
+            return applyClassTraits(className, classBytes, remapper, sequence);
+        }
+
+        int offset = classBuffer.arrayOffset() + classBuffer.position();
+        ClassReader classReader = new ClassReader(classBuffer.array(), offset, classBuffer.remaining());
+        byte[] transformed = applyClassTraits(className, classReader, classBuffer.remaining(), remapper, sequence, ClassWriterFactory.DEFAULT, null);
+        return transformed != null ? transformed : Arrays.copyOfRange(classBuffer.array(), offset, offset + classBuffer.remaining());
+    }
+
+    /**
+     * Applies class traits to every class in {@code classes}.
+     *
+     * @param classes The bytes of every class, keyed by internal class name.
+     * @return The transformed bytes, keyed and ordered like {@code classes}.
+     */
+    public static Map<String, byte[]> applyClassTraits(Map<String, byte[]> classes, Remapper remapper, TraitSequence<? extends ClassTrait> sequence) {
+        Map<String, byte[]> transformed = new LinkedHashMap<>(Math.max(16, (int) (classes.size() / 0.75f) + 1));
+        for (Map.Entry<String, byte[]> entry : classes.entrySet()) {
+            transformed.put(entry.getKey(), applyClassTraits(entry.getKey(), entry.getValue(), remapper, sequence));
+        }
+        return transformed;
+    }
+
+    /**
+     * Applies class traits and writes the result with a writer from {@code writerFactory}, for example
+     * {@link ClassWriterFactory#COPY_THROUGH} to reuse the constant pool of the original class.
+     */
+    public static byte[] applyClassTraits(String className, byte[] classBytes, Remapper remapper, TraitSequence<? extends ClassTrait> sequence, ClassWriterFactory writerFactory) {
+        return applyClassTraits(className, classBytes, remapper, sequence, writerFactory, null);
+    }
+
+    /**
+     * @param metrics Where the time spent on this class and each of its traits is recorded, or {@code null} to not
+     *                measure anything.
+     */
+    public static byte[] applyClassTraits(String className, byte[] classBytes, Remapper remapper, TraitSequence<? extends ClassTrait> sequence, ClassWriterFactory writerFactory, TraitMetrics metrics) {
+        byte[] transformed = applyClassTraits(className, new ClassReader(classBytes), classBytes.length, remapper, sequence, writerFactory, metrics);
+        return transformed != null ? transformed : classBytes;
+    }
+
+    /**
+     * Streams a class through {@code visitors} straight into a writer from {@code writerFactory}, no
+     * {@link ClassNode} is built.
+     * <p>
+     * Together with {@link ClassWriterFactory#COPY_THROUGH} every method that none of the visitors change is
+     * copied byte for byte.
+     *
+     * @param visitors The visitors in the order they see the class, the first one is handed the class first.
+     * @return The transformed bytes.
+     */
+    public static byte[] applyClassVisitors(byte[] classBytes, ClassWriterFactory writerFactory, ChainedClassVisitor... visitors) {
+        ClassReader classReader = new ClassReader(classBytes);
+        ClassWriter classWriter = writerFactory.create(classReader);
+
+        ClassVisitor chain = classWriter;
+        for (int i = visitors.length - 1; i >= 0; i--) {
+            chain = visitors[i].withNext(chain);
+        }
+
+        classReader.accept(chain, 0);
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * Visitor traits before the first tree based trait run while the {@link ClassNode} is read, and the ones after
+     * the last run while it is written. Without any tree based trait no {@link ClassNode} is built at all.
+     *
+     * @return The transformed bytes, or {@code null} if no trait wants to modify the class.
+     */
+    private static byte[] applyClassTraits(String className, ClassReader classReader, int classLength, Remapper remapper, TraitSequence<? extends ClassTrait> sequence, ClassWriterFactory writerFactory, TraitMetrics metrics) {
+        List<ClassTrait> traits = getInterestedTraits(classReader, getTargetingTraits(className, sequence));
+        if (traits.isEmpty()) {
+            return null;
+        }
+
+        int firstTreeTrait = 0;
+        while (firstTreeTrait < traits.size() && traits.get(firstTreeTrait) instanceof ClassVisitorTrait) {
+            firstTreeTrait++;
+        }
+
+        long startNanos = metrics == null ? 0 : System.nanoTime();
+        long startAllocated = metrics == null ? 0 : metrics.currentAllocatedBytes();
+
+        ClassWriter classWriter = writerFactory.create(classReader);
+        if (firstTreeTrait == traits.size()) {
+            classReader.accept(chainVisitorTraits(traits, 0, traits.size(), classWriter, remapper), 0);
+            byte[] transformed = classWriter.toByteArray();
+            if (metrics != null) {
+                metrics.recordPhase(Phase.STREAM, startNanos, startAllocated, classLength, transformed.length);
+            }
+            return transformed;
+        }
+
+        int lastTreeTrait = traits.size() - 1;
+        while (traits.get(lastTreeTrait) instanceof ClassVisitorTrait) {
+            lastTreeTrait--;
+        }
+
+        ClassNode classNode = new ClassNode();
+        classReader.accept(chainVisitorTraits(traits, 0, firstTreeTrait, classNode, remapper), 0);
+
+        if (metrics != null) {
+            metrics.recordPhase(Phase.READ, startNanos, startAllocated, classLength, 0);
+            startNanos = System.nanoTime();
+            startAllocated = metrics.currentAllocatedBytes();
+        }
+
+        for (int i = firstTreeTrait; i <= lastTreeTrait; i++) {
+            classNode = applyTrait(metrics, traits.get(i), classNode, remapper);
+        }
+
+        if (metrics != null) {
+            metrics.recordPhase(Phase.TRANSFORM, startNanos, startAllocated);
+            startNanos = System.nanoTime();
+            startAllocated = metrics.currentAllocatedBytes();
+        }
+
+        classNode.accept(chainVisitorTraits(traits, lastTreeTrait + 1, traits.size(), classWriter, remapper));
+        byte[] transformed = classWriter.toByteArray();
+        if (metrics != null) {
+            metrics.recordPhase(Phase.WRITE, startNanos, startAllocated, 0, transformed.length);
+        }
+        return transformed;
+    }
+
+    /**
+     * Runs a single trait, recording it into {@code metrics} if there are any. Sizes are only recorded for file
+     * traits, a tree has none.
+     */
+    private static <E> E applyTrait(TraitMetrics metrics, Trait<E> trait, E modify, Remapper remapper) {
+        if (metrics == null) {
+            return trait.modify(modify, remapper);
+        }
+
+        long startNanos = System.nanoTime();
+        long startAllocated = metrics.currentAllocatedBytes();
+        E modified = trait.modify(modify, remapper);
+        if (modify instanceof byte[] bytesIn && modified instanceof byte[] bytesOut) {
+            metrics.recordTrait(trait, startNanos, startAllocated, bytesIn.length, bytesOut.length);
+        } else {
+            metrics.recordTrait(trait, startNanos, startAllocated);
+        }
+        return modified;
+    }
+
+    private static ClassVisitor chainVisitorTraits(List<ClassTrait> traits, int from, int to, ClassVisitor last, Remapper remapper) {
+        ClassVisitor chain = last;
+        for (int i = to - 1; i >= from; i--) {
+            chain = ((ClassVisitorTrait) traits.get(i)).createVisitor(remapper).withNext(chain);
+        }
+        return chain;
+    }
+
+    /**
+     * Checks every {@link ClassInterest} against the header of the class, which is only read if some trait isn't
+     * interested in everything.
+     */
+    private static List<ClassTrait> getInterestedTraits(ClassReader classReader, List<ClassTrait> traits) {
+        ClassInfo classInfo = null;
+        List<ClassTrait> interested = null;
+        for (int i = 0; i < traits.size(); i++) {
+            ClassTrait trait = traits.get(i);
+            ClassInterest interest = trait.getInterest();
+            if (interest != null && interest != ClassInterest.ANY) {
+                if (classInfo == null) {
+                    classInfo = new ClassInfo(classReader);
+                }
+
+                if (!interest.test(classInfo)) {
+                    if (interested == null) {
+                        interested = new ArrayList<>(traits.subList(0, i));
+                    }
+                    continue;
+                }
+            }
+
+            if (interested != null) {
+                interested.add(trait);
+            }
+        }
+        return interested == null ? traits : interested;
+    }
+
+    private static List<ClassTrait> getTargetingTraits(String className, TraitSequence<? extends ClassTrait> sequence) {
+        if (sequence instanceof TraitIndex<? extends ClassTrait> index) {
+            ClassTrait[] traits = index.getTraits(className);
+            return traits == null ? List.of() : Arrays.asList(traits);
+        }
+
+        ClassTrait[] traits = sequence == null ? null : sequence.getSequence();
+        if (traits == null) {
+            return List.of();
+        }
+
+        List<ClassTrait> targeting = new ArrayList<>(traits.length);
+        for (ClassTrait trait : traits) {
+            if (isTargeting(trait.getTarget(), className)) {
+                targeting.add(trait);
+            }
+        }
+        return targeting;
+    }
+
+    private static <E, T extends Trait<E>> E modifyTrait(String objectName, TraitSequence<T> sequence, E modify, Remapper remapper, TraitMetrics metrics) {
+        if (sequence instanceof TraitIndex<T> index) {
+            T[] traits = index.getTraits(objectName);
+            if (traits != null) {
+                for (T traitObject : traits) {
+                    modify = applyTrait(metrics, traitObject, modify, remapper);
+                }
+            }
+            return modify;
+        }
+
+        T[] traits = sequence.getSequence();
+        if (traits == null) {
+            return modify;
+        }
+
+        for (T traitObject : traits) {
+            if (!isTargeting(traitObject.getTarget(), objectName)) {
                 continue;
             }
 
-            modify = traitObject.modify(modify, remapper);
+            modify = applyTrait(metrics, traitObject, modify, remapper);
         }
         return modify;
     }
 
+    /**
+     * @param objectName The name of a class or file.
+     * @param sequence   The traits to check, may be {@code null}.
+     * @return {@code true} if at least one trait in {@code sequence} would be applied to {@code objectName}.
+     */
+    public static boolean isTargeted(String objectName, TraitSequence<?> sequence) {
+        if (sequence == null) {
+            return false;
+        }
+
+        if (sequence instanceof TraitIndex<?> index) {
+            return index.getTraits(objectName) != null;
+        }
+
+        Trait<?>[] traits = sequence.getSequence();
+        if (traits == null) {
+            return false;
+        }
+
+        for (Trait<?> trait : traits) {
+            if (isTargeting(trait.getTarget(), objectName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean isTargeting(Target target, String objectName) {
+        return target.matches(objectName);
+    }
+
 }
\ No newline at end of file
@@ -27,26 +27,25 @@ package org.omnimc.trix.impl.access;
 
 import org.omnimc.trix.api.access.info.ClassAccess;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
+ * Keeps the access changes waiting to be applied, keyed by class name.
+ * <p>
+ * Safe to use from several threads at once, so classes can be transformed in parallel.
+ *
  * @author <a href=https://github.com/CadenCCC>Caden</a>
  * @since 2.0.0
  */
 public final class AccessManager {
 
-    private static AccessManager INSTANCE;
-
     public static AccessManager getInstance() {
-        if (INSTANCE == null) {
-            INSTANCE = new AccessManager();
-        }
-        return INSTANCE;
+        return Holder.INSTANCE;
     }
 
-    private final Map<String, ClassAccess> classAccess = new HashMap<>();
-    private final Map<String, ClassAccess> removedClassAccess = new HashMap<>();
+    private final Map<String, ClassAccess> classAccess = new ConcurrentHashMap<>();
+    private final Map<String, ClassAccess> removedClassAccess = new ConcurrentHashMap<>();
 
     private AccessManager() {
     }
@@ -64,13 +63,10 @@ public final class AccessManager {
             return;
         }
 
-        if (classAccess.containsKey(className)) {
-            ClassAccess originalAccess = classAccess.get(className);
-            originalAccess.setAccess(access.getAccess());
-            access = originalAccess;
-        }
-
-        classAccess.put(className, access);
+        classAccess.merge(className, access, (originalAccess, newAccess) -> {
+            originalAccess.setAccess(newAccess.getAccess());
+            return originalAccess;
+        });
     }
 
     public ClassAccess getClassAccess(String className) {
@@ -78,17 +74,22 @@ public final class AccessManager {
     }
 
     public void removeAccess(String className) {
-        removedClassAccess.put(className, classAccess.get(className));
-        classAccess.remove(className);
+        ClassAccess access = classAccess.remove(className);
+        removedClassAccess.put(className, access == null ? new ClassAccess() : access);
     }
 
     public void removeAccess(ClassAccess access) {
-        classAccess.entrySet()
-                .stream()
-                .filter(entry -> entry.getValue() == access)
-                .forEach(entry -> {
-                    classAccess.remove(entry.getKey());
-                    removedClassAccess.put(entry.getKey(), entry.getValue());
-                });
+        classAccess.entrySet().removeIf(entry -> {
+            if (entry.getValue() != access) {
+                return false;
+            }
+
+            removedClassAccess.put(entry.getKey(), entry.getValue());
+            return true;
+        });
+    }
+
+    private static final class Holder {
+        private static final AccessManager INSTANCE = new AccessManager();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,94 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.objectweb.asm.Opcodes;
+
+import java.util.Arrays;
+
+/**
+ * The access, super class and interfaces of a class, the only parts of a class needed to reason about its place in
+ * the hierarchy.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class ClassHeader {
+
+    private static final String[] NO_INTERFACES = new String[0];
+
+    private final String name;
+    private final int access;
+    private final String superName;
+    private final String[] interfaces;
+
+    public ClassHeader(String name, int access, String superName, String[] interfaces) {
+        this.name = name;
+        this.access = access;
+        this.superName = superName;
+        this.interfaces = interfaces == null || interfaces.length == 0 ? NO_INTERFACES : interfaces.clone();
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getAccess() {
+        return access;
+    }
+
+    /**
+     * @return The super class, or {@code null} for {@code java/lang/Object} and {@code module-info}.
+     */
+    public String getSuperName() {
+        return superName;
+    }
+
+    public String[] getInterfaces() {
+        return interfaces.clone();
+    }
+
+    public int getInterfaceCount() {
+        return interfaces.length;
+    }
+
+    public String getInterface(int index) {
+        return interfaces[index];
+    }
+
+    public boolean isInterface() {
+        return (access & Opcodes.ACC_INTERFACE) != 0;
+    }
+
+    @Override
+    public String toString() {
+        return "ClassHeader{name='" + name + '\'' +
+                ", access=" + access +
+                ", superName='" + superName + '\'' +
+                ", interfaces=" + Arrays.toString(interfaces) +
+                '}';
+    }
+}
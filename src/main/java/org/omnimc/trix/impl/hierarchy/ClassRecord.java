@@ -0,0 +1,150 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.commons.Remapper;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.api.asm.Compatibility;
+import org.omnimc.trix.impl.visitors.hierarchy.HierarchyClassVisitor;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Everything {@link HierarchyClassVisitor} records about a class, with every name already remapped.
+ * <p>
+ * Names are remapped exactly like {@link HierarchyClassVisitor} does while the class is read, so adding a record to a
+ * {@link HierarchyManager} gives the same result as visiting the class it was read from without touching the
+ * remapper again. This lets {@link HierarchyIndex} store records instead of class files.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+final class ClassRecord {
+
+    final ClassHeader header;
+    final String mappedName;
+    final Member[] fields;
+    final Member[] methods;
+
+    ClassRecord(ClassHeader header, String mappedName, Member[] fields, Member[] methods) {
+        this.header = header;
+        this.mappedName = mappedName;
+        this.fields = fields;
+        this.methods = methods;
+    }
+
+    static ClassRecord read(byte[] classBytes, Remapper remapper) {
+        RecordingVisitor recorder = new RecordingVisitor(remapper);
+        new ClassReader(classBytes).accept(recorder, HierarchyScanner.PARSING_OPTIONS);
+        return new ClassRecord(recorder.header, recorder.mappedName, recorder.fields.toArray(Member[]::new),
+                               recorder.methods.toArray(Member[]::new));
+    }
+
+    void addTo(HierarchyManager hierarchyManager) {
+        hierarchyManager.addClassHeader(header);
+
+        ClassData classData = new ClassData(mappedName);
+        classData.addDependentClass(header.getSuperName());
+        for (int i = 0; i < header.getInterfaceCount(); i++) {
+            classData.addDependentClass(header.getInterface(i));
+        }
+
+        for (Member field : fields) {
+            if (Modifier.isPrivate(field.access)) {
+                classData.addPrivateField(field.name, field.mappedName, field.mappedDescriptor);
+            } else {
+                classData.addField(field.name, field.mappedName, field.mappedDescriptor);
+            }
+        }
+        for (Member method : methods) {
+            if (Modifier.isPrivate(method.access)) {
+                classData.addPrivateMethod(method.name, method.mappedName, method.mappedDescriptor);
+            } else {
+                classData.addMethod(method.name, method.mappedName, method.mappedDescriptor);
+            }
+        }
+
+        hierarchyManager.addClass(header.getName(), classData);
+    }
+
+    static final class Member {
+
+        final int access;
+        final String name;
+        final String mappedName;
+        final String mappedDescriptor;
+
+        /**
+         * @param name The obfuscated name, the one lookups are keyed by.
+         */
+        Member(int access, String name, String mappedName, String mappedDescriptor) {
+            this.access = access;
+            this.name = name;
+            this.mappedName = mappedName;
+            this.mappedDescriptor = mappedDescriptor;
+        }
+    }
+
+    private static final class RecordingVisitor extends ClassVisitor {
+
+        private final Remapper remapper;
+        private final List<Member> fields = new ArrayList<>();
+        private final List<Member> methods = new ArrayList<>();
+        private ClassHeader header;
+        private String mappedName;
+
+        private RecordingVisitor(Remapper remapper) {
+            super(Compatibility.ASM_VERSION);
+            this.remapper = remapper;
+        }
+
+        @Override
+        public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
+            header = new ClassHeader(name, access, superName, interfaces);
+            mappedName = remapper.map(name);
+        }
+
+        @Override
+        public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+            String mappedDescriptor = remapper.mapDesc(descriptor);
+            fields.add(new Member(access, name, remapper.mapFieldName(header.getName(), name, mappedDescriptor), mappedDescriptor));
+            return null;
+        }
+
+        @Override
+        public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+            String mappedDescriptor = remapper.mapMethodDesc(descriptor);
+            methods.add(new Member(access, name, remapper.mapMethodName(header.getName(), name, mappedDescriptor), mappedDescriptor));
+            return null;
+        }
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.commons.Remapper;
+import org.omnimc.trix.api.cache.LookupCache;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * Answers {@link org.objectweb.asm.ClassWriter#getCommonSuperClass(String, String)} from the headers collected in a
+ * {@link HierarchyManager}, without loading a single class.
+ * <p>
+ * Classes the hierarchy doesn't know, usually those of the JDK, have their header read from the class file found
+ * through a {@link ClassLoader}'s resources. That reads bytes, it never defines or initializes a class. Like
+ * {@link org.objectweb.asm.ClassWriter#getCommonSuperClass(String, String)}, a {@link TypeNotPresentException} is
+ * thrown when a type or one of its super classes can't be found at all, guessing would only produce frames that
+ * fail to verify.
+ * <p>
+ * The hierarchy is keyed by obfuscated names, but a class written after remapping only refers to mapped ones. A
+ * resolver given the {@link Remapper} of the run looks types up in a remapped view of the hierarchy instead, built
+ * the first time it is needed, so every class should be added before the first lookup.
+ * <p>
+ * Headers and answers are both memoized, so a resolver should be shared by every writer of a run.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class CommonSuperClassResolver {
+
+    public static final String OBJECT = "java/lang/Object";
+
+    private final HierarchyManager hierarchyManager;
+    private final Remapper remapper;
+    private final ClassLoader resourceLoader;
+    private final LookupCache<String, ClassHeader> resourceHeaders = new LookupCache<>();
+    private final LookupCache<String, String> commonSuperClasses = new LookupCache<>();
+
+    private volatile Map<String, ClassHeader> mappedHeaders;
+
+    /**
+     * Creates a resolver for classes that are written with their obfuscated names.
+     */
+    public CommonSuperClassResolver(HierarchyManager hierarchyManager) {
+        this(hierarchyManager, null, ClassLoader.getSystemClassLoader());
+    }
+
+    /**
+     * Creates a resolver for classes that are written after being remapped with {@code remapper}.
+     */
+    public CommonSuperClassResolver(HierarchyManager hierarchyManager, Remapper remapper) {
+        this(hierarchyManager, remapper, ClassLoader.getSystemClassLoader());
+    }
+
+    public CommonSuperClassResolver(HierarchyManager hierarchyManager, ClassLoader resourceLoader) {
+        this(hierarchyManager, null, resourceLoader);
+    }
+
+    /**
+     * @param hierarchyManager The hierarchy that is asked first.
+     * @param remapper         The remapper the written classes went through, or {@code null} if they keep their
+     *                         obfuscated names.
+     * @param resourceLoader   Where class files of types outside the hierarchy are read from, may be {@code null} to
+     *                         only use the hierarchy.
+     */
+    public CommonSuperClassResolver(HierarchyManager hierarchyManager, Remapper remapper, ClassLoader resourceLoader) {
+        this.hierarchyManager = Objects.requireNonNull(hierarchyManager, "HierarchyManager cannot be null.");
+        this.remapper = remapper;
+        this.resourceLoader = resourceLoader;
+    }
+
+    /**
+     * Works like {@link org.objectweb.asm.ClassWriter#getCommonSuperClass(String, String)}: if one type is a subtype
+     * of the other, the other is returned, if either is an interface {@code java/lang/Object} is, and otherwise the
+     * closest super class both share.
+     */
+    public String getCommonSuperClass(String type1, String type2) {
+        if (type1.equals(type2)) {
+            return type1;
+        }
+
+        // The answer doesn't depend on the order, so both orders share one entry.
+        String key = type1.compareTo(type2) < 0 ? type1 + ';' + type2 : type2 + ';' + type1;
+        return commonSuperClasses.get(key, ignored -> compute(type1, type2));
+    }
+
+    /**
+     * @return {@code true} if {@code type} is {@code superType} or extends or implements it, directly or not.
+     */
+    public boolean isSubtype(String type, String superType) {
+        if (type.equals(superType) || superType.equals(OBJECT)) {
+            return true;
+        }
+
+        Set<String> visited = new HashSet<>();
+        ArrayDeque<String> queue = new ArrayDeque<>();
+        queue.add(type);
+        while (!queue.isEmpty()) {
+            ClassHeader header = getHeader(queue.poll());
+            if (header == null) {
+                continue;
+            }
+
+            String superName = header.getSuperName();
+            if (superName != null) {
+                if (superName.equals(superType)) {
+                    return true;
+                }
+                if (visited.add(superName)) {
+                    queue.add(superName);
+                }
+            }
+
+            for (int i = 0; i < header.getInterfaceCount(); i++) {
+                String anInterface = header.getInterface(i);
+                if (anInterface.equals(superType)) {
+                    return true;
+                }
+                if (visited.add(anInterface)) {
+                    queue.add(anInterface);
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * @param type A type as it appears in the written class, mapped if this resolver has a remapper.
+     * @return The header from the hierarchy, or read from the class file, or {@code null} if neither has it.
+     */
+    public ClassHeader getHeader(String type) {
+        ClassHeader header = remapper == null ? hierarchyManager.getClassHeader(type) : getMappedHeaders().get(type);
+        if (header != null || resourceLoader == null) {
+            return header;
+        }
+
+        return resourceHeaders.get(type, this::readHeader);
+    }
+
+    public LookupCache<String, String> getCommonSuperClassCache() {
+        return commonSuperClasses;
+    }
+
+    private String compute(String type1, String type2) {
+        requireSuperClasses(type1);
+        requireSuperClasses(type2);
+
+        if (isSubtype(type2, type1)) {
+            return type1;
+        }
+        if (isSubtype(type1, type2)) {
+            return type2;
+        }
+
+        if (isInterface(type1) || isInterface(type2)) {
+            return OBJECT;
+        }
+
+        Set<String> visited = new HashSet<>();
+        ClassHeader header = getHeader(type1);
+        while (header != null && header.getSuperName() != null && visited.add(header.getSuperName())) {
+            String superName = header.getSuperName();
+            if (isSubtype(type2, superName)) {
+                return superName;
+            }
+            header = getHeader(superName);
+        }
+        return OBJECT;
+    }
+
+    /**
+     * Makes sure every class from {@code type} up to {@code java/lang/Object} is known, so the walk in
+     * {@link #compute(String, String)} can't stop early and return a wrong answer.
+     */
+    private void requireSuperClasses(String type) {
+        Set<String> visited = new HashSet<>();
+        String current = type;
+        while (current != null && !current.equals(OBJECT) && visited.add(current)) {
+            ClassHeader header = getHeader(current);
+            if (header == null) {
+                throw new TypeNotPresentException(current, null);
+            }
+            current = header.getSuperName();
+        }
+    }
+
+    private Map<String, ClassHeader> getMappedHeaders() {
+        Map<String, ClassHeader> headers = mappedHeaders;
+        if (headers == null) {
+            synchronized (this) {
+                headers = mappedHeaders;
+                if (headers == null) {
+                    headers = remapHeaders();
+                    mappedHeaders = headers;
+                }
+            }
+        }
+        return headers;
+    }
+
+    private Map<String, ClassHeader> remapHeaders() {
+        Map<String, ClassHeader> obfuscatedHeaders = hierarchyManager.getClassHeaders();
+        Map<String, ClassHeader> headers = new HashMap<>((int) (obfuscatedHeaders.size() / 0.75f) + 1);
+        for (ClassHeader header : obfuscatedHeaders.values()) {
+            String[] interfaces = new String[header.getInterfaceCount()];
+            for (int i = 0; i < interfaces.length; i++) {
+                interfaces[i] = map(header.getInterface(i));
+            }
+
+            String name = map(header.getName());
+            headers.put(name, new ClassHeader(name, header.getAccess(), map(header.getSuperName()), interfaces));
+        }
+        return headers;
+    }
+
+    private String map(String type) {
+        if (type == null) {
+            return null;
+        }
+
+        String mapped = remapper.map(type);
+        return mapped == null ? type : mapped;
+    }
+
+    private boolean isInterface(String type) {
+        ClassHeader header = getHeader(type);
+        return header != null && header.isInterface();
+    }
+
+    private ClassHeader readHeader(String type) {
+        try (InputStream stream = resourceLoader.getResourceAsStream(type + ".class")) {
+            if (stream == null) {
+                return null;
+            }
+
+            ClassReader reader = new ClassReader(stream);
+            return new ClassHeader(reader.getClassName(), reader.getAccess(), reader.getSuperName(), reader.getInterfaces());
+        } catch (IOException e) {
+            return null;
+        }
+    }
+}
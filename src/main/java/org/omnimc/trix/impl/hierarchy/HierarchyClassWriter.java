@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.commons.Remapper;
+import org.omnimc.trix.api.asm.ClassWriterFactory;
+
+import java.util.Objects;
+
+/**
+ * A {@link ClassWriter} that computes stack map frames with {@link ClassWriter#COMPUTE_FRAMES} but answers
+ * {@link #getCommonSuperClass(String, String)} through a {@link CommonSuperClassResolver} instead of loading classes.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class HierarchyClassWriter extends ClassWriter {
+
+    private final CommonSuperClassResolver resolver;
+
+    public HierarchyClassWriter(CommonSuperClassResolver resolver) {
+        this(null, COMPUTE_FRAMES, resolver);
+    }
+
+    /**
+     * @param classReader The reader to seed the writer from, may be {@code null}, see
+     *                    {@link ClassWriter#ClassWriter(ClassReader, int)}.
+     */
+    public HierarchyClassWriter(ClassReader classReader, int flags, CommonSuperClassResolver resolver) {
+        super(classReader, flags);
+        this.resolver = Objects.requireNonNull(resolver, "Resolver cannot be null.");
+    }
+
+    /**
+     * @return A factory of writers that compute frames from {@code hierarchyManager}, all sharing one resolver. Only
+     * for classes that keep their obfuscated names, see {@link #factory(HierarchyManager, Remapper)}.
+     */
+    public static ClassWriterFactory factory(HierarchyManager hierarchyManager) {
+        return factory(new CommonSuperClassResolver(hierarchyManager));
+    }
+
+    /**
+     * @return A factory of writers that compute frames for classes remapped with {@code remapper}, all sharing one
+     * resolver.
+     */
+    public static ClassWriterFactory factory(HierarchyManager hierarchyManager, Remapper remapper) {
+        return factory(new CommonSuperClassResolver(hierarchyManager, remapper));
+    }
+
+    public static ClassWriterFactory factory(CommonSuperClassResolver resolver) {
+        return factory(resolver, false);
+    }
+
+    /**
+     * @param copyThrough {@code true} to seed every writer from the original class like
+     *                    {@link ClassWriterFactory#COPY_THROUGH}, so untouched methods and their frames are copied as
+     *                    they are and only changed ones have their frames computed.
+     */
+    public static ClassWriterFactory factory(CommonSuperClassResolver resolver, boolean copyThrough) {
+        Objects.requireNonNull(resolver, "Resolver cannot be null.");
+        return copyThrough
+                ? reader -> new HierarchyClassWriter(reader, COMPUTE_FRAMES, resolver)
+                : reader -> new HierarchyClassWriter(resolver);
+    }
+
+    @Override
+    protected String getCommonSuperClass(String type1, String type2) {
+        return resolver.getCommonSuperClass(type1, type2);
+    }
+}
@@ -0,0 +1,496 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.objectweb.asm.commons.Remapper;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Keeps what {@link HierarchyScanner} reads from each jar on disk, so a jar that hasn't changed is never parsed or
+ * remapped again.
+ * <p>
+ * Every jar gets its own entry, named after the jar's path and the fingerprint of the mappings. An entry holds the
+ * header of every class in the jar and its member signatures, already remapped, in a compact binary format where
+ * every name and descriptor is written once and then referred to by index. Loading an entry only adds the stored
+ * classes to the {@link HierarchyManager}, the remapper is never called.
+ * <p>
+ * {@link #load(HierarchyManager, Collection)} first compares the size and modification time of a jar with the ones
+ * its entry was written for. Only when they differ is the jar hashed, and only when the hash differs too is the jar
+ * scanned again. Nothing is flattened: inherited members are resolved on demand through
+ * {@link HierarchyManager#createMemberResolver()}, so adding a changed jar costs no more than reading that jar.
+ * <p>
+ * The directory can be shared by several processes. Entries are written to a temporary file and moved into place
+ * atomically, and entries that can't be read are scanned and written again.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class HierarchyIndex {
+
+    private static final int MAGIC = 0x54524958;
+    private static final int VERSION = 2;
+    private static final String ENTRY_EXTENSION = ".hierarchy";
+
+    /**
+     * Jars with fewer classes than this are added on the calling thread, larger ones in chunks of this size.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
+
+    private final Path directory;
+    private final Remapper remapper;
+    private final String mappingsFingerprint;
+    private final Executor executor;
+
+    /**
+     * @param mappingsFingerprint Identifies the mappings {@code remapper} applies, like their version or hash.
+     *                            Entries written for other mappings are never read.
+     */
+    public HierarchyIndex(Path directory, Remapper remapper, String mappingsFingerprint) {
+        this(directory, remapper, mappingsFingerprint, ForkJoinPool.commonPool());
+    }
+
+    public HierarchyIndex(Path directory, Remapper remapper, String mappingsFingerprint, Executor executor) {
+        this.directory = Objects.requireNonNull(directory, "Directory cannot be null.");
+        this.remapper = Objects.requireNonNull(remapper, "Remapper cannot be null.");
+        this.mappingsFingerprint = Objects.requireNonNull(mappingsFingerprint, "Mappings fingerprint cannot be null.");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null.");
+    }
+
+    /**
+     * Adds every class of every jar to {@code hierarchyManager}, scanning only the jars that aren't indexed yet.
+     * <p>
+     * Jars are added in order, a class found in several jars always comes from the last one.
+     *
+     * @param hierarchyManager Where the classes are added.
+     * @param jars             The jars to add.
+     * @return The amount of jars that had to be scanned.
+     * @throws IOException If a jar can't be read or an entry can't be written.
+     */
+    public int load(HierarchyManager hierarchyManager, Collection<Path> jars) throws IOException {
+        int scanned = 0;
+        for (Path jar : jars) {
+            Path entry = entryPath(jar);
+            Stamp stamp = Stamp.of(jar);
+
+            Stored stored = read(entry);
+            List<ClassRecord> records = stored == null ? null : stored.validate(jar, stamp);
+            if (records == null) {
+                records = scan(jar);
+                write(entry, stamp.withHash(fingerprint(jar)), records);
+                scanned++;
+            } else if (!stored.stamp.matches(stamp)) {
+                // Touched but not changed, the new time is stored so the jar isn't hashed again next time.
+                write(entry, stamp.withHash(stored.stamp.hash), records);
+            }
+
+            addAll(hierarchyManager, records);
+        }
+        return scanned;
+    }
+
+    /**
+     * @param jar A jar.
+     * @return {@code true} if {@code jar} has an entry for its current contents, so it won't be scanned again.
+     * @throws IOException If the jar can't be read.
+     */
+    public boolean isIndexed(Path jar) throws IOException {
+        Stored stored = read(entryPath(jar));
+        return stored != null && stored.validate(jar, Stamp.of(jar)) != null;
+    }
+
+    /**
+     * Deletes every entry that doesn't belong to one of {@code jars}, including entries written for other mappings.
+     *
+     * @param jars The jars whose entries should be kept.
+     * @return The amount of entries deleted.
+     * @throws IOException If the directory can't be listed or an entry can't be deleted.
+     */
+    public int retain(Collection<Path> jars) throws IOException {
+        if (!Files.isDirectory(directory)) {
+            return 0;
+        }
+
+        Set<Path> keep = new HashSet<>();
+        for (Path jar : jars) {
+            keep.add(entryPath(jar));
+        }
+
+        int deleted = 0;
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(directory, "*" + ENTRY_EXTENSION)) {
+            for (Path entry : entries) {
+                if (!keep.contains(entry) && Files.deleteIfExists(entry)) {
+                    deleted++;
+                }
+            }
+        }
+        return deleted;
+    }
+
+    /**
+     * @param jar A jar.
+     * @return The SHA-256 of the contents of {@code jar}, in hex.
+     * @throws IOException If the jar can't be read.
+     */
+    public static String fingerprint(Path jar) throws IOException {
+        MessageDigest digest = sha256();
+        byte[] buffer = new byte[64 * 1024];
+        try (InputStream inputStream = Files.newInputStream(jar)) {
+            for (int read = inputStream.read(buffer); read != -1; read = inputStream.read(buffer)) {
+                digest.update(buffer, 0, read);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    private static MessageDigest sha256() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available.", e);
+        }
+    }
+
+    /**
+     * The entry of {@code jar} under the current mappings, named after a hash of both so it is found without reading
+     * the jar.
+     */
+    private Path entryPath(Path jar) {
+        MessageDigest digest = sha256();
+        digest.update(jar.toAbsolutePath().normalize().toString().getBytes(StandardCharsets.UTF_8));
+        digest.update((byte) 0);
+        digest.update(mappingsFingerprint.getBytes(StandardCharsets.UTF_8));
+        return directory.resolve(HexFormat.of().formatHex(digest.digest()) + ENTRY_EXTENSION);
+    }
+
+    /**
+     * Adds the records of a jar on the configured executor, every chunk is added before the next jar starts so the
+     * last jar still wins.
+     */
+    private void addAll(HierarchyManager hierarchyManager, List<ClassRecord> records) throws IOException {
+        if (records.size() < PARALLEL_THRESHOLD) {
+            records.forEach(record -> record.addTo(hierarchyManager));
+            return;
+        }
+
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+        for (int from = 0; from < records.size(); from += PARALLEL_THRESHOLD) {
+            List<ClassRecord> chunk = records.subList(from, Math.min(records.size(), from + PARALLEL_THRESHOLD));
+            tasks.add(CompletableFuture.runAsync(() -> chunk.forEach(record -> record.addTo(hierarchyManager)), executor));
+        }
+
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            throw new IOException("Failed to add indexed classes.", e.getCause());
+        }
+    }
+
+    private List<ClassRecord> scan(Path jar) throws IOException {
+        List<CompletableFuture<ClassRecord>> tasks = new ArrayList<>();
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!HierarchyScanner.isScannable(entry)) {
+                    continue;
+                }
+
+                byte[] bytes;
+                try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                    bytes = inputStream.readAllBytes();
+                }
+                tasks.add(CompletableFuture.supplyAsync(() -> ClassRecord.read(bytes, remapper), executor));
+            }
+        }
+
+        List<ClassRecord> records = new ArrayList<>(tasks.size());
+        try {
+            for (CompletableFuture<ClassRecord> task : tasks) {
+                records.add(task.join());
+            }
+        } catch (CompletionException e) {
+            throw new IOException("Failed to scan " + jar, e.getCause());
+        }
+        return records;
+    }
+
+    /**
+     * @return The stamp and records of an entry, or {@code null} if there is no entry or it can't be read.
+     */
+    private Stored read(Path entry) {
+        if (!Files.isRegularFile(entry)) {
+            return null;
+        }
+
+        try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (input.readInt() != MAGIC || input.readInt() != VERSION || !input.readUTF().equals(mappingsFingerprint)) {
+                return null;
+            }
+
+            Stamp stamp = new Stamp(input.readLong(), input.readLong(), input.readUTF());
+
+            String[] strings = new String[readVarInt(input)];
+            for (int i = 0; i < strings.length; i++) {
+                strings[i] = input.readUTF();
+            }
+
+            int classCount = readVarInt(input);
+            List<ClassRecord> records = new ArrayList<>(classCount);
+            for (int i = 0; i < classCount; i++) {
+                String name = strings[readVarInt(input)];
+                String mappedName = readNullable(input, strings);
+                int access = readVarInt(input);
+                String superName = readNullable(input, strings);
+
+                String[] interfaces = new String[readVarInt(input)];
+                for (int j = 0; j < interfaces.length; j++) {
+                    interfaces[j] = strings[readVarInt(input)];
+                }
+
+                ClassHeader header = new ClassHeader(name, access, superName, interfaces);
+                records.add(new ClassRecord(header, mappedName, readMembers(input, strings), readMembers(input, strings)));
+            }
+            return new Stored(stamp, records);
+        } catch (IOException | RuntimeException e) {
+            // A torn or foreign entry is treated the same as a missing one, the jar is scanned and the entry written again.
+            return null;
+        }
+    }
+
+    private void write(Path entry, Stamp stamp, List<ClassRecord> records) throws IOException {
+        Map<String, Integer> indices = new HashMap<>();
+        List<String> strings = new ArrayList<>();
+        for (ClassRecord record : records) {
+            intern(record.header.getName(), indices, strings);
+            if (record.mappedName != null) {
+                intern(record.mappedName, indices, strings);
+            }
+            if (record.header.getSuperName() != null) {
+                intern(record.header.getSuperName(), indices, strings);
+            }
+            for (String anInterface : record.header.getInterfaces()) {
+                intern(anInterface, indices, strings);
+            }
+            for (ClassRecord.Member field : record.fields) {
+                internMember(field, indices, strings);
+            }
+            for (ClassRecord.Member method : record.methods) {
+                internMember(method, indices, strings);
+            }
+        }
+
+        Files.createDirectories(entry.getParent());
+        Path temp = Files.createTempFile(entry.getParent(), entry.getFileName().toString(), ".tmp");
+        try {
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeUTF(mappingsFingerprint);
+                output.writeLong(stamp.size);
+                output.writeLong(stamp.modified);
+                output.writeUTF(stamp.hash);
+
+                writeVarInt(output, strings.size());
+                for (String string : strings) {
+                    output.writeUTF(string);
+                }
+
+                writeVarInt(output, records.size());
+                for (ClassRecord record : records) {
+                    ClassHeader header = record.header;
+                    writeVarInt(output, indices.get(header.getName()));
+                    writeNullable(output, record.mappedName, indices);
+                    writeVarInt(output, header.getAccess());
+                    writeNullable(output, header.getSuperName(), indices);
+
+                    writeVarInt(output, header.getInterfaceCount());
+                    for (int i = 0; i < header.getInterfaceCount(); i++) {
+                        writeVarInt(output, indices.get(header.getInterface(i)));
+                    }
+
+                    writeMembers(output, record.fields, indices);
+                    writeMembers(output, record.methods, indices);
+                }
+            }
+
+            try {
+                Files.move(temp, entry, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void internMember(ClassRecord.Member member, Map<String, Integer> indices, List<String> strings) {
+        intern(member.name, indices, strings);
+        intern(member.mappedName, indices, strings);
+        intern(member.mappedDescriptor, indices, strings);
+    }
+
+    private static void intern(String string, Map<String, Integer> indices, List<String> strings) {
+        if (indices.putIfAbsent(string, strings.size()) == null) {
+            strings.add(string);
+        }
+    }
+
+    private static void writeMembers(DataOutputStream output, ClassRecord.Member[] members, Map<String, Integer> indices) throws IOException {
+        writeVarInt(output, members.length);
+        for (ClassRecord.Member member : members) {
+            writeVarInt(output, member.access);
+            writeVarInt(output, indices.get(member.name));
+            writeVarInt(output, indices.get(member.mappedName));
+            writeVarInt(output, indices.get(member.mappedDescriptor));
+        }
+    }
+
+    private static ClassRecord.Member[] readMembers(DataInputStream input, String[] strings) throws IOException {
+        ClassRecord.Member[] members = new ClassRecord.Member[readVarInt(input)];
+        for (int i = 0; i < members.length; i++) {
+            int access = readVarInt(input);
+            members[i] = new ClassRecord.Member(access, strings[readVarInt(input)], strings[readVarInt(input)], strings[readVarInt(input)]);
+        }
+        return members;
+    }
+
+    private static void writeNullable(DataOutputStream output, String string, Map<String, Integer> indices) throws IOException {
+        writeVarInt(output, string == null ? 0 : indices.get(string) + 1);
+    }
+
+    private static String readNullable(DataInputStream input, String[] strings) throws IOException {
+        int index = readVarInt(input);
+        return index == 0 ? null : strings[index - 1];
+    }
+
+    private static void writeVarInt(DataOutputStream output, int value) throws IOException {
+        while ((value & ~0x7F) != 0) {
+            output.writeByte((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        output.writeByte(value);
+    }
+
+    private static int readVarInt(DataInputStream input) throws IOException {
+        int value = 0;
+        for (int shift = 0; shift < 32; shift += 7) {
+            int b = input.readUnsignedByte();
+            value |= (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new IOException("Malformed variable length integer.");
+    }
+
+    /**
+     * What a jar looked like when its entry was written.
+     */
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class Stamp {
+
+        private final long size;
+        private final long modified;
+        private final String hash;
+
+        /**
+         * @param hash The {@link #fingerprint(Path)} of the jar, or {@code null} if it wasn't computed.
+         */
+        private Stamp(long size, long modified, String hash) {
+            this.size = size;
+            this.modified = modified;
+            this.hash = hash;
+        }
+
+        private static Stamp of(Path jar) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(jar, BasicFileAttributes.class);
+            return new Stamp(attributes.size(), attributes.lastModifiedTime().toMillis(), null);
+        }
+
+        private Stamp withHash(String hash) {
+            return new Stamp(size, modified, hash);
+        }
+
+        private boolean matches(Stamp other) {
+            return size == other.size && modified == other.modified;
+        }
+    }
+
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class Stored {
+
+        private final Stamp stamp;
+        private final List<ClassRecord> records;
+
+        private Stored(Stamp stamp, List<ClassRecord> records) {
+            this.stamp = stamp;
+            this.records = records;
+        }
+
+        /**
+         * Trusts a matching size and modification time, and only hashes the jar when they differ.
+         *
+         * @return The records if they still describe {@code jar}, otherwise {@code null}.
+         */
+        private List<ClassRecord> validate(Path jar, Stamp current) throws IOException {
+            if (stamp.matches(current) || (stamp.size == current.size && stamp.hash.equals(fingerprint(jar)))) {
+                return records;
+            }
+            return null;
+        }
+    }
+}
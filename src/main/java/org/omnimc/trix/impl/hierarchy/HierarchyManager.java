@@ -27,48 +27,383 @@ package org.omnimc.trix.impl.hierarchy;
 
 import org.omnimc.lumina.data.Mappings;
 import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.api.cache.LookupCache;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
 
+/**
+ * Collects the classes of a hierarchy and the headers they were read from.
+ * <p>
+ * Both are kept in concurrent maps, so classes can be added from many threads at once, see
+ * {@link HierarchyScanner}. If the same class is added twice, the last one added wins. Nothing that walks the
+ * hierarchy, like {@link #populateClassFiles()} or {@link #createMemberResolver()}, should be called while classes
+ * are still being added.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
 public final class HierarchyManager {
 
-    private final Mappings mappings = new Mappings();
+    /**
+     * Levels smaller than this are flattened on the calling thread, splitting them costs more than it saves.
+     */
+    private static final int PARALLEL_THRESHOLD = 256;
 
+    private final Map<String, ClassData> classes = new ConcurrentHashMap<>();
+    private final Map<String, ClassHeader> classHeaders = new ConcurrentHashMap<>();
+
+    /**
+     * Builds a new read only {@link Mappings} holding every class added so far, every call allocates a new one. The
+     * {@link ClassData} instances are shared, but the returned {@link Mappings} throws
+     * {@link UnsupportedOperationException} on any change, use {@link #addClass(String, ClassData)} instead.
+     *
+     * @return A read only snapshot of the classes added so far.
+     * @deprecated No longer the live store of this manager, use {@link #getClasses()} or
+     * {@link #getClassData(String)} instead.
+     */
+    @Deprecated
     public Mappings getMappings() {
-        return mappings;
+        return new ReadOnlyMappings(classes);
+    }
+
+    /**
+     * @return A live, unmodifiable view of every class added so far, keyed by obfuscated name.
+     */
+    public Map<String, ClassData> getClasses() {
+        return Collections.unmodifiableMap(classes);
+    }
+
+    /**
+     * @param obfuscatedName The obfuscated name of a class.
+     * @return The class, or {@code null} if it was never added.
+     */
+    public ClassData getClassData(String obfuscatedName) {
+        return classes.get(obfuscatedName);
     }
 
     public void addClass(String obfuscatedName, ClassData data) {
-        mappings.addClass(obfuscatedName, data);
+        classes.put(obfuscatedName, data);
+    }
+
+    public void addClassHeader(ClassHeader header) {
+        classHeaders.put(header.getName(), header);
+    }
+
+    /**
+     * @param obfuscatedName The obfuscated name of a class.
+     * @return The header of that class, or {@code null} if it was never visited.
+     */
+    public ClassHeader getClassHeader(String obfuscatedName) {
+        return classHeaders.get(obfuscatedName);
+    }
+
+    /**
+     * @return A live, unmodifiable view of every header added so far, keyed by obfuscated name.
+     */
+    public Map<String, ClassHeader> getClassHeaders() {
+        return Collections.unmodifiableMap(classHeaders);
     }
-    
+
+    /**
+     * Creates a {@link MemberResolver} over the classes added so far, which resolves inherited members through the
+     * hierarchy instead of copying them, so {@link #populateClassFiles()} does not need to be called when it is used.
+     *
+     * @param cacheSize The amount of resolved lookups the resolver is allowed to remember.
+     * @return A resolver over a snapshot of the current classes.
+     */
+    public MemberResolver createMemberResolver(int cacheSize) {
+        return new MemberResolver(classes, cacheSize);
+    }
+
+    public MemberResolver createMemberResolver() {
+        return createMemberResolver(LookupCache.DEFAULT_MAXIMUM_SIZE);
+    }
+
+    /**
+     * Creates a {@link SubtypeIndex} over the classes added so far, so the hierarchy can be walked downwards.
+     * <p>
+     * The index is built from the same super class and interface edges the rest of the hierarchy uses, in one pass
+     * over them.
+     *
+     * @return An index over a snapshot of the current classes.
+     */
+    public SubtypeIndex createSubtypeIndex() {
+        return new SubtypeIndex(classes);
+    }
+
+    /**
+     * Copies the fields and methods of every class's super classes and interfaces into its own {@link ClassData}.
+     * <p>
+     * Classes are flattened in topological order, parents before children, so every class only has to copy from its
+     * direct parents, which already hold everything above them. Each level of the hierarchy is flattened in
+     * parallel.
+     * <p>
+     * A member any ancestor declares replaces the class's own declaration. When several ancestors declare it, the one
+     * furthest up the hierarchy wins, and between ancestors equally far up the one reached through the last declared
+     * parent wins, the same as walking the ancestors level by level and copying each of them in turn. Every class
+     * remembers how far up each of its inherited members was declared, so its children can compare them without
+     * walking the hierarchy again.
+     * <p>
+     * Supertypes that aren't part of the hierarchy are skipped. Classes in or below a cycle are flattened last,
+     * ignoring the edge that closes the cycle.
+     * <p>
+     * Every class ends up holding a copy of every inherited member, prefer {@link #createMemberResolver()} when the
+     * hierarchy is large.
+     */
     public void populateClassFiles() {
-        final HashMap<String, ClassData> classFileHashMap = new HashMap<>();
-
-        for (Map.Entry<String, ClassData> entry : mappings.getClasses().entrySet()) {
-            String className = entry.getKey();
-            ClassData originalClassFile = entry.getValue();
-
-            ArrayList<String> dependencies = new ArrayList<>(originalClassFile.getDependentClasses());
-            while (!dependencies.isEmpty()) {
-                ArrayList<String> nextDependencies = new ArrayList<>();
-                for (String dependency : dependencies) {
-                    ClassData file = mappings.getClass(dependency);
-                    if (file != null) {
-                        originalClassFile.getFields().putAll(file.getFields());
-                        originalClassFile.getMethods().putAll(file.getMethods());
-                        nextDependencies.addAll(file.getDependentClasses());
+        final Map<String, List<String>> children = new HashMap<>();
+        final Map<String, Integer> pendingParents = new HashMap<>();
+        List<String> level = new ArrayList<>();
+
+        for (Map.Entry<String, ClassData> entry : classes.entrySet()) {
+            List<String> parents = getKnownParents(entry.getKey(), entry.getValue(), classes);
+            for (String parent : parents) {
+                children.computeIfAbsent(parent, ignored -> new ArrayList<>()).add(entry.getKey());
+            }
+
+            pendingParents.put(entry.getKey(), parents.size());
+            if (parents.isEmpty()) {
+                level.add(entry.getKey());
+            }
+        }
+
+        final Set<String> flattened = new HashSet<>();
+        final Map<String, Depths> depths = new ConcurrentHashMap<>();
+        while (!level.isEmpty()) {
+            (level.size() >= PARALLEL_THRESHOLD ? level.parallelStream() : level.stream())
+                    .forEach(className -> flatten(className, classes.get(className), classes, depths));
+            flattened.addAll(level);
+
+            List<String> nextLevel = new ArrayList<>();
+            for (String className : level) {
+                for (String child : children.getOrDefault(className, List.of())) {
+                    if (pendingParents.merge(child, -1, Integer::sum) == 0) {
+                        nextLevel.add(child);
                     }
                 }
-                dependencies = nextDependencies;
             }
+            level = nextLevel;
+        }
+
+        if (flattened.size() < classes.size()) {
+            Set<String> visiting = new HashSet<>();
+            for (String className : classes.keySet()) {
+                flattenCyclic(className, classes, depths, flattened, visiting);
+            }
+        }
+    }
+
+    private static void flattenCyclic(String className, Map<String, ClassData> classes, Map<String, Depths> depths, Set<String> flattened,
+                                      Set<String> visiting) {
+        if (flattened.contains(className) || !visiting.add(className)) {
+            return;
+        }
+
+        ClassData classData = classes.get(className);
+        for (String parent : getKnownParents(className, classData, classes)) {
+            flattenCyclic(parent, classes, depths, flattened, visiting);
+        }
+
+        flatten(className, classData, classes, depths);
+        flattened.add(className);
+        visiting.remove(className);
+    }
+
+    /**
+     * Every parent of {@code classData} is either already flattened or part of a cycle, so copying from the direct
+     * parents is enough.
+     */
+    private static void flatten(String className, ClassData classData, Map<String, ClassData> classes, Map<String, Depths> depths) {
+        Map<String, Integer> fieldDepths = new HashMap<>();
+        Map<String, Integer> methodDepths = new HashMap<>();
+        for (String parent : getKnownParents(className, classData, classes)) {
+            ClassData parentData = classes.get(parent);
+            Depths parentDepths = depths.getOrDefault(parent, Depths.NONE);
+            overlay(classData.getFields(), fieldDepths, parentData.getFields(), parentDepths.fields);
+            overlay(classData.getMethods(), methodDepths, parentData.getMethods(), parentDepths.methods);
+        }
+
+        if (!fieldDepths.isEmpty() || !methodDepths.isEmpty()) {
+            depths.put(className, new Depths(fieldDepths, methodDepths));
+        }
+    }
+
+    /**
+     * Copies every member of a parent that was declared at least as far up as the one already inherited.
+     *
+     * @param depths       How many levels up each inherited member of the class was declared.
+     * @param parentDepths The same for the parent, members it declares itself are missing.
+     */
+    private static <T> void overlay(Map<String, T> members, Map<String, Integer> depths, Map<String, T> parentMembers,
+                                    Map<String, Integer> parentDepths) {
+        for (Map.Entry<String, T> member : parentMembers.entrySet()) {
+            int depth = parentDepths.getOrDefault(member.getKey(), 0) + 1;
+            Integer current = depths.get(member.getKey());
+            if (current == null || depth >= current) {
+                depths.put(member.getKey(), depth);
+                members.put(member.getKey(), member.getValue());
+            }
+        }
+    }
 
-            classFileHashMap.put(className, originalClassFile);
+    private static List<String> getKnownParents(String className, ClassData classData, Map<String, ClassData> classes) {
+        List<String> parents = new ArrayList<>(2);
+        for (String dependency : classData.getDependentClasses()) {
+            if (dependency != null && !dependency.equals(className) && classes.containsKey(dependency) && !parents.contains(dependency)) {
+                parents.add(dependency);
+            }
         }
+        return parents;
+    }
+
+    /**
+     * How many levels up the inherited members of a flattened class were declared, keyed like
+     * {@link ClassData#getFields()} and {@link ClassData#getMethods()}.
+     */
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class Depths {
+
+        private static final Depths NONE = new Depths(Map.of(), Map.of());
+
+        private final Map<String, Integer> fields;
+        private final Map<String, Integer> methods;
 
-        mappings.getClasses().clear();
-        mappings.getClasses().putAll(classFileHashMap);
+        private Depths(Map<String, Integer> fields, Map<String, Integer> methods) {
+            this.fields = fields;
+            this.methods = methods;
+        }
+    }
+
+    /**
+     * Handed out by {@link #getMappings()}, which used to be the live store, so writes throw instead of being lost.
+     */
+    private static final class ReadOnlyMappings extends Mappings {
+
+        private final HashMap<String, ClassData> classes;
+
+        private ReadOnlyMappings(Map<String, ClassData> classes) {
+            this.classes = new ReadOnlyClasses(classes);
+        }
+
+        @Override
+        public void addClass(String obfuscatedName, ClassData data) {
+            throw ReadOnlyClasses.readOnly();
+        }
+
+        @Override
+        public ClassData getClass(String obfuscatedName) {
+            return classes.get(obfuscatedName);
+        }
+
+        @Override
+        public HashMap<String, ClassData> getClasses() {
+            return classes;
+        }
+    }
+
+    /**
+     * A {@link HashMap} since that is what {@link Mappings#getClasses()} returns, with every change rejected.
+     */
+    private static final class ReadOnlyClasses extends HashMap<String, ClassData> {
+
+        private static final long serialVersionUID = 1L;
+
+        private ReadOnlyClasses(Map<String, ClassData> classes) {
+            super(classes);
+        }
+
+        @Override
+        public ClassData put(String key, ClassData value) {
+            throw readOnly();
+        }
+
+        @Override
+        public void putAll(Map<? extends String, ? extends ClassData> map) {
+            throw readOnly();
+        }
+
+        @Override
+        public ClassData putIfAbsent(String key, ClassData value) {
+            throw readOnly();
+        }
+
+        @Override
+        public ClassData remove(Object key) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean remove(Object key, Object value) {
+            throw readOnly();
+        }
+
+        @Override
+        public ClassData replace(String key, ClassData value) {
+            throw readOnly();
+        }
+
+        @Override
+        public boolean replace(String key, ClassData oldValue, ClassData newValue) {
+            throw readOnly();
+        }
+
+        @Override
+        public void replaceAll(BiFunction<? super String, ? super ClassData, ? extends ClassData> function) {
+            throw readOnly();
+        }
+
+        @Override
+        public ClassData computeIfAbsent(String key, Function<? super String, ? extends ClassData> function) {
+            throw readOnly();
+        }
+
+        @Override
+        public ClassData computeIfPresent(String key, BiFunction<? super String, ? super ClassData, ? extends ClassData> function) {
+            throw readOnly();
+        }
+
+        @Override
+        public ClassData compute(String key, BiFunction<? super String, ? super ClassData, ? extends ClassData> function) {
+            throw readOnly();
+        }
+
+        @Override
+        public ClassData merge(String key, ClassData value, BiFunction<? super ClassData, ? super ClassData, ? extends ClassData> function) {
+            throw readOnly();
+        }
+
+        @Override
+        public void clear() {
+            throw readOnly();
+        }
+
+        @Override
+        public Set<String> keySet() {
+            return Collections.unmodifiableSet(super.keySet());
+        }
+
+        @Override
+        public Collection<ClassData> values() {
+            return Collections.unmodifiableCollection(super.values());
+        }
+
+        @Override
+        public Set<Map.Entry<String, ClassData>> entrySet() {
+            return Collections.unmodifiableSet(super.entrySet());
+        }
+
+        private static UnsupportedOperationException readOnly() {
+            return new UnsupportedOperationException("Mappings from getMappings() are read only, use HierarchyManager#addClass.");
+        }
     }
-}
\ No newline at end of file
+}
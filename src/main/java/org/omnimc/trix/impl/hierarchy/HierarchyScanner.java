@@ -0,0 +1,189 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.commons.Remapper;
+import org.omnimc.trix.impl.visitors.hierarchy.HierarchyClassVisitor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+/**
+ * Fills a {@link HierarchyManager} by reading classes on many threads at once.
+ * <p>
+ * Classes are read with {@link ClassReader#SKIP_CODE}, {@link ClassReader#SKIP_DEBUG} and
+ * {@link ClassReader#SKIP_FRAMES}, so only the header, fields and method signatures are ever parsed. Method bodies
+ * are most of a class file and are never needed to build a hierarchy.
+ * <p>
+ * A jar's entries are read on the calling thread and every class is parsed as its own task on the configured
+ * {@link Executor}. Jars are scanned one after another and each one finishes before the next one starts. Only one
+ * jar's classes are held at a time, and a class found in several jars always comes from the last one scanned.
+ * <p>
+ * The {@link Remapper} is called from several threads at once and must be safe to share.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class HierarchyScanner {
+
+    /**
+     * Everything that can be skipped while still seeing every field and method a class declares.
+     */
+    public static final int PARSING_OPTIONS = ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES;
+
+    private static final String CLASS_EXTENSION = ".class";
+
+    private final HierarchyManager hierarchyManager;
+    private final Remapper remapper;
+    private final Executor executor;
+
+    public HierarchyScanner(HierarchyManager hierarchyManager, Remapper remapper) {
+        this(hierarchyManager, remapper, ForkJoinPool.commonPool());
+    }
+
+    public HierarchyScanner(HierarchyManager hierarchyManager, Remapper remapper, Executor executor) {
+        this.hierarchyManager = Objects.requireNonNull(hierarchyManager, "HierarchyManager cannot be null.");
+        this.remapper = Objects.requireNonNull(remapper, "Remapper cannot be null.");
+        this.executor = Objects.requireNonNull(executor, "Executor cannot be null.");
+    }
+
+    /**
+     * Scans every class of every jar in order.
+     *
+     * @param jars The jars to scan, later jars win over earlier ones.
+     * @throws IOException If a jar can't be read or holds a class that can't be parsed.
+     */
+    public void scan(Collection<Path> jars) throws IOException {
+        for (Path jar : jars) {
+            scan(jar);
+        }
+    }
+
+    /**
+     * Scans every class of {@code jar}. Versioned classes under {@code META-INF/} and {@code module-info} are
+     * skipped, they never take part in the hierarchy.
+     *
+     * @param jar The jar to scan.
+     * @throws IOException If the jar can't be read or holds a class that can't be parsed.
+     */
+    public void scan(Path jar) throws IOException {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>();
+
+        try (ZipFile zipFile = new ZipFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> entries = zipFile.entries();
+            while (entries.hasMoreElements()) {
+                ZipEntry entry = entries.nextElement();
+                if (!isScannable(entry)) {
+                    continue;
+                }
+
+                byte[] bytes;
+                try (InputStream inputStream = zipFile.getInputStream(entry)) {
+                    bytes = inputStream.readAllBytes();
+                }
+                tasks.add(submit(entry.getName(), bytes));
+            }
+        } catch (IOException | RuntimeException e) {
+            // The tasks already submitted still have to finish, but the failed read is what went wrong.
+            try {
+                await(tasks, jar.toString());
+            } catch (IOException | RuntimeException suppressed) {
+                e.addSuppressed(suppressed);
+            }
+            throw e;
+        }
+
+        await(tasks, jar.toString());
+    }
+
+    /**
+     * Scans classes that are already in memory.
+     *
+     * @param classes The bytes of every class to scan.
+     * @throws IOException If a class can't be parsed.
+     */
+    public void scanClasses(Collection<byte[]> classes) throws IOException {
+        List<CompletableFuture<Void>> tasks = new ArrayList<>(classes.size());
+        int index = 0;
+        for (byte[] bytes : classes) {
+            tasks.add(submit("class #" + index++, bytes));
+        }
+        await(tasks, "classes");
+    }
+
+    /**
+     * Parses a single class on the calling thread.
+     *
+     * @param classBytes The bytes of the class.
+     */
+    public void scanClass(byte[] classBytes) {
+        new ClassReader(classBytes).accept(new HierarchyClassVisitor(null, remapper, hierarchyManager), PARSING_OPTIONS);
+    }
+
+    private CompletableFuture<Void> submit(String name, byte[] bytes) {
+        return CompletableFuture.runAsync(() -> {
+            try {
+                scanClass(bytes);
+            } catch (RuntimeException e) {
+                throw new UncheckedIOException(new IOException("Failed to scan " + name, e));
+            }
+        }, executor);
+    }
+
+    static boolean isScannable(ZipEntry entry) {
+        String name = entry.getName();
+        return !entry.isDirectory()
+                && name.endsWith(CLASS_EXTENSION)
+                && !name.startsWith("META-INF/")
+                && !name.endsWith("module-info.class");
+    }
+
+    private static void await(List<CompletableFuture<Void>> tasks, String source) throws IOException {
+        try {
+            CompletableFuture.allOf(tasks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            throw new IOException("Failed to scan " + source, cause);
+        }
+    }
+}
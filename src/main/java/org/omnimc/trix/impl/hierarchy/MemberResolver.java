@@ -0,0 +1,232 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.lumina.data.types.FieldData;
+import org.omnimc.lumina.data.types.MethodData;
+import org.omnimc.trix.api.cache.LookupCache;
+import org.omnimc.trix.api.mapping.MappingSource;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Resolves inherited fields and methods through links to each class's parents instead of copying them.
+ * <p>
+ * Every class keeps only the members it declares. A lookup resolves the member in every parent and picks the one
+ * declared furthest up the hierarchy, preferring the last declared parent between equally deep ones, and only falls
+ * back to the class's own declaration when no ancestor has it. That is exactly the answer
+ * {@link HierarchyManager#populateClassFiles()} would have copied in. Results are kept, along with how far up they
+ * were declared, in one bounded {@link LookupCache} shared by every class, so heap use grows with the declared
+ * members and the cache size rather than with every member of every ancestor of every class.
+ * <p>
+ * Edges that close a cycle are dropped when the resolver is created, so every lookup terminates. A resolver is a
+ * snapshot of the classes it was created from and is safe to use from many threads.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class MemberResolver implements MappingSource {
+
+    private static final String[] NO_PARENTS = new String[0];
+
+    private final Map<String, ClassData> classes;
+    private final Map<String, String[]> parents;
+    private final LookupCache<String, Resolved<FieldData>> fieldCache;
+    private final LookupCache<String, Resolved<MethodData>> methodCache;
+
+    MemberResolver(Map<String, ClassData> classes, int cacheSize) {
+        this.classes = new HashMap<>(classes);
+        this.parents = linkParents(this.classes);
+        this.fieldCache = new LookupCache<>(cacheSize);
+        this.methodCache = new LookupCache<>(cacheSize);
+    }
+
+    /**
+     * @param owner      The obfuscated name of the class the field is looked up in.
+     * @param name       The obfuscated field name.
+     * @param descriptor The remapped field descriptor.
+     * @return The field as declared by {@code owner} or inherited, or {@code null} if neither.
+     */
+    public FieldData findField(String owner, String name, String descriptor) {
+        Resolved<FieldData> resolved = resolveField(owner, name, descriptor);
+        return resolved == null ? null : resolved.member;
+    }
+
+    /**
+     * @param owner      The obfuscated name of the class the method is looked up in.
+     * @param name       The obfuscated method name.
+     * @param descriptor The remapped method descriptor.
+     * @return The method as declared by {@code owner} or inherited, or {@code null} if neither.
+     */
+    public MethodData findMethod(String owner, String name, String descriptor) {
+        Resolved<MethodData> resolved = resolveMethod(owner, name, descriptor);
+        return resolved == null ? null : resolved.member;
+    }
+
+    /**
+     * @return The parents {@code className} resolves through, super class first, without any that close a cycle.
+     */
+    public String[] getParents(String className) {
+        return parents.getOrDefault(className, NO_PARENTS).clone();
+    }
+
+    @Override
+    public String mapClassName(String name) {
+        ClassData classData = classes.get(name);
+        return classData == null ? null : classData.getClassName();
+    }
+
+    @Override
+    public String mapFieldName(String owner, String name, String descriptor) {
+        FieldData fieldData = findField(owner, name, descriptor);
+        return fieldData == null ? null : fieldData.getFieldName();
+    }
+
+    @Override
+    public String mapMethodName(String owner, String name, String descriptor) {
+        MethodData methodData = findMethod(owner, name, descriptor);
+        return methodData == null ? null : methodData.getMethodName();
+    }
+
+    @Override
+    public boolean containsClass(String name) {
+        return classes.containsKey(name);
+    }
+
+    /**
+     * @return The cache of resolved fields, for its statistics.
+     */
+    public LookupCache<String, ?> getFieldCache() {
+        return fieldCache;
+    }
+
+    /**
+     * @return The cache of resolved methods, for its statistics.
+     */
+    public LookupCache<String, ?> getMethodCache() {
+        return methodCache;
+    }
+
+    private Resolved<FieldData> resolveField(String owner, String name, String descriptor) {
+        if (!classes.containsKey(owner)) {
+            return null;
+        }
+
+        return fieldCache.get(owner + '.' + name + ':' + descriptor, ignored -> {
+            Resolved<FieldData> inherited = null;
+            for (String parent : parents.get(owner)) {
+                inherited = Resolved.deeper(inherited, resolveField(parent, name, descriptor));
+            }
+            return inherited != null ? inherited : Resolved.declared(classes.get(owner).getField(name, descriptor));
+        });
+    }
+
+    private Resolved<MethodData> resolveMethod(String owner, String name, String descriptor) {
+        if (!classes.containsKey(owner)) {
+            return null;
+        }
+
+        return methodCache.get(owner + '.' + name + descriptor, ignored -> {
+            Resolved<MethodData> inherited = null;
+            for (String parent : parents.get(owner)) {
+                inherited = Resolved.deeper(inherited, resolveMethod(parent, name, descriptor));
+            }
+            return inherited != null ? inherited : Resolved.declared(classes.get(owner).getMethod(name, descriptor));
+        });
+    }
+
+    /**
+     * Links every class to its known parents with a depth first walk, dropping any edge to a class that is still
+     * being walked since that edge closes a cycle.
+     */
+    private static Map<String, String[]> linkParents(Map<String, ClassData> classes) {
+        Map<String, String[]> parents = new HashMap<>((int) (classes.size() / 0.75f) + 1);
+        Map<String, Boolean> visiting = new HashMap<>();
+        for (String className : classes.keySet()) {
+            link(className, classes, parents, visiting);
+        }
+        return parents;
+    }
+
+    private static void link(String className, Map<String, ClassData> classes, Map<String, String[]> parents, Map<String, Boolean> visiting) {
+        if (parents.containsKey(className) || visiting.putIfAbsent(className, Boolean.TRUE) != null) {
+            return;
+        }
+
+        List<String> linked = new ArrayList<>(2);
+        for (String dependency : classes.get(className).getDependentClasses()) {
+            if (dependency == null || !classes.containsKey(dependency) || linked.contains(dependency)) {
+                continue;
+            }
+
+            link(dependency, classes, parents, visiting);
+            if (parents.containsKey(dependency)) {
+                linked.add(dependency);
+            }
+        }
+
+        parents.put(className, linked.isEmpty() ? NO_PARENTS : linked.toArray(String[]::new));
+        visiting.remove(className);
+    }
+
+    /**
+     * A resolved member and how many levels above the class it was looked up in it was declared.
+     */
+    @SuppressWarnings("ClassCanBeRecord")
+    private static final class Resolved<T> {
+
+        private final T member;
+        private final int depth;
+
+        private Resolved(T member, int depth) {
+            this.member = member;
+            this.depth = depth;
+        }
+
+        private static <T> Resolved<T> declared(T member) {
+            return member == null ? null : new Resolved<>(member, 0);
+        }
+
+        /**
+         * @param current   The member inherited from the earlier parents so far, or {@code null}.
+         * @param candidate The member as resolved in the next parent, or {@code null}.
+         * @return Whichever was declared further up, {@code candidate} when they are equally far up.
+         */
+        private static <T> Resolved<T> deeper(Resolved<T> current, Resolved<T> candidate) {
+            if (candidate == null) {
+                return current;
+            }
+            if (current != null && current.depth > candidate.depth + 1) {
+                return current;
+            }
+            return new Resolved<>(candidate.member, candidate.depth + 1);
+        }
+    }
+}
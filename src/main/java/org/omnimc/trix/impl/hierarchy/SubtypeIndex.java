@@ -0,0 +1,320 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.impl.hierarchy;
+
+import org.omnimc.lumina.data.types.ClassData;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.IntPredicate;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The hierarchy turned upside down: for every type, the classes and interfaces that directly extend or implement it.
+ * <p>
+ * Every type is given an {@code int} id, and the subtypes of all types are packed into one array where the subtypes
+ * of type {@code i} sit between {@code offsets[i]} and {@code offsets[i + 1]}. Looking up direct subtypes is two
+ * array reads, and walking all subtypes never touches a map. Types that are only ever extended, like
+ * {@code java/lang/Object}, are part of the index too, so their subtypes can be asked for as well.
+ * <p>
+ * Every query is lazy, subtypes are only found as the result is iterated. Member queries check the {@link ClassData}
+ * of each subtype, so they only see what a class declares as long as {@link HierarchyManager#populateClassFiles()}
+ * hasn't been called, use {@link HierarchyManager#createMemberResolver()} instead of flattening.
+ * <p>
+ * An index is a snapshot of the classes it was created from and is safe to use from many threads.
+ *
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public final class SubtypeIndex {
+
+    private final String[] names;
+    private final Map<String, Integer> ids;
+    private final ClassData[] classes;
+    private final int[] offsets;
+    private final int[] subtypes;
+
+    SubtypeIndex(Map<String, ClassData> classData) {
+        Map<String, Integer> ids = new HashMap<>();
+        for (Map.Entry<String, ClassData> entry : classData.entrySet()) {
+            ids.putIfAbsent(entry.getKey(), 0);
+            for (String dependency : entry.getValue().getDependentClasses()) {
+                if (dependency != null) {
+                    ids.putIfAbsent(dependency, 0);
+                }
+            }
+        }
+
+        // Ids are given out in name order, so results come back in the same order every run.
+        this.names = ids.keySet().toArray(String[]::new);
+        Arrays.sort(names);
+        for (int i = 0; i < names.length; i++) {
+            ids.put(names[i], i);
+        }
+        this.ids = ids;
+
+        this.classes = new ClassData[names.length];
+        int[][] parents = new int[names.length][];
+        this.offsets = new int[names.length + 1];
+        for (int i = 0; i < names.length; i++) {
+            classes[i] = classData.get(names[i]);
+            parents[i] = classes[i] == null ? new int[0] : getParents(i, classes[i]);
+            for (int parent : parents[i]) {
+                offsets[parent + 1]++;
+            }
+        }
+
+        for (int i = 0; i < names.length; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        this.subtypes = new int[offsets[names.length]];
+        int[] cursor = Arrays.copyOf(offsets, names.length);
+        for (int i = 0; i < names.length; i++) {
+            for (int parent : parents[i]) {
+                subtypes[cursor[parent]++] = i;
+            }
+        }
+    }
+
+    /**
+     * @param name The internal name of a type.
+     * @return The classes and interfaces that directly extend or implement {@code name}, empty if there are none.
+     */
+    public List<String> getDirectSubtypes(String name) {
+        Integer id = ids.get(name);
+        if (id == null) {
+            return List.of();
+        }
+
+        int from = offsets[id];
+        int size = offsets[id + 1] - from;
+        return new AbstractList<>() {
+            @Override
+            public String get(int index) {
+                if (index < 0 || index >= size) {
+                    throw new IndexOutOfBoundsException(index);
+                }
+                return names[subtypes[from + index]];
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    public int getDirectSubtypeCount(String name) {
+        Integer id = ids.get(name);
+        return id == null ? 0 : offsets[id + 1] - offsets[id];
+    }
+
+    /**
+     * @param name The internal name of a type.
+     * @return Every type below {@code name}, nearest first, each one only once. {@code name} itself is left out.
+     */
+    public Iterable<String> getSubtypes(String name) {
+        return () -> walk(name, id -> true, id -> true);
+    }
+
+    public Stream<String> streamSubtypes(String name) {
+        return stream(walk(name, id -> true, id -> true));
+    }
+
+    /**
+     * @param subtype   The internal name of a type.
+     * @param supertype The internal name of another type.
+     * @return {@code true} if {@code subtype} is {@code supertype} or anywhere below it.
+     */
+    public boolean isSubtype(String subtype, String supertype) {
+        if (subtype.equals(supertype)) {
+            return true;
+        }
+
+        Integer target = ids.get(subtype);
+        if (target == null) {
+            return false;
+        }
+
+        Iterator<String> iterator = walk(supertype, id -> id == target, id -> id != target);
+        return iterator.hasNext();
+    }
+
+    /**
+     * @param owner      The obfuscated name of the class declaring the method.
+     * @param name       The obfuscated method name.
+     * @param descriptor The remapped method descriptor, the same way lumina keys its members.
+     * @return Every subtype of {@code owner} that declares the same method, nearest first.
+     */
+    public Stream<String> streamOverriders(String owner, String name, String descriptor) {
+        return stream(walk(owner, id -> classes[id] != null && classes[id].getMethod(name, descriptor) != null, id -> true));
+    }
+
+    /**
+     * @param owner      The obfuscated name of the class declaring the method.
+     * @param name       The obfuscated method name.
+     * @param descriptor The remapped method descriptor.
+     * @return Every subtype of {@code owner} that inherits the method without overriding it. Types below an
+     * override inherit the override instead and are left out.
+     */
+    public Stream<String> streamMethodInheritors(String owner, String name, String descriptor) {
+        IntPredicate inherits = id -> classes[id] == null || classes[id].getMethod(name, descriptor) == null;
+        return stream(walk(owner, inherits, inherits));
+    }
+
+    /**
+     * @param owner      The obfuscated name of the class declaring the field.
+     * @param name       The obfuscated field name.
+     * @param descriptor The remapped field descriptor.
+     * @return Every subtype of {@code owner} that sees the field, stopping at types that hide it with their own.
+     */
+    public Stream<String> streamFieldInheritors(String owner, String name, String descriptor) {
+        IntPredicate inherits = id -> classes[id] == null || classes[id].getField(name, descriptor) == null;
+        return stream(walk(owner, inherits, inherits));
+    }
+
+    /**
+     * @return The amount of types in the index, including ones that are only ever extended.
+     */
+    public int getTypeCount() {
+        return names.length;
+    }
+
+    /**
+     * @return The amount of subtype edges in the index.
+     */
+    public int getEdgeCount() {
+        return subtypes.length;
+    }
+
+    private int[] getParents(int id, ClassData classData) {
+        int[] parents = new int[classData.getDependentClasses().size()];
+        int count = 0;
+        outer:
+        for (String dependency : classData.getDependentClasses()) {
+            if (dependency == null) {
+                continue;
+            }
+
+            int parent = ids.get(dependency);
+            if (parent == id) {
+                continue;
+            }
+            for (int i = 0; i < count; i++) {
+                if (parents[i] == parent) {
+                    continue outer;
+                }
+            }
+            parents[count++] = parent;
+        }
+        return count == parents.length ? parents : Arrays.copyOf(parents, count);
+    }
+
+    private Iterator<String> walk(String root, IntPredicate include, IntPredicate expand) {
+        Integer id = ids.get(root);
+        if (id == null) {
+            return Collections.emptyIterator();
+        }
+        return new SubtypeIterator(id, include, expand);
+    }
+
+    private static Stream<String> stream(Iterator<String> iterator) {
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.DISTINCT | Spliterator.NONNULL), false);
+    }
+
+    /**
+     * A breadth first walk over the subtypes of a type that only finds the next result when asked for it.
+     */
+    private final class SubtypeIterator implements Iterator<String> {
+
+        private final IntPredicate include;
+        private final IntPredicate expand;
+        private final BitSet visited = new BitSet(names.length);
+
+        private int[] queue = new int[16];
+        private int head;
+        private int tail;
+        private int next = -1;
+
+        private SubtypeIterator(int root, IntPredicate include, IntPredicate expand) {
+            this.include = include;
+            this.expand = expand;
+            visited.set(root);
+            enqueueSubtypes(root);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (next == -1 && head < tail) {
+                int candidate = queue[head++];
+                if (expand.test(candidate)) {
+                    enqueueSubtypes(candidate);
+                }
+                if (include.test(candidate)) {
+                    next = candidate;
+                }
+            }
+            return next != -1;
+        }
+
+        @Override
+        public String next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+
+            String name = names[next];
+            next = -1;
+            return name;
+        }
+
+        private void enqueueSubtypes(int id) {
+            for (int i = offsets[id]; i < offsets[id + 1]; i++) {
+                int subtype = subtypes[i];
+                if (visited.get(subtype)) {
+                    continue;
+                }
+
+                visited.set(subtype);
+                if (tail == queue.length) {
+                    queue = Arrays.copyOf(queue, Math.min(names.length, queue.length * 2));
+                }
+                queue[tail++] = subtype;
+            }
+        }
+    }
+}
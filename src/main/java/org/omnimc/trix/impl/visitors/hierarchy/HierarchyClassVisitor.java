@@ -31,11 +31,17 @@ import org.objectweb.asm.MethodVisitor;
 import org.objectweb.asm.commons.Remapper;
 import org.omnimc.lumina.data.types.ClassData;
 import org.omnimc.trix.api.asm.Compatibility;
+import org.omnimc.trix.impl.hierarchy.ClassHeader;
 import org.omnimc.trix.impl.hierarchy.HierarchyManager;
 
 import java.lang.reflect.Modifier;
 
 /**
+ * Records the header, fields and methods of a class into a {@link HierarchyManager}.
+ * <p>
+ * Only the class declaration and member signatures are looked at, so the visitor can be driven by a reader that
+ * skips code, see {@link org.omnimc.trix.impl.hierarchy.HierarchyScanner}, and the delegate may be {@code null}.
+ *
  * @author <a href=https://github.com/CadenCCC>Caden</a>
  * @since 2.0.0
  */
@@ -56,6 +62,7 @@ public class HierarchyClassVisitor extends ClassVisitor {
     @Override
     public void visit(int version, int access, String name, String signature, String superName, String[] interfaces) {
         obfuscatedClassName = name;
+        hierarchyManager.addClassHeader(new ClassHeader(name, access, superName, interfaces));
         this.classData = new ClassData(remapper.map(name));
 
         classData.addDependentClass(superName);
@@ -0,0 +1,125 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.commons.SimpleRemapper;
+import org.omnimc.trix.api.TrixRemapper;
+import org.omnimc.trix.api.cache.DescriptorCache;
+import org.omnimc.trix.api.mapping.SymbolTable;
+
+import java.util.Map;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class DescriptorCacheTest {
+
+    private static final Map<String, String> CLASSES = Map.of(
+            "a", "net/minecraft/A",
+            "b", "net/minecraft/B",
+            "a$c", "net/minecraft/A$Inner"
+    );
+
+    private static final String[] DESCRIPTORS = {"I", "[[J", "La;", "[Lb;", "Ljava/lang/String;", "Lunmapped;"};
+    private static final String[] METHOD_DESCRIPTORS = {"()V", "(La;[Lb;I)La;", "(JD)[[La;", "(Ljava/lang/Object;)Z"};
+    private static final String[] TYPE_SIGNATURES = {"La;", "Ljava/util/List<La;>;", "TT;", "La<Lb;>.c;", "[Ljava/util/Map<La;+Lb;>;"};
+    private static final String[] SIGNATURES = {
+            "<T:La;>Ljava/lang/Object;Ljava/lang/Comparable<TT;>;",
+            "<K:Ljava/lang/Object;>(TK;Ljava/util/List<-Lb;>;)La;",
+            "Ljava/lang/Object;Ljava/util/function/Supplier<La<Lb;>.c;>;"
+    };
+
+    private static TrixRemapper createCachedRemapper() {
+        SymbolTable.Builder builder = SymbolTable.builder();
+        CLASSES.forEach(builder::addClass);
+        return new TrixRemapper(builder.build());
+    }
+
+    @Test
+    public void testMatchesUncachedRemapper() {
+        TrixRemapper cached = createCachedRemapper();
+        Remapper uncached = new SimpleRemapper(CLASSES);
+
+        // Twice, so the second round is answered from the cache.
+        for (int round = 0; round < 2; round++) {
+            for (String descriptor : DESCRIPTORS) {
+                Assertions.assertEquals(uncached.mapDesc(descriptor), cached.mapDesc(descriptor), descriptor);
+            }
+            for (String descriptor : METHOD_DESCRIPTORS) {
+                Assertions.assertEquals(uncached.mapMethodDesc(descriptor), cached.mapMethodDesc(descriptor), descriptor);
+            }
+            for (String signature : TYPE_SIGNATURES) {
+                Assertions.assertEquals(uncached.mapSignature(signature, true), cached.mapSignature(signature, true), signature);
+            }
+            for (String signature : SIGNATURES) {
+                Assertions.assertEquals(uncached.mapSignature(signature, false), cached.mapSignature(signature, false), signature);
+            }
+        }
+
+        Assertions.assertNull(cached.mapSignature(null, false));
+        Assertions.assertNull(cached.mapSignature(null, true));
+        Assertions.assertEquals("I", cached.mapDesc("I"));
+        Assertions.assertTrue(cached.getDescriptorCache().getHits() > 0);
+    }
+
+    @Test
+    public void testResultsAreInterned() {
+        TrixRemapper cached = createCachedRemapper();
+
+        String first = cached.mapMethodDesc(new String("(La;)Lb;"));
+        String second = cached.mapMethodDesc(new String("(La;)Lb;"));
+
+        Assertions.assertEquals("(Lnet/minecraft/A;)Lnet/minecraft/B;", first);
+        Assertions.assertSame(first, second, "The same remapped instance should be handed back.");
+    }
+
+    @Test
+    public void testKindsAreKeptApart() {
+        DescriptorCache cache = new DescriptorCache();
+
+        Assertions.assertEquals("type", cache.mapSignature("La;", true, value -> "type"));
+        Assertions.assertEquals("class", cache.mapSignature("La;", false, value -> "class"));
+        Assertions.assertEquals("descriptor", cache.mapDesc("La;", value -> "descriptor"));
+        Assertions.assertEquals("type", cache.mapSignature("La;", true, value -> "other"));
+    }
+
+    @Test
+    public void testCacheIsBounded() {
+        DescriptorCache cache = new DescriptorCache(8);
+
+        for (int i = 0; i < 1_000; i++) {
+            cache.mapDesc("Lc" + i + ';', value -> value);
+            cache.mapMethodDesc("(Lc" + i + ";)V", value -> value);
+        }
+
+        Assertions.assertTrue(cache.getSize() <= 16, "Every kind should stay within its maximum size, got " + cache.getSize());
+        Assertions.assertEquals(2_000, cache.getMisses());
+    }
+}
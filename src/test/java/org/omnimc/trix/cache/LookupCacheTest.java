@@ -0,0 +1,86 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.trix.api.cache.LookupCache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class LookupCacheTest {
+
+    @Test
+    public void testHitsAndMisses() {
+        LookupCache<String, String> cache = new LookupCache<>(16);
+        AtomicInteger loads = new AtomicInteger();
+
+        for (int i = 0; i < 3; i++) {
+            Assertions.assertEquals("a/B", cache.get("a", key -> {
+                loads.incrementAndGet();
+                return "a/B";
+            }));
+        }
+
+        Assertions.assertEquals(1, loads.get(), "Loader should only run once per key.");
+        Assertions.assertEquals(1, cache.getMisses());
+        Assertions.assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    public void testNegativeResultsAreCached() {
+        LookupCache<String, String> cache = new LookupCache<>(16);
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("java/lang/Object", key -> {
+            loads.incrementAndGet();
+            return null;
+        });
+
+        Assertions.assertNull(cache.get("java/lang/Object", key -> {
+            loads.incrementAndGet();
+            return "nope";
+        }));
+
+        Assertions.assertEquals(1, loads.get(), "A null result should be remembered.");
+    }
+
+    @Test
+    public void testEviction() {
+        LookupCache<Integer, Integer> cache = new LookupCache<>(8);
+
+        for (int i = 0; i < 100; i++) {
+            cache.get(i, key -> key);
+        }
+
+        Assertions.assertTrue(cache.getSize() <= cache.getMaximumSize(), "Cache grew past its maximum size.");
+        Assertions.assertTrue(cache.getEvictions() > 0, "Cache never evicted anything.");
+    }
+}
@@ -0,0 +1,196 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.cache;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.trix.api.cache.TransformCache;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.resource.FileTrait;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class TransformCacheTest {
+
+    private static byte[] createBytes(int seed, int length) {
+        byte[] bytes = new byte[length];
+        Arrays.fill(bytes, (byte) seed);
+        return bytes;
+    }
+
+    private static Set<Path> listEntries(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            return new HashSet<>(paths.filter(path -> path.getFileName().toString().endsWith(".bin")).toList());
+        }
+    }
+
+    /**
+     * Puts an entry and returns the file it was written to.
+     */
+    private static Path put(TransformCache cache, byte[] input, byte[] output) throws IOException {
+        Set<Path> before = listEntries(cache.getDirectory());
+        cache.put(input, "fingerprint", output);
+        Set<Path> after = listEntries(cache.getDirectory());
+        after.removeAll(before);
+        Assertions.assertEquals(1, after.size(), "Every put should write exactly one new entry.");
+        return after.iterator().next();
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testHitAndMiss() throws IOException {
+        Path directory = Files.createTempDirectory("trix-cache");
+        try {
+            TransformCache cache = new TransformCache(directory);
+            byte[] input = createBytes(1, 100);
+            byte[] output = createBytes(2, 150);
+
+            Assertions.assertNull(cache.get(input, "fingerprint"));
+            cache.put(input, "fingerprint", output);
+
+            Assertions.assertArrayEquals(output, cache.get(input, "fingerprint"));
+            Assertions.assertNull(cache.get(input, "other"), "A different fingerprint should never hit.");
+            Assertions.assertNull(cache.get(createBytes(3, 100), "fingerprint"));
+            Assertions.assertEquals(1, cache.getHits());
+            Assertions.assertEquals(3, cache.getMisses());
+
+            AtomicInteger transforms = new AtomicInteger();
+            for (int i = 0; i < 2; i++) {
+                cache.computeIfAbsent(input, "computed", bytes -> {
+                    transforms.incrementAndGet();
+                    return output;
+                });
+            }
+            Assertions.assertEquals(1, transforms.get(), "The second call should be served from the cache.");
+
+            Assertions.assertArrayEquals(output, new TransformCache(directory).get(input, "fingerprint"), "Entries should outlive the instance that wrote them.");
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testLeastRecentlyUsedIsEvicted() throws IOException {
+        Path directory = Files.createTempDirectory("trix-cache");
+        try {
+            TransformCache cache = new TransformCache(directory, 1000);
+            byte[][] inputs = new byte[5][];
+            Path[] entries = new Path[5];
+            for (int i = 0; i < 4; i++) {
+                inputs[i] = createBytes(i, 10);
+                entries[i] = put(cache, inputs[i], createBytes(i, 200));
+                Files.setLastModifiedTime(entries[i], FileTime.fromMillis((i + 1) * 1000L));
+            }
+
+            Assertions.assertNotNull(cache.get(inputs[0], "fingerprint"), "Using the oldest entry should make it the newest.");
+
+            inputs[4] = createBytes(4, 10);
+            put(cache, inputs[4], createBytes(4, 200));
+
+            Assertions.assertEquals(1, cache.getEvictions());
+            Assertions.assertFalse(Files.exists(entries[1]), "The least recently used entry should be evicted.");
+            for (int i : new int[]{0, 2, 3, 4}) {
+                Assertions.assertNotNull(cache.get(inputs[i], "fingerprint"), "Entry " + i + " should have been kept.");
+            }
+            Assertions.assertNull(cache.get(inputs[1], "fingerprint"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testTornEntryIsAMiss() throws IOException {
+        Path directory = Files.createTempDirectory("trix-cache");
+        try {
+            TransformCache cache = new TransformCache(directory);
+            byte[] input = createBytes(1, 100);
+            byte[] output = createBytes(2, 150);
+
+            Path entry = put(cache, input, output);
+            byte[] stored = Files.readAllBytes(entry);
+            Files.write(entry, Arrays.copyOf(stored, stored.length - 10));
+
+            Assertions.assertNull(cache.get(input, "fingerprint"), "A truncated entry should never be handed out.");
+            Assertions.assertFalse(Files.exists(entry), "A truncated entry should be deleted.");
+            Assertions.assertEquals(0, cache.getHits());
+            Assertions.assertEquals(1, cache.getMisses());
+
+            entry = put(cache, input, output);
+            stored = Files.readAllBytes(entry);
+            stored[stored.length - 1] ^= 1;
+            Files.write(entry, stored);
+
+            Assertions.assertNull(cache.get(input, "fingerprint"), "A damaged entry should never be handed out.");
+
+            Files.createDirectories(entry.getParent());
+            Files.write(entry, new byte[3]);
+            Assertions.assertNull(cache.get(input, "fingerprint"), "An entry shorter than its header should never be handed out.");
+
+            cache.put(input, "fingerprint", output);
+            Assertions.assertArrayEquals(output, cache.get(input, "fingerprint"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testFingerprint() {
+        Target target = Target.direct(5, "a.txt");
+        FileTrait first = FileTrait.of((bytes, remapper) -> bytes, target);
+        FileTrait second = FileTrait.of((bytes, remapper) -> bytes.clone(), target);
+
+        String fingerprint = TransformCache.fingerprint("1.0", TraitSequence.createImmutableTraitSequence(first));
+
+        Assertions.assertEquals(fingerprint, TransformCache.fingerprint("1.0", TraitSequence.createImmutableTraitSequence(second)),
+                                "Only the salt should tell trait code apart.");
+        Assertions.assertNotEquals(fingerprint, TransformCache.fingerprint("1.1", TraitSequence.createImmutableTraitSequence(first)));
+        Assertions.assertNotEquals(fingerprint, TransformCache.fingerprint("1.0", TraitSequence.createImmutableTraitSequence(
+                FileTrait.of((bytes, remapper) -> bytes, Target.direct(6, "a.txt")))));
+        Assertions.assertNotEquals(fingerprint, TransformCache.fingerprint("1.0", null, TraitSequence.createImmutableTraitSequence(first)),
+                                   "Which sequence a trait is in should matter.");
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.hierarchy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Label;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.ClassRemapper;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.commons.SimpleRemapper;
+import org.omnimc.trix.api.asm.ClassWriterFactory;
+import org.omnimc.trix.impl.hierarchy.ClassHeader;
+import org.omnimc.trix.impl.hierarchy.CommonSuperClassResolver;
+import org.omnimc.trix.impl.hierarchy.HierarchyClassWriter;
+import org.omnimc.trix.impl.hierarchy.HierarchyManager;
+
+import java.util.Map;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class CommonSuperClassResolverTest {
+
+    private static HierarchyManager createHierarchy() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        hierarchyManager.addClassHeader(new ClassHeader("a", Opcodes.ACC_PUBLIC, "c", null));
+        hierarchyManager.addClassHeader(new ClassHeader("b", Opcodes.ACC_PUBLIC, "a", new String[]{"i"}));
+        hierarchyManager.addClassHeader(new ClassHeader("c", Opcodes.ACC_PUBLIC, "java/lang/Exception", null));
+        hierarchyManager.addClassHeader(new ClassHeader("d", Opcodes.ACC_PUBLIC, "c", new String[]{"i"}));
+        hierarchyManager.addClassHeader(new ClassHeader("i", Opcodes.ACC_PUBLIC | Opcodes.ACC_INTERFACE | Opcodes.ACC_ABSTRACT, "java/lang/Object", null));
+        return hierarchyManager;
+    }
+
+    @Test
+    public void testCommonSuperClass() {
+        CommonSuperClassResolver resolver = new CommonSuperClassResolver(createHierarchy());
+
+        Assertions.assertEquals("a", resolver.getCommonSuperClass("a", "b"));
+        Assertions.assertEquals("a", resolver.getCommonSuperClass("b", "a"));
+        Assertions.assertEquals("c", resolver.getCommonSuperClass("b", "d"));
+        Assertions.assertEquals("i", resolver.getCommonSuperClass("i", "d"));
+        Assertions.assertEquals(CommonSuperClassResolver.OBJECT, resolver.getCommonSuperClass("i", "a"));
+    }
+
+    @Test
+    public void testTypesOutsideTheHierarchy() {
+        CommonSuperClassResolver resolver = new CommonSuperClassResolver(createHierarchy());
+
+        Assertions.assertEquals("java/lang/Exception", resolver.getCommonSuperClass("b", "java/io/IOException"));
+        Assertions.assertEquals("java/lang/Exception", resolver.getCommonSuperClass("java/lang/RuntimeException", "java/io/IOException"));
+        Assertions.assertThrows(TypeNotPresentException.class, () -> resolver.getCommonSuperClass("b", "does/not/Exist"));
+        Assertions.assertThrows(TypeNotPresentException.class, () -> resolver.getCommonSuperClass("does/not/Exist", "b"));
+    }
+
+    @Test
+    public void testResultsAreMemoized() {
+        CommonSuperClassResolver resolver = new CommonSuperClassResolver(createHierarchy());
+
+        resolver.getCommonSuperClass("b", "d");
+        resolver.getCommonSuperClass("d", "b");
+
+        Assertions.assertEquals(1, resolver.getCommonSuperClassCache().getMisses());
+        Assertions.assertEquals(1, resolver.getCommonSuperClassCache().getHits());
+    }
+
+    /**
+     * @return A class without frames whose {@code pick} method returns either a {@code first} or a {@code second}.
+     */
+    private static byte[] createPicker(String first, String second) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "e", null, "java/lang/Object", null);
+
+        MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "pick", "(Z)Ljava/lang/Object;", null, null);
+        methodVisitor.visitCode();
+        Label otherwise = new Label();
+        Label end = new Label();
+        methodVisitor.visitVarInsn(Opcodes.ILOAD, 0);
+        methodVisitor.visitJumpInsn(Opcodes.IFEQ, otherwise);
+        methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, first);
+        methodVisitor.visitJumpInsn(Opcodes.GOTO, end);
+        methodVisitor.visitLabel(otherwise);
+        methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+        methodVisitor.visitTypeInsn(Opcodes.CHECKCAST, second);
+        methodVisitor.visitLabel(end);
+        methodVisitor.visitInsn(Opcodes.ARETURN);
+        methodVisitor.visitMaxs(1, 1);
+        methodVisitor.visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static String getMergedFrameStack(byte[] classBytes) {
+        String[] frameStack = new String[1];
+        new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                return new MethodVisitor(Opcodes.ASM9) {
+                    @Override
+                    public void visitFrame(int type, int numLocal, Object[] local, int numStack, Object[] stack) {
+                        if (numStack == 1) {
+                            frameStack[0] = (String) stack[0];
+                        }
+                    }
+                };
+            }
+        }, ClassReader.EXPAND_FRAMES);
+        return frameStack[0];
+    }
+
+    private static byte[] remap(byte[] classBytes, Remapper remapper, ClassWriterFactory factory) {
+        ClassReader classReader = new ClassReader(classBytes);
+        ClassWriter classWriter = factory.create(classReader);
+        classReader.accept(new ClassRemapper(classWriter, remapper), 0);
+        return classWriter.toByteArray();
+    }
+
+    @Test
+    public void testFramesAreComputed() {
+        ClassReader classReader = new ClassReader(createPicker("b", "d"));
+        ClassWriter classWriter = new HierarchyClassWriter(new CommonSuperClassResolver(createHierarchy()));
+        classReader.accept(classWriter, 0);
+
+        Assertions.assertEquals("c", getMergedFrameStack(classWriter.toByteArray()), "The merged frame should hold the common super class.");
+    }
+
+    @Test
+    public void testFramesAreComputedForRemappedClasses() {
+        Remapper remapper = new SimpleRemapper(Map.of(
+                "a", "net/A",
+                "b", "net/B",
+                "c", "net/C",
+                "d", "net/D",
+                "i", "net/I"
+        ));
+        HierarchyManager hierarchyManager = createHierarchy();
+        byte[] picker = createPicker("b", "d");
+
+        CommonSuperClassResolver resolver = new CommonSuperClassResolver(hierarchyManager, remapper);
+        Assertions.assertEquals("net/C", resolver.getCommonSuperClass("net/B", "net/D"));
+        Assertions.assertEquals("net/C", getMergedFrameStack(remap(picker, remapper, HierarchyClassWriter.factory(hierarchyManager, remapper))));
+        Assertions.assertEquals("net/C", getMergedFrameStack(remap(picker, remapper, HierarchyClassWriter.factory(resolver, true))), "Seeded writers should compute frames too.");
+
+        CommonSuperClassResolver obfuscated = new CommonSuperClassResolver(hierarchyManager, null, null);
+        Assertions.assertThrows(TypeNotPresentException.class, () -> obfuscated.getCommonSuperClass("net/B", "net/D"), "Mapped names should never silently fall back to java/lang/Object.");
+    }
+}
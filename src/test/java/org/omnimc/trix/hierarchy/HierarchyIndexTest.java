@@ -0,0 +1,277 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.hierarchy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.Remapper;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.impl.hierarchy.HierarchyIndex;
+import org.omnimc.trix.impl.hierarchy.HierarchyManager;
+import org.omnimc.trix.impl.hierarchy.HierarchyScanner;
+import org.omnimc.trix.impl.hierarchy.MemberResolver;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.ZipEntry;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class HierarchyIndexTest {
+
+    private static final Remapper REMAPPER = new Remapper() {
+        @Override
+        public String mapMethodName(String owner, String name, String descriptor) {
+            return name + "_mapped";
+        }
+    };
+
+    private static byte[] createClass(String name, String superName, String... methods) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, name, null, superName, new String[]{"java/lang/Runnable"});
+        classWriter.visitField(Opcodes.ACC_PRIVATE, "f", "Ljava/lang/String;", null, null).visitEnd();
+        for (String method : methods) {
+            classWriter.visitMethod(Opcodes.ACC_PUBLIC, method, "()V", null, null).visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static void writeJar(Path jar, String... classes) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(jar);
+             JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+            for (int i = 0; i < classes.length; i += 3) {
+                jarOutputStream.putNextEntry(new ZipEntry(classes[i] + ".class"));
+                jarOutputStream.write(createClass(classes[i], classes[i + 1], classes[i + 2]));
+            }
+        }
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testOnlyChangedJarsAreScanned() throws IOException {
+        Path directory = Files.createTempDirectory("trix-index");
+        try {
+            Path game = directory.resolve("game.jar");
+            Path mod = directory.resolve("mod.jar");
+            writeJar(game, "a", "java/lang/Object", "run");
+            writeJar(mod, "b", "a", "tick");
+            List<Path> jars = List.of(game, mod);
+
+            HierarchyIndex index = new HierarchyIndex(directory.resolve("index"), REMAPPER, "1");
+            HierarchyManager first = new HierarchyManager();
+            Assertions.assertEquals(2, index.load(first, jars));
+            Assertions.assertTrue(index.isIndexed(game));
+
+            HierarchyManager second = new HierarchyManager();
+            Assertions.assertEquals(0, index.load(second, jars), "Unchanged jars should not be scanned again.");
+            Assertions.assertEquals(first.getClasses().keySet(), second.getClasses().keySet());
+            Assertions.assertEquals("a", second.getClassHeader("b").getSuperName());
+            Assertions.assertEquals("java/lang/Runnable", second.getClassHeader("b").getInterface(0));
+            Assertions.assertNotNull(second.getClassData("a").getField("f", "Ljava/lang/String;"));
+
+            MemberResolver resolver = second.createMemberResolver();
+            Assertions.assertEquals("run_mapped", resolver.mapMethodName("b", "run", "()V"));
+            Assertions.assertEquals("tick_mapped", resolver.mapMethodName("b", "tick", "()V"));
+
+            writeJar(mod, "b", "a", "update");
+            HierarchyManager third = new HierarchyManager();
+            Assertions.assertEquals(1, index.load(third, jars), "Only the changed jar should be scanned.");
+            Assertions.assertEquals("update_mapped", third.createMemberResolver().mapMethodName("b", "update", "()V"));
+            Assertions.assertNull(third.createMemberResolver().mapMethodName("b", "tick", "()V"));
+
+            Assertions.assertEquals(0, index.retain(jars), "A changed jar should replace its own entry.");
+            Assertions.assertEquals(1, index.retain(List.of(game)), "The entry of a jar no longer used should be deleted.");
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testCorruptEntryIsRescanned() throws IOException {
+        Path directory = Files.createTempDirectory("trix-index");
+        try {
+            Path jar = directory.resolve("game.jar");
+            writeJar(jar, "a", "java/lang/Object", "run");
+
+            Path indexDirectory = directory.resolve("index");
+            HierarchyIndex index = new HierarchyIndex(indexDirectory, REMAPPER, "1");
+            Assertions.assertEquals(1, index.load(new HierarchyManager(), List.of(jar)));
+
+            try (Stream<Path> entries = Files.list(indexDirectory)) {
+                for (Path entry : entries.toList()) {
+                    Files.write(entry, new byte[]{0x54, 0x52, 0x49});
+                }
+            }
+
+            HierarchyManager hierarchyManager = new HierarchyManager();
+            Assertions.assertEquals(1, index.load(hierarchyManager, List.of(jar)));
+            Assertions.assertNotNull(hierarchyManager.getClassData("a"));
+            Assertions.assertEquals(0, index.load(new HierarchyManager(), List.of(jar)));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testWarmLoadSkipsHashingAndRemapping() throws IOException {
+        Path directory = Files.createTempDirectory("trix-index");
+        try {
+            Path jar = directory.resolve("game.jar");
+            writeJar(jar, "a", "java/lang/Object", "run");
+            FileTime modified = Files.getLastModifiedTime(jar);
+
+            AtomicInteger remapped = new AtomicInteger();
+            Remapper countingRemapper = new Remapper() {
+                @Override
+                public String mapMethodName(String owner, String name, String descriptor) {
+                    remapped.incrementAndGet();
+                    return REMAPPER.mapMethodName(owner, name, descriptor);
+                }
+            };
+
+            HierarchyIndex index = new HierarchyIndex(directory.resolve("index"), countingRemapper, "1");
+            Assertions.assertEquals(1, index.load(new HierarchyManager(), List.of(jar)));
+            Assertions.assertTrue(remapped.get() > 0);
+
+            // Same size and time but different contents, only a hash would notice.
+            byte[] bytes = Files.readAllBytes(jar);
+            bytes[bytes.length - 1] ^= 1;
+            Files.write(jar, bytes);
+            Files.setLastModifiedTime(jar, modified);
+
+            remapped.set(0);
+            HierarchyManager hierarchyManager = new HierarchyManager();
+            Assertions.assertEquals(0, index.load(hierarchyManager, List.of(jar)), "A matching size and time should be trusted.");
+            Assertions.assertEquals(0, remapped.get(), "Indexed classes should be stored remapped.");
+            Assertions.assertEquals("run_mapped", hierarchyManager.createMemberResolver().mapMethodName("a", "run", "()V"));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testTouchedJarIsHashedOnce() throws IOException {
+        Path directory = Files.createTempDirectory("trix-index");
+        try {
+            Path jar = directory.resolve("game.jar");
+            writeJar(jar, "a", "java/lang/Object", "run");
+
+            HierarchyIndex index = new HierarchyIndex(directory.resolve("index"), REMAPPER, "1");
+            Assertions.assertEquals(1, index.load(new HierarchyManager(), List.of(jar)));
+
+            Files.setLastModifiedTime(jar, FileTime.fromMillis(Files.getLastModifiedTime(jar).toMillis() + 60_000));
+            Assertions.assertEquals(0, index.load(new HierarchyManager(), List.of(jar)), "Unchanged contents should not be scanned again.");
+            Assertions.assertTrue(index.isIndexed(jar));
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testOtherMappingsAreScanned() throws IOException {
+        Path directory = Files.createTempDirectory("trix-index");
+        try {
+            Path jar = directory.resolve("game.jar");
+            writeJar(jar, "a", "java/lang/Object", "run");
+
+            Path indexDirectory = directory.resolve("index");
+            Assertions.assertEquals(1, new HierarchyIndex(indexDirectory, REMAPPER, "1").load(new HierarchyManager(), List.of(jar)));
+
+            HierarchyIndex other = new HierarchyIndex(indexDirectory, new Remapper() {}, "2");
+            Assertions.assertFalse(other.isIndexed(jar));
+
+            HierarchyManager hierarchyManager = new HierarchyManager();
+            Assertions.assertEquals(1, other.load(hierarchyManager, List.of(jar)), "Entries of other mappings should not be read.");
+            Assertions.assertEquals("run", hierarchyManager.createMemberResolver().mapMethodName("a", "run", "()V"));
+            Assertions.assertEquals(1, other.retain(List.of(jar)), "The entry of the old mappings should be deleted.");
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testMatchesScanner() throws IOException {
+        Path directory = Files.createTempDirectory("trix-index");
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            String[] classes = new String[3 * 600];
+            for (int i = 0; i < 600; i++) {
+                classes[3 * i] = "c" + i;
+                classes[3 * i + 1] = i == 0 ? "java/lang/Object" : "c" + (i - 1);
+                classes[3 * i + 2] = "m" + i;
+            }
+            Path jar = directory.resolve("game.jar");
+            writeJar(jar, classes);
+
+            HierarchyManager scanned = new HierarchyManager();
+            new HierarchyScanner(scanned, REMAPPER).scan(jar);
+
+            HierarchyIndex index = new HierarchyIndex(directory.resolve("index"), REMAPPER, "1", executor);
+            index.load(new HierarchyManager(), List.of(jar));
+            HierarchyManager loaded = new HierarchyManager();
+            Assertions.assertEquals(0, index.load(loaded, List.of(jar)));
+
+            Assertions.assertEquals(scanned.getClasses().keySet(), loaded.getClasses().keySet());
+            for (String className : scanned.getClasses().keySet()) {
+                ClassData expected = scanned.getClassData(className);
+                ClassData actual = loaded.getClassData(className);
+                Assertions.assertEquals(expected.getClassName(), actual.getClassName());
+                Assertions.assertEquals(expected.getDependentClasses(), actual.getDependentClasses());
+                Assertions.assertEquals(expected.getMethods().keySet(), actual.getMethods().keySet());
+                for (String method : expected.getMethods().keySet()) {
+                    Assertions.assertEquals(expected.getMethods().get(method).getMethodName(), actual.getMethods().get(method).getMethodName());
+                }
+                Assertions.assertEquals(expected.getField("f", "Ljava/lang/String;").getFieldName(),
+                                        actual.getField("f", "Ljava/lang/String;").getFieldName(), "Private fields should stay private.");
+            }
+        } finally {
+            executor.shutdown();
+            delete(directory);
+        }
+    }
+}
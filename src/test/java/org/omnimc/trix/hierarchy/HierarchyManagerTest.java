@@ -0,0 +1,200 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.hierarchy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.lumina.data.Mappings;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.impl.hierarchy.HierarchyManager;
+import org.omnimc.trix.impl.hierarchy.MemberResolver;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class HierarchyManagerTest {
+
+    private static ClassData addClass(HierarchyManager hierarchyManager, String name, String... parents) {
+        ClassData classData = new ClassData(name);
+        for (String parent : parents) {
+            classData.addDependentClass(parent);
+        }
+        hierarchyManager.addClass(name, classData);
+        return classData;
+    }
+
+    @Test
+    public void testMembersAreInherited() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "a", "java/lang/Object").addField("x", "base", "I");
+        addClass(hierarchyManager, "i").addMethod("m", "run", "()V");
+        addClass(hierarchyManager, "j", "i");
+        addClass(hierarchyManager, "b", "a", "i");
+        addClass(hierarchyManager, "c", "b", "j").addField("y", "own", "I");
+
+        hierarchyManager.populateClassFiles();
+
+        ClassData c = hierarchyManager.getClassData("c");
+        Assertions.assertEquals("base", c.getField("x", "I").getFieldName());
+        Assertions.assertEquals("own", c.getField("y", "I").getFieldName());
+        Assertions.assertEquals("run", c.getMethod("m", "()V").getMethodName(), "Members of diamond interfaces should be inherited.");
+        Assertions.assertNull(hierarchyManager.getClassData("a").getField("y", "I"), "Members should never flow down to parents.");
+    }
+
+    @Test
+    public void testFurthestDeclarationWins() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "a").addMethod("m", "root", "()V");
+        addClass(hierarchyManager, "b", "a").addMethod("m", "middle", "()V");
+        addClass(hierarchyManager, "c", "b").addMethod("m", "leaf", "()V");
+
+        hierarchyManager.populateClassFiles();
+
+        Assertions.assertEquals("root", hierarchyManager.getClassData("c").getMethod("m", "()V").getMethodName());
+    }
+
+    @Test
+    public void testDeepestDeclarationWins() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "r").addMethod("m", "deep", "()V");
+        addClass(hierarchyManager, "s", "r");
+        addClass(hierarchyManager, "i").addMethod("m", "interface", "()V");
+        addClass(hierarchyManager, "c", "s", "i").addMethod("m", "own", "()V");
+
+        MemberResolver memberResolver = hierarchyManager.createMemberResolver();
+        hierarchyManager.populateClassFiles();
+
+        Assertions.assertEquals("deep", hierarchyManager.getClassData("c").getMethod("m", "()V").getMethodName(),
+                                "The declaration furthest up should win over a later parent's.");
+        Assertions.assertEquals("deep", memberResolver.findMethod("c", "m", "()V").getMethodName());
+        Assertions.assertEquals("deep", hierarchyManager.getClassData("s").getMethod("m", "()V").getMethodName());
+    }
+
+    @Test
+    public void testLastDeclaredParentWinsAtTheSameDepth() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "x").addMethod("m", "fromX", "()V");
+        addClass(hierarchyManager, "y").addMethod("m", "fromY", "()V");
+        addClass(hierarchyManager, "a", "x");
+        addClass(hierarchyManager, "b", "y");
+        addClass(hierarchyManager, "i").addMethod("m", "interface", "()V");
+        addClass(hierarchyManager, "c", "a", "b", "i");
+
+        MemberResolver memberResolver = hierarchyManager.createMemberResolver();
+        hierarchyManager.populateClassFiles();
+
+        Assertions.assertEquals("fromY", hierarchyManager.getClassData("c").getMethod("m", "()V").getMethodName());
+        Assertions.assertEquals("fromY", memberResolver.findMethod("c", "m", "()V").getMethodName());
+    }
+
+    @Test
+    public void testMatchesLevelByLevelCopy() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        Map<String, List<String>> parents = new HashMap<>();
+        Map<String, Map<String, String>> declared = new HashMap<>();
+        Random random = new Random(7);
+
+        for (int i = 0; i < 200; i++) {
+            // A class file never names the same parent twice.
+            List<String> classParents = new ArrayList<>();
+            for (int j = i == 0 ? 0 : 1 + random.nextInt(3); j > 0; j--) {
+                String parent = "c" + random.nextInt(i);
+                if (!classParents.contains(parent)) {
+                    classParents.add(parent);
+                }
+            }
+
+            ClassData classData = addClass(hierarchyManager, "c" + i, classParents.toArray(String[]::new));
+            parents.put("c" + i, classParents);
+            Map<String, String> methods = new HashMap<>();
+            for (int j = 0; j < 3; j++) {
+                String name = "m" + random.nextInt(20);
+                classData.addMethod(name, name + "_" + i, "()V");
+                methods.put(name, name + "_" + i);
+            }
+            declared.put("c" + i, methods);
+        }
+
+        hierarchyManager.populateClassFiles();
+
+        for (int i = 0; i < 200; i++) {
+            // Copies the declarations of every ancestor one level at a time, the way the hierarchy was first flattened.
+            Map<String, String> expected = new HashMap<>(declared.get("c" + i));
+            List<String> level = parents.get("c" + i);
+            while (!level.isEmpty()) {
+                List<String> nextLevel = new ArrayList<>();
+                for (String ancestor : level) {
+                    expected.putAll(declared.get(ancestor));
+                    nextLevel.addAll(parents.get(ancestor));
+                }
+                level = nextLevel;
+            }
+
+            ClassData classData = hierarchyManager.getClassData("c" + i);
+            for (Map.Entry<String, String> method : expected.entrySet()) {
+                Assertions.assertEquals(method.getValue(), classData.getMethod(method.getKey(), "()V").getMethodName(), "c" + i + "." + method.getKey());
+            }
+        }
+    }
+
+    @Test
+    public void testCyclesAndMissingParents() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "e", "f", "missing").addField("e", "fromE", "I");
+        addClass(hierarchyManager, "f", "e").addField("f", "fromF", "I");
+        addClass(hierarchyManager, "g", "f");
+
+        hierarchyManager.populateClassFiles();
+
+        Assertions.assertEquals("fromE", hierarchyManager.getClassData("g").getField("e", "I").getFieldName());
+        Assertions.assertEquals("fromF", hierarchyManager.getClassData("g").getField("f", "I").getFieldName());
+    }
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testGetMappingsIsAReadOnlySnapshot() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        ClassData a = addClass(hierarchyManager, "a");
+
+        Mappings mappings = hierarchyManager.getMappings();
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mappings.addClass("b", new ClassData("b")),
+                                "Classes added to a snapshot would never reach the manager.");
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mappings.getClasses().put("b", new ClassData("b")));
+        Assertions.assertThrows(UnsupportedOperationException.class, () -> mappings.getClasses().clear());
+
+        Assertions.assertSame(a, mappings.getClass("a"), "Classes should be shared, not copied.");
+        Assertions.assertSame(a, mappings.getClasses().get("a"));
+        Assertions.assertNotSame(mappings, hierarchyManager.getMappings());
+        Assertions.assertEquals(1, hierarchyManager.getClasses().size());
+    }
+}
@@ -0,0 +1,174 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.hierarchy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.Remapper;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.impl.hierarchy.ClassHeader;
+import org.omnimc.trix.impl.hierarchy.HierarchyManager;
+import org.omnimc.trix.impl.hierarchy.HierarchyScanner;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.jar.JarOutputStream;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class HierarchyScannerTest {
+
+    private static final Remapper IDENTITY = new Remapper() {
+    };
+
+    private static byte[] createClass(String name, String superName, String... interfaces) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V21, Opcodes.ACC_PUBLIC, name, null, superName, interfaces);
+        classWriter.visitField(Opcodes.ACC_PUBLIC, "f", "I", null, null).visitEnd();
+        classWriter.visitField(Opcodes.ACC_PRIVATE, "p", "J", null, null).visitEnd();
+
+        MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC, "m", "()V", null, null);
+        methodVisitor.visitCode();
+        methodVisitor.visitInsn(Opcodes.RETURN);
+        methodVisitor.visitMaxs(0, 1);
+        methodVisitor.visitEnd();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    @Test
+    public void testScanClassesInParallel() throws IOException {
+        List<byte[]> classes = new ArrayList<>();
+        for (int i = 0; i < 1_000; i++) {
+            classes.add(createClass("c" + i, i == 0 ? "java/lang/Object" : "c" + (i - 1), "i"));
+        }
+
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            new HierarchyScanner(hierarchyManager, IDENTITY, executor).scanClasses(classes);
+        } finally {
+            executor.shutdown();
+        }
+
+        Assertions.assertEquals(1_000, hierarchyManager.getClasses().size());
+        for (int i = 0; i < 1_000; i++) {
+            ClassHeader header = hierarchyManager.getClassHeader("c" + i);
+            Assertions.assertNotNull(header, "c" + i);
+            Assertions.assertEquals(i == 0 ? "java/lang/Object" : "c" + (i - 1), header.getSuperName());
+
+            ClassData classData = hierarchyManager.getClassData("c" + i);
+            Assertions.assertEquals("f", classData.getField("f", "I").getFieldName());
+            Assertions.assertEquals("m", classData.getMethod("m", "()V").getMethodName());
+            Assertions.assertTrue(classData.getDependentClasses().contains("i"));
+        }
+    }
+
+    @Test
+    public void testScanJar() throws IOException {
+        Path jar = Files.createTempFile("trix-hierarchy", ".jar");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(jar);
+                 JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+                jarOutputStream.putNextEntry(new ZipEntry("a/A.class"));
+                jarOutputStream.write(createClass("a/A", "java/lang/Object"));
+                jarOutputStream.putNextEntry(new ZipEntry("META-INF/versions/9/a/A.class"));
+                jarOutputStream.write(createClass("a/A", "java/lang/Exception"));
+                jarOutputStream.putNextEntry(new ZipEntry("assets/a.png"));
+                jarOutputStream.write(new byte[]{1, 2, 3});
+            }
+
+            HierarchyManager hierarchyManager = new HierarchyManager();
+            new HierarchyScanner(hierarchyManager, IDENTITY).scan(jar);
+
+            Assertions.assertEquals(1, hierarchyManager.getClasses().size());
+            Assertions.assertEquals("java/lang/Object", hierarchyManager.getClassHeader("a/A").getSuperName(), "Versioned classes should be skipped.");
+        } finally {
+            Files.deleteIfExists(jar);
+        }
+    }
+
+    @Test
+    public void testMalformedClass() {
+        HierarchyScanner scanner = new HierarchyScanner(new HierarchyManager(), IDENTITY);
+        Assertions.assertThrows(IOException.class, () -> scanner.scanClasses(List.of(new byte[]{1, 2, 3, 4})));
+    }
+
+    @Test
+    public void testFailedReadIsNotHiddenByFailedClasses() throws IOException {
+        Path jar = Files.createTempFile("trix-hierarchy", ".jar");
+        try {
+            try (OutputStream outputStream = Files.newOutputStream(jar);
+                 JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+                jarOutputStream.putNextEntry(new ZipEntry("a/Bad.class"));
+                jarOutputStream.write(new byte[]{1, 2, 3, 4});
+                jarOutputStream.putNextEntry(new ZipEntry("b/B.class"));
+                jarOutputStream.write(createClass("b/B", "java/lang/Object"));
+            }
+
+            // The first byte of the compressed data now starts a block of a type that doesn't exist.
+            byte[] bytes = Files.readAllBytes(jar);
+            byte[] name = "b/B.class".getBytes(StandardCharsets.UTF_8);
+            bytes[indexOf(bytes, name) + name.length] = (byte) 0xFF;
+            Files.write(jar, bytes);
+
+            HierarchyScanner scanner = new HierarchyScanner(new HierarchyManager(), IDENTITY);
+            ZipException exception = Assertions.assertThrows(ZipException.class, () -> scanner.scan(jar),
+                                                             "The failed read should be thrown, not the failed class.");
+            Assertions.assertEquals(1, exception.getSuppressed().length, "The failed class should be suppressed.");
+        } finally {
+            Files.deleteIfExists(jar);
+        }
+    }
+
+    private static int indexOf(byte[] bytes, byte[] part) {
+        outer:
+        for (int i = 0; i <= bytes.length - part.length; i++) {
+            for (int j = 0; j < part.length; j++) {
+                if (bytes[i + j] != part[j]) {
+                    continue outer;
+                }
+            }
+            return i;
+        }
+        throw new IllegalArgumentException("Part not found.");
+    }
+}
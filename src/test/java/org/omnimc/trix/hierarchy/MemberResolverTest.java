@@ -0,0 +1,114 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.hierarchy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.impl.hierarchy.HierarchyManager;
+import org.omnimc.trix.impl.hierarchy.MemberResolver;
+
+import java.util.Random;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class MemberResolverTest {
+
+    private static ClassData addClass(HierarchyManager hierarchyManager, String name, String... parents) {
+        ClassData classData = new ClassData(name);
+        for (String parent : parents) {
+            classData.addDependentClass(parent);
+        }
+        hierarchyManager.addClass(name, classData);
+        return classData;
+    }
+
+    @Test
+    public void testMembersAreResolvedWithoutCopying() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "a", "java/lang/Object").addField("x", "base", "I");
+        addClass(hierarchyManager, "i").addMethod("m", "run", "()V");
+        addClass(hierarchyManager, "b", "a", "i");
+        addClass(hierarchyManager, "c", "b").addMethod("n", "own", "()V");
+
+        MemberResolver resolver = hierarchyManager.createMemberResolver();
+
+        Assertions.assertEquals("base", resolver.mapFieldName("c", "x", "I"));
+        Assertions.assertEquals("run", resolver.mapMethodName("c", "m", "()V"));
+        Assertions.assertEquals("own", resolver.mapMethodName("c", "n", "()V"));
+        Assertions.assertNull(resolver.mapMethodName("a", "n", "()V"), "Members should never flow down to parents.");
+        Assertions.assertNull(resolver.mapFieldName("missing", "x", "I"));
+        Assertions.assertNull(hierarchyManager.getClassData("c").getField("x", "I"), "Inherited members should not be copied.");
+    }
+
+    @Test
+    public void testCyclesTerminate() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "a", "b").addField("x", "fromA", "I");
+        addClass(hierarchyManager, "b", "a");
+
+        MemberResolver resolver = hierarchyManager.createMemberResolver();
+
+        Assertions.assertEquals("fromA", resolver.mapFieldName("a", "x", "I"));
+        Assertions.assertNull(resolver.mapFieldName("b", "y", "I"));
+        Assertions.assertEquals(1, resolver.getParents("a").length + resolver.getParents("b").length, "Exactly one edge of the cycle should be dropped.");
+    }
+
+    @Test
+    public void testMatchesPopulatedHierarchy() {
+        HierarchyManager resolved = new HierarchyManager();
+        HierarchyManager populated = new HierarchyManager();
+        Random random = new Random(42);
+
+        for (int i = 0; i < 200; i++) {
+            String[] parents = new String[i == 0 ? 0 : 1 + random.nextInt(3)];
+            for (int j = 0; j < parents.length; j++) {
+                parents[j] = "c" + random.nextInt(i);
+            }
+
+            ClassData first = addClass(resolved, "c" + i, parents);
+            ClassData second = addClass(populated, "c" + i, parents);
+            for (int j = 0; j < 3; j++) {
+                String name = "m" + random.nextInt(20);
+                first.addMethod(name, name + "_" + i, "()V");
+                second.addMethod(name, name + "_" + i, "()V");
+            }
+        }
+
+        MemberResolver resolver = resolved.createMemberResolver(64);
+        populated.populateClassFiles();
+
+        for (int i = 0; i < 200; i++) {
+            ClassData classData = populated.getClassData("c" + i);
+            for (int j = 0; j < 20; j++) {
+                String expected = classData.getMethod("m" + j, "()V") == null ? null : classData.getMethod("m" + j, "()V").getMethodName();
+                Assertions.assertEquals(expected, resolver.mapMethodName("c" + i, "m" + j, "()V"), "c" + i + ".m" + j);
+            }
+        }
+    }
+}
@@ -0,0 +1,113 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.hierarchy;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.impl.hierarchy.HierarchyManager;
+import org.omnimc.trix.impl.hierarchy.SubtypeIndex;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class SubtypeIndexTest {
+
+    private static ClassData addClass(HierarchyManager hierarchyManager, String name, String... parents) {
+        ClassData classData = new ClassData(name);
+        for (String parent : parents) {
+            classData.addDependentClass(parent);
+        }
+        hierarchyManager.addClass(name, classData);
+        return classData;
+    }
+
+    /**
+     * <pre>
+     *        Object      i
+     *          |       /   \
+     *          a      j     |
+     *        /   \     \    |
+     *       b     c ----+   |
+     *       |               |
+     *       d --------------+
+     * </pre>
+     */
+    private static SubtypeIndex createIndex() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        addClass(hierarchyManager, "i").addMethod("m", "run", "()V");
+        addClass(hierarchyManager, "j", "i");
+        addClass(hierarchyManager, "a", "java/lang/Object").addField("x", "value", "I");
+        addClass(hierarchyManager, "b", "a");
+        addClass(hierarchyManager, "c", "a", "j").addMethod("m", "run", "()V");
+        addClass(hierarchyManager, "d", "b", "i", "i").addField("x", "hidden", "I");
+        return hierarchyManager.createSubtypeIndex();
+    }
+
+    @Test
+    public void testDirectSubtypes() {
+        SubtypeIndex index = createIndex();
+
+        Assertions.assertEquals(List.of("b", "c"), index.getDirectSubtypes("a"));
+        Assertions.assertEquals(List.of("d", "j"), index.getDirectSubtypes("i"), "Duplicate parents should only be linked once.");
+        Assertions.assertEquals(List.of("a"), index.getDirectSubtypes("java/lang/Object"));
+        Assertions.assertEquals(List.of(), index.getDirectSubtypes("d"));
+        Assertions.assertEquals(List.of(), index.getDirectSubtypes("missing"));
+        Assertions.assertEquals(2, index.getDirectSubtypeCount("a"));
+        Assertions.assertEquals(7, index.getTypeCount(), "Types that are only extended should be indexed too.");
+    }
+
+    @Test
+    public void testTransitiveSubtypes() {
+        SubtypeIndex index = createIndex();
+
+        Assertions.assertEquals(List.of("d", "j", "c"), index.streamSubtypes("i").collect(Collectors.toList()), "Nearest subtypes should come first, each only once.");
+        Assertions.assertEquals(List.of("a", "b", "c", "d"), index.streamSubtypes("java/lang/Object").collect(Collectors.toList()));
+
+        Iterator<String> iterator = index.getSubtypes("java/lang/Object").iterator();
+        Assertions.assertEquals("a", iterator.next());
+
+        Assertions.assertTrue(index.isSubtype("d", "i"));
+        Assertions.assertTrue(index.isSubtype("c", "i"));
+        Assertions.assertTrue(index.isSubtype("a", "a"));
+        Assertions.assertFalse(index.isSubtype("b", "i"));
+        Assertions.assertFalse(index.isSubtype("i", "d"));
+    }
+
+    @Test
+    public void testMemberQueries() {
+        SubtypeIndex index = createIndex();
+
+        Assertions.assertEquals(List.of("c"), index.streamOverriders("i", "m", "()V").collect(Collectors.toList()));
+        Assertions.assertEquals(List.of("d", "j"), index.streamMethodInheritors("i", "m", "()V").collect(Collectors.toList()), "Types below an override should be left out.");
+        Assertions.assertEquals(List.of("b", "c"), index.streamFieldInheritors("a", "x", "I").collect(Collectors.toList()), "Types hiding the field should be left out.");
+    }
+}
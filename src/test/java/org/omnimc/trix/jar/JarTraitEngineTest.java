@@ -0,0 +1,636 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.jar;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.SimpleRemapper;
+import org.omnimc.trix.api.cache.TransformCache;
+import org.omnimc.trix.api.jar.JarTraitEngine;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.clazz.ClassVisitorTrait;
+import org.omnimc.trix.api.trait.resource.FileTrait;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.impl.visitors.mappings.MappingClassVisitor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Enumeration;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.jar.JarFile;
+import java.util.jar.JarOutputStream;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class JarTraitEngineTest {
+
+    private static final TraitSequence<ClassTrait> RENAME = TraitSequence.createImmutableTraitSequence(
+            ClassVisitorTrait.of(remapper -> new MappingClassVisitor(null, remapper)));
+
+    private static byte[] createClass(String name) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static void writeJar(Path jar, Map<String, byte[]> entries) throws IOException {
+        try (OutputStream outputStream = Files.newOutputStream(jar);
+             JarOutputStream jarOutputStream = new JarOutputStream(outputStream)) {
+            for (Map.Entry<String, byte[]> entry : entries.entrySet()) {
+                jarOutputStream.putNextEntry(new ZipEntry(entry.getKey()));
+                jarOutputStream.write(entry.getValue());
+                jarOutputStream.closeEntry();
+            }
+        }
+    }
+
+    /**
+     * @return Every entry of {@code jar} in the order it is stored, with its bytes.
+     */
+    private static Map<String, byte[]> readJar(Path jar) throws IOException {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        try (JarFile jarFile = new JarFile(jar.toFile())) {
+            Enumeration<? extends ZipEntry> enumeration = jarFile.entries();
+            while (enumeration.hasMoreElements()) {
+                ZipEntry entry = enumeration.nextElement();
+                entries.put(entry.getName(), jarFile.getInputStream(entry).readAllBytes());
+            }
+        }
+        return entries;
+    }
+
+    private static void delete(Path directory) throws IOException {
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Test
+    public void testCachedClassesKeepTheirRename() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            Map<String, byte[]> entries = new LinkedHashMap<>();
+            entries.put("a/B.class", createClass("a/B"));
+            entries.put("META-INF/versions/9/a/B.class", createClass("a/B"));
+            Path input = directory.resolve("input.jar");
+            writeJar(input, entries);
+
+            TransformCache cache = new TransformCache(directory.resolve("cache"));
+            JarTraitEngine engine = JarTraitEngine.builder()
+                    .remapper(new SimpleRemapper(Map.of("a/B", "b/C")))
+                    .classTraits(RENAME)
+                    .cache(cache, TransformCache.fingerprint("1", RENAME))
+                    .build();
+
+            List<Map<String, byte[]>> outputs = new ArrayList<>();
+            long hits = 0;
+            for (int i = 0; i < 2; i++) {
+                hits = cache.getHits();
+                Path output = directory.resolve("output" + i + ".jar");
+                engine.transform(input, output);
+                outputs.add(readJar(output));
+            }
+
+            Assertions.assertEquals(2, cache.getHits() - hits, "The second run should be served from the cache.");
+            for (Map<String, byte[]> output : outputs) {
+                Assertions.assertEquals(List.of("b/C.class", "META-INF/versions/9/b/C.class"), List.copyOf(output.keySet()),
+                                        "Cached classes should be renamed like freshly transformed ones.");
+                Assertions.assertEquals("b/C", new ClassReader(output.get("b/C.class")).getClassName());
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testForeignCacheEntriesAreIgnored() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            byte[] classBytes = createClass("a/B");
+            Path input = directory.resolve("input.jar");
+            writeJar(input, Map.of("a/B.class", classBytes));
+
+            TransformCache cache = new TransformCache(directory.resolve("cache"));
+            String fingerprint = TransformCache.fingerprint("1", RENAME);
+            cache.put(classBytes, fingerprint, new byte[]{7, 7, 7});
+
+            Path output = directory.resolve("output.jar");
+            JarTraitEngine.builder()
+                    .remapper(new SimpleRemapper(Map.of("a/B", "b/C")))
+                    .classTraits(RENAME)
+                    .cache(cache, fingerprint)
+                    .build()
+                    .transform(input, output);
+
+            Assertions.assertEquals("b/C", new ClassReader(readJar(output).get("b/C.class")).getClassName(),
+                                    "An entry the engine didn't write should be replaced, not handed out.");
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Classes every other entry, with directories and resources in between, so entries finish out of order.
+     */
+    private static Map<String, byte[]> createEntries() {
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (int i = 0; i < 100; i++) {
+            if (i % 10 == 0) {
+                entries.put("p" + i + "/", new byte[0]);
+            }
+            entries.put("p" + (i - i % 10) + "/C" + i + ".class", createClass("p" + (i - i % 10) + "/C" + i));
+            entries.put("assets/r" + i + ".txt", ("resource " + i).repeat(i + 1).getBytes(StandardCharsets.UTF_8));
+        }
+        return entries;
+    }
+
+    private static JarTraitEngine.Builder createBuilder() {
+        return JarTraitEngine.builder()
+                .classTraits(TraitSequence.createImmutableTraitSequence(ClassTrait.of((classNode, remapper) -> {
+                    classNode.access |= Opcodes.ACC_FINAL;
+                    return classNode;
+                }, Target.prefix(0, "p1"))))
+                .fileTraits(TraitSequence.createImmutableTraitSequence(
+                        FileTrait.of((bytes, remapper) -> "changed".getBytes(StandardCharsets.UTF_8), Target.direct("assets/r5.txt"))));
+    }
+
+    private static void assertRoundTrip(Map<String, byte[]> input, Map<String, byte[]> output) {
+        Assertions.assertEquals(List.copyOf(input.keySet()), List.copyOf(output.keySet()), "Entries should be written in the order they were read.");
+
+        for (Map.Entry<String, byte[]> entry : input.entrySet()) {
+            String name = entry.getKey();
+            if (name.equals("assets/r5.txt")) {
+                Assertions.assertEquals("changed", new String(output.get(name), StandardCharsets.UTF_8));
+            } else if (name.startsWith("p1") && name.endsWith(".class")) {
+                Assertions.assertTrue((new ClassReader(output.get(name)).getAccess() & Opcodes.ACC_FINAL) != 0, name + " should have been transformed.");
+            } else {
+                Assertions.assertArrayEquals(entry.getValue(), output.get(name), name + " should be copied as it was.");
+            }
+        }
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            Map<String, byte[]> entries = createEntries();
+            Path input = directory.resolve("input.jar");
+            writeJar(input, entries);
+
+            Path raw = directory.resolve("raw.jar");
+            createBuilder().build().transform(input, raw);
+            assertRoundTrip(entries, readJar(raw));
+
+            Path deflated = directory.resolve("deflated.jar");
+            createBuilder().rawPassthrough(false).build().transform(input, deflated);
+            assertRoundTrip(entries, readJar(deflated));
+
+            Path streamed = directory.resolve("streamed.jar");
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try (InputStream inputStream = Files.newInputStream(input);
+                 OutputStream outputStream = Files.newOutputStream(streamed)) {
+                createBuilder().executor(executor).build().transform(inputStream, outputStream);
+            } finally {
+                executor.shutdown();
+            }
+            assertRoundTrip(entries, readJar(streamed));
+
+            try (Stream<Path> files = Files.list(directory)) {
+                Assertions.assertEquals(List.of(), files.filter(path -> path.toString().endsWith(".tmp")).toList(), "No temporary file should be left behind.");
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * @return The data of every entry of {@code jar} exactly as it is stored, keyed by name, read from its central
+     * directory.
+     */
+    private static Map<String, byte[]> readStored(Path jar, Charset charset) throws IOException {
+        ByteBuffer zip = ByteBuffer.wrap(Files.readAllBytes(jar)).order(ByteOrder.LITTLE_ENDIAN);
+        int end = zip.limit() - 22;
+        while (zip.getInt(end) != 0x06054B50) {
+            end--;
+        }
+
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        int offset = zip.getInt(end + 16);
+        for (int i = 0; i < (zip.getShort(end + 10) & 0xFFFF); i++) {
+            int compressedSize = zip.getInt(offset + 20);
+            int nameLength = zip.getShort(offset + 28) & 0xFFFF;
+            int extraLength = zip.getShort(offset + 30) & 0xFFFF;
+            int commentLength = zip.getShort(offset + 32) & 0xFFFF;
+            int localHeader = zip.getInt(offset + 42);
+
+            int dataOffset = localHeader + 30 + (zip.getShort(localHeader + 26) & 0xFFFF) + (zip.getShort(localHeader + 28) & 0xFFFF);
+            entries.put(new String(zip.array(), offset + 46, nameLength, charset),
+                        Arrays.copyOfRange(zip.array(), dataOffset, dataOffset + compressedSize));
+            offset += 46 + nameLength + extraLength + commentLength;
+        }
+        return entries;
+    }
+
+    @Test
+    public void testPassthroughKeepsEntriesAsStored() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            Charset legacy = Charset.forName("IBM437");
+            byte[] stored = "stored ".repeat(50).getBytes(StandardCharsets.UTF_8);
+            byte[] extra = {0x66, 0x66, 4, 0, 1, 2, 3, 4};
+
+            Path input = directory.resolve("input.jar");
+            try (ZipOutputStream zipOutputStream = new ZipOutputStream(Files.newOutputStream(input), legacy)) {
+                CRC32 crc = new CRC32();
+                crc.update(stored);
+                ZipEntry storedEntry = new ZipEntry("assets/stored.txt");
+                storedEntry.setMethod(ZipEntry.STORED);
+                storedEntry.setSize(stored.length);
+                storedEntry.setCrc(crc.getValue());
+                storedEntry.setExtra(extra);
+                storedEntry.setComment("kept");
+                zipOutputStream.putNextEntry(storedEntry);
+                zipOutputStream.write(stored);
+
+                zipOutputStream.putNextEntry(new ZipEntry("assets/deflated.txt"));
+                zipOutputStream.write("deflated ".repeat(50).getBytes(StandardCharsets.UTF_8));
+
+                zipOutputStream.putNextEntry(new ZipEntry("assets/\u00fc.txt"));
+                zipOutputStream.write("legacy".getBytes(StandardCharsets.UTF_8));
+
+                zipOutputStream.putNextEntry(new ZipEntry("assets/\u00e9.txt"));
+                zipOutputStream.write("targeted".getBytes(StandardCharsets.UTF_8));
+                zipOutputStream.closeEntry();
+            }
+
+            Path output = directory.resolve("output.jar");
+            JarTraitEngine.builder()
+                    .fileTraits(TraitSequence.createImmutableTraitSequence(
+                            FileTrait.of((bytes, remapper) -> "changed".getBytes(StandardCharsets.UTF_8), Target.direct("assets/\u00e9.txt"))))
+                    .build()
+                    .transform(input, output);
+
+            Map<String, byte[]> inputData = readStored(input, legacy);
+            Map<String, byte[]> outputData = readStored(output, legacy);
+            try (ZipFile inputZip = new ZipFile(input.toFile(), legacy);
+                 ZipFile outputZip = new ZipFile(output.toFile(), legacy)) {
+                for (String name : List.of("assets/stored.txt", "assets/deflated.txt", "assets/\u00fc.txt")) {
+                    ZipEntry inputEntry = inputZip.getEntry(name);
+                    ZipEntry outputEntry = outputZip.getEntry(name);
+                    Assertions.assertNotNull(outputEntry, name + " should keep its name.");
+                    Assertions.assertEquals(inputEntry.getMethod(), outputEntry.getMethod(), name);
+                    Assertions.assertEquals(inputEntry.getCrc(), outputEntry.getCrc(), name);
+                    Assertions.assertEquals(inputEntry.getCompressedSize(), outputEntry.getCompressedSize(), name);
+                    Assertions.assertArrayEquals(inputData.get(name), outputData.get(name), name + " should be copied as it is stored.");
+                }
+
+                ZipEntry storedEntry = outputZip.getEntry("assets/stored.txt");
+                Assertions.assertEquals(ZipEntry.STORED, storedEntry.getMethod());
+                Assertions.assertArrayEquals(extra, storedEntry.getExtra(), "Extra fields should be kept.");
+                Assertions.assertEquals("kept", storedEntry.getComment(), "Comments should be kept.");
+
+                Assertions.assertEquals("changed", new String(outputZip.getInputStream(outputZip.getEntry("assets/\u00e9.txt")).readAllBytes(),
+                                                              StandardCharsets.UTF_8), "Names that aren't UTF-8 should still be targeted.");
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testTargetedEntriesAreInflatedByTheExecutor() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            Path input = directory.resolve("input.jar");
+            writeJar(input, createEntries());
+
+            // Breaks the CRC of assets/r5.txt in the central directory, which is where it is checked against.
+            ByteBuffer zip = ByteBuffer.wrap(Files.readAllBytes(input)).order(ByteOrder.LITTLE_ENDIAN);
+            byte[] name = "assets/r5.txt".getBytes(StandardCharsets.UTF_8);
+            for (int i = zip.limit() - 46; i >= 0; i--) {
+                if (zip.getInt(i) == 0x02014B50 && Arrays.equals(zip.array(), i + 46, i + 46 + name.length, name, 0, name.length)) {
+                    zip.putInt(i + 16, ~zip.getInt(i + 16));
+                    break;
+                }
+            }
+            Files.write(input, zip.array());
+
+            List<Thread> workers = new ArrayList<>();
+            Throwable failure = Assertions.assertThrows(IOException.class, () -> createBuilder().executor(command -> {
+                Thread worker = new Thread(command, "Worker");
+                workers.add(worker);
+                worker.start();
+            }).build().transform(input, directory.resolve("output.jar")));
+
+            Assertions.assertEquals("Failed to transform jar entry.", failure.getMessage(), "The entry should have failed on a worker, not the reader.");
+            Assertions.assertTrue(failure.getCause().getCause().getMessage().startsWith("CRC mismatch"));
+            Assertions.assertFalse(workers.isEmpty());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testZip64FallsBack() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            Path input = directory.resolve("input.jar");
+            try (JarOutputStream jarOutputStream = new JarOutputStream(Files.newOutputStream(input))) {
+                for (int i = 0; i < 0x10000; i++) {
+                    jarOutputStream.putNextEntry(new ZipEntry("assets/r" + i + ".txt"));
+                    jarOutputStream.closeEntry();
+                }
+            }
+
+            Path output = directory.resolve("output.jar");
+            createBuilder().build().transform(input, output);
+
+            try (JarFile jarFile = new JarFile(output.toFile())) {
+                Assertions.assertEquals(0x10000, jarFile.size(), "Every entry of a Zip64 jar should be written.");
+                Assertions.assertEquals("changed", new String(jarFile.getInputStream(jarFile.getEntry("assets/r5.txt")).readAllBytes(),
+                                                              StandardCharsets.UTF_8));
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Runs {@code transform} on its own thread and fails instead of hanging if it doesn't finish in time.
+     */
+    private static Throwable runWithTimeout(Callable<Void> transform) {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            executor.submit(transform).get(30, TimeUnit.SECONDS);
+            return null;
+        } catch (ExecutionException e) {
+            return e.getCause();
+        } catch (TimeoutException e) {
+            throw new AssertionError("The engine deadlocked.", e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new AssertionError(e);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testTransformFailureDoesNotDeadlock() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            Path input = directory.resolve("input.jar");
+            writeJar(input, createEntries());
+            Path output = directory.resolve("output.jar");
+
+            for (boolean rawPassthrough : new boolean[]{true, false}) {
+                JarTraitEngine engine = JarTraitEngine.builder()
+                        .classTraits(TraitSequence.createImmutableTraitSequence(ClassTrait.of((classNode, remapper) -> {
+                            throw new IllegalStateException("Broken trait");
+                        }, Target.direct("p50/C55"))))
+                        .maxBytesInFlight(256)
+                        .rawPassthrough(rawPassthrough)
+                        .build();
+
+                Throwable failure = runWithTimeout(() -> {
+                    engine.transform(input, output);
+                    return null;
+                });
+
+                Assertions.assertTrue(failure instanceof IOException, "A failing trait should surface as an IOException, got " + failure);
+                Assertions.assertTrue(failure.getCause() instanceof IllegalStateException);
+                Assertions.assertFalse(Files.exists(output), "A failed run should not leave an output behind.");
+            }
+        } finally {
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testWriteFailureDoesNotDeadlock() throws IOException {
+        Path directory = Files.createTempDirectory("trix-engine");
+        try {
+            Path input = directory.resolve("input.jar");
+            writeJar(input, createEntries());
+
+            OutputStream failing = new OutputStream() {
+                private int written;
+
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    written += length;
+                    if (written > 4096) {
+                        throw new IOException("Disk full");
+                    }
+                }
+            };
+
+            Throwable failure = runWithTimeout(() -> {
+                try (InputStream inputStream = Files.newInputStream(input)) {
+                    createBuilder().maxBytesInFlight(256).build().transform(inputStream, failing);
+                }
+                return null;
+            });
+
+            Assertions.assertTrue(failure instanceof IOException, "A failing output should surface as an IOException, got " + failure);
+            Assertions.assertEquals("Disk full", failure.getMessage());
+        } finally {
+            delete(directory);
+        }
+    }
+
+    /**
+     * Random bytes, so they don't get any smaller when deflated.
+     */
+    private static Map<String, byte[]> createLargeEntries(int count, int size) {
+        Random random = new Random(count);
+        Map<String, byte[]> entries = new LinkedHashMap<>();
+        for (int i = 0; i < count; i++) {
+            byte[] bytes = new byte[size];
+            random.nextBytes(bytes);
+            entries.put("large/r" + i + ".bin", bytes);
+        }
+        return entries;
+    }
+
+    /**
+     * Runs every task that has been handed to {@code tasks} until {@code transform} is done.
+     */
+    private static void runUntilDone(BlockingQueue<Runnable> tasks, Future<?> transform) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+        while (!transform.isDone()) {
+            Runnable task = tasks.poll(10, TimeUnit.MILLISECONDS);
+            if (task != null) {
+                task.run();
+            }
+            Assertions.assertTrue(System.nanoTime() < deadline, "The engine deadlocked.");
+        }
+    }
+
+    @Test
+    public void testEntriesWaitForTheBudgetBeforeTheyAreRead() throws Exception {
+        Path directory = Files.createTempDirectory("trix-engine");
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Path input = directory.resolve("input.jar");
+            writeJar(input, createLargeEntries(4, 600));
+
+            for (boolean rawPassthrough : new boolean[]{true, false}) {
+                BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+                AtomicInteger submitted = new AtomicInteger();
+                JarTraitEngine engine = JarTraitEngine.builder()
+                        .fileTraits(TraitSequence.createImmutableTraitSequence(FileTrait.of((bytes, remapper) -> bytes, Target.prefix(0, "large/"))))
+                        .executor(task -> {
+                            submitted.incrementAndGet();
+                            tasks.add(task);
+                        })
+                        .maxBytesInFlight(1000)
+                        .rawPassthrough(rawPassthrough)
+                        .build();
+
+                Path output = directory.resolve("output-" + rawPassthrough + ".jar");
+                Future<?> transform = reader.submit(() -> {
+                    engine.transform(input, output);
+                    return null;
+                });
+
+                Runnable first = tasks.poll(30, TimeUnit.SECONDS);
+                Assertions.assertNotNull(first);
+                Thread.sleep(200);
+                Assertions.assertEquals(1, submitted.get(), "The second entry doesn't fit next to the first and should wait before it is handed off.");
+
+                first.run();
+                runUntilDone(tasks, transform);
+                transform.get();
+                Assertions.assertEquals(4, submitted.get());
+                Assertions.assertEquals(4, readJar(output).size());
+            }
+        } finally {
+            reader.shutdownNow();
+            delete(directory);
+        }
+    }
+
+    @Test
+    public void testWriteFailureCancelsPendingEntries() throws Exception {
+        Path directory = Files.createTempDirectory("trix-engine");
+        ExecutorService reader = Executors.newSingleThreadExecutor();
+        try {
+            Path input = directory.resolve("input.jar");
+            writeJar(input, createLargeEntries(10, 100 * 1024));
+
+            BlockingQueue<Runnable> tasks = new LinkedBlockingQueue<>();
+            AtomicInteger transformed = new AtomicInteger();
+            JarTraitEngine engine = JarTraitEngine.builder()
+                    .fileTraits(TraitSequence.createImmutableTraitSequence(FileTrait.of((bytes, remapper) -> {
+                        transformed.incrementAndGet();
+                        return bytes;
+                    }, Target.prefix(0, "large/"))))
+                    .executor(tasks::add)
+                    .build();
+
+            OutputStream failing = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    throw new IOException("Disk full");
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    throw new IOException("Disk full");
+                }
+            };
+
+            Future<?> transform = reader.submit(() -> {
+                try (InputStream inputStream = Files.newInputStream(input)) {
+                    engine.transform(inputStream, failing);
+                }
+                return null;
+            });
+
+            long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(30);
+            while (tasks.size() < 10) {
+                Assertions.assertTrue(System.nanoTime() < deadline, "Every entry should have been handed off.");
+                Thread.sleep(10);
+            }
+
+            // Only the first entry is transformed, the writer fails on it while the others are still queued.
+            tasks.take().run();
+            ExecutionException failure = Assertions.assertThrows(ExecutionException.class, () -> transform.get(30, TimeUnit.SECONDS));
+            Assertions.assertEquals("Disk full", failure.getCause().getMessage());
+
+            for (Runnable task = tasks.poll(); task != null; task = tasks.poll()) {
+                task.run();
+            }
+            Assertions.assertEquals(1, transformed.get(), "Entries queued behind the failed write should be cancelled before they run.");
+        } finally {
+            reader.shutdownNow();
+            delete(directory);
+        }
+    }
+}
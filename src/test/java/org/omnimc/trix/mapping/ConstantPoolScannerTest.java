@@ -0,0 +1,154 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.mapping;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.FieldVisitor;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.omnimc.lumina.data.types.ClassData;
+import org.omnimc.trix.api.TrixRemapper;
+import org.omnimc.trix.api.asm.ConstantPoolScanner;
+import org.omnimc.trix.api.mapping.SymbolTable;
+import org.omnimc.trix.api.util.MappingUtil;
+import org.omnimc.trix.impl.hierarchy.HierarchyManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class ConstantPoolScannerTest {
+
+    private static TrixRemapper createRemapper() {
+        return new TrixRemapper(SymbolTable.builder()
+                .addClass("a", "net/minecraft/A")
+                .addMethod("a", "m", "()V", "run")
+                .build());
+    }
+
+    /**
+     * @return A class whose only reference to {@code a} is the descriptor of a field, which lives in a
+     * {@code CONSTANT_Utf8} entry and never in a {@code CONSTANT_Class} entry.
+     */
+    private static byte[] createDescriptorOnlyClass() {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "Holder", null, "java/lang/Object", null);
+        classWriter.visitField(Opcodes.ACC_PUBLIC, "value", "La;", null, null).visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    /**
+     * @return A class calling {@code owner.m()V}, without mentioning anything else but {@code java/lang/Object}.
+     */
+    private static byte[] createCaller(String owner) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "Caller", null, "java/lang/Object", null);
+
+        MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, "call", "()V", null, null);
+        methodVisitor.visitCode();
+        methodVisitor.visitInsn(Opcodes.ACONST_NULL);
+        methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, owner, "m", "()V", false);
+        methodVisitor.visitInsn(Opcodes.RETURN);
+        methodVisitor.visitMaxs(1, 0);
+        methodVisitor.visitEnd();
+
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static List<String> getReferences(byte[] classBytes) {
+        List<String> references = new ArrayList<>();
+        new ClassReader(classBytes).accept(new ClassVisitor(Opcodes.ASM9) {
+            @Override
+            public FieldVisitor visitField(int access, String name, String descriptor, String signature, Object value) {
+                references.add(name + ':' + descriptor);
+                return null;
+            }
+
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                return new MethodVisitor(Opcodes.ASM9) {
+                    @Override
+                    public void visitMethodInsn(int opcode, String owner, String name, String descriptor, boolean isInterface) {
+                        references.add(owner + '.' + name + descriptor);
+                    }
+                };
+            }
+        }, 0);
+        return references;
+    }
+
+    @Test
+    public void testDescriptorOnlyReference() {
+        TrixRemapper remapper = createRemapper();
+        byte[] classBytes = createDescriptorOnlyClass();
+
+        Assertions.assertTrue(MappingUtil.needsRemapping(classBytes, remapper), "A mapped class in a descriptor should be found.");
+        Assertions.assertEquals(List.of("value:Lnet/minecraft/A;"), getReferences(MappingUtil.remapClass(classBytes, remapper)));
+    }
+
+    @Test
+    public void testMemberReferenceThroughUnmappedSubclass() {
+        HierarchyManager hierarchyManager = new HierarchyManager();
+        ClassData mapped = new ClassData("net/minecraft/A");
+        mapped.addDependentClass("java/lang/Object");
+        mapped.addMethod("m", "run", "()V");
+        hierarchyManager.addClass("a", mapped);
+
+        ClassData subclass = new ClassData("ModSub");
+        subclass.addDependentClass("a");
+        hierarchyManager.addClass("ModSub", subclass);
+
+        TrixRemapper remapper = new TrixRemapper(hierarchyManager.createMemberResolver());
+        byte[] classBytes = createCaller("ModSub");
+
+        Assertions.assertTrue(remapper.containsClass("ModSub"), "A class whose members are mapped should count as known even if its name is not.");
+        Assertions.assertTrue(MappingUtil.needsRemapping(classBytes, remapper), "An inherited member mapping should not be skipped.");
+        Assertions.assertEquals(List.of("ModSub.run()V"), getReferences(MappingUtil.remapClass(classBytes, remapper)));
+    }
+
+    @Test
+    public void testUnmappedClassIsSkipped() {
+        TrixRemapper remapper = createRemapper();
+        byte[] classBytes = createCaller("net/example/Other");
+
+        Assertions.assertFalse(MappingUtil.needsRemapping(classBytes, remapper));
+        Assertions.assertSame(classBytes, MappingUtil.remapClass(classBytes, remapper), "Untouched classes should come back as they are.");
+    }
+
+    @Test
+    public void testNotAClassFile() {
+        Assertions.assertThrows(IllegalArgumentException.class, () -> ConstantPoolScanner.referencesAny(new byte[16], name -> true));
+    }
+}
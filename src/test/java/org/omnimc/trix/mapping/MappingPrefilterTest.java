@@ -0,0 +1,123 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.mapping;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.trix.api.mapping.MappingPrefilter;
+import org.omnimc.trix.api.mapping.MappingSource;
+import org.omnimc.trix.api.mapping.SymbolTable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class MappingPrefilterTest {
+
+    private static List<String> createKeys(int count) {
+        List<String> keys = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            keys.add("c" + i);
+        }
+        return keys;
+    }
+
+    @Test
+    public void testNoFalseNegatives() {
+        List<String> keys = createKeys(10_000);
+        MappingPrefilter filter = MappingPrefilter.builder().addKeys(keys).build();
+
+        for (String key : keys) {
+            Assertions.assertTrue(filter.mightBeMapped(key), key);
+        }
+        Assertions.assertEquals(0, filter.getBloomRejected());
+    }
+
+    @Test
+    public void testUnmappedNamesAreRejected() {
+        MappingPrefilter filter = MappingPrefilter.builder().addKeys(createKeys(10_000)).falsePositiveRate(0.01).build();
+
+        int passed = 0;
+        for (int i = 0; i < 10_000; i++) {
+            if (filter.mightBeMapped("net/example/Mod" + i)) {
+                passed++;
+            }
+        }
+        Assertions.assertTrue(passed < 300, "Far more than 1% of unmapped names passed: " + passed);
+    }
+
+    @Test
+    public void testExclusions() {
+        MappingPrefilter filter = MappingPrefilter.builder()
+                .excludeDefaults()
+                .exclude("org/lwjgl/")
+                .addKeys(List.of("java/lang/Object", "a"))
+                .build();
+
+        Assertions.assertFalse(filter.mightBeMapped("java/lang/Object"), "Excluded prefixes should win over keys.");
+        Assertions.assertFalse(filter.mightBeMapped("com/sun/Foo"));
+        Assertions.assertFalse(filter.mightBeMapped("org/lwjgl/opengl/GL11"));
+        Assertions.assertTrue(filter.mightBeMapped("a"));
+        Assertions.assertEquals(3, filter.getExcluded());
+
+        MappingPrefilter prefixesOnly = MappingPrefilter.builder().excludeDefaults().useBloomFilter(false).build();
+        Assertions.assertFalse(prefixesOnly.mightBeMapped("javax/swing/JFrame"));
+        Assertions.assertTrue(prefixesOnly.mightBeMapped("anything"), "Without a Bloom filter only prefixes should reject.");
+    }
+
+    @Test
+    public void testEmptyKeysRejectEverything() {
+        MappingPrefilter filter = MappingPrefilter.builder().build();
+
+        Assertions.assertFalse(filter.mightBeMapped("a"));
+        Assertions.assertFalse(filter.mightBeMapped("net/minecraft/Foo"));
+        Assertions.assertEquals(2, filter.getBloomRejected());
+    }
+
+    @Test
+    public void testFalsePositivesAreCounted() {
+        SymbolTable table = SymbolTable.builder()
+                .addClass("a", "net/minecraft/A")
+                .addClass("b", "net/minecraft/B")
+                .build();
+
+        // Every key of the filter but only some of them in the source, the rest pass the filter and then miss.
+        MappingPrefilter filter = MappingPrefilter.builder().addKeys(List.of("a", "b", "c", "d")).build();
+        MappingSource source = filter.filter(table);
+
+        Assertions.assertEquals("net/minecraft/A", source.mapClassName("a"));
+        Assertions.assertNull(source.mapClassName("c"));
+        Assertions.assertNull(source.mapClassName("d"));
+        Assertions.assertEquals(2, filter.getFalsePositives());
+
+        filter.resetStatistics();
+        Assertions.assertEquals(0, filter.getFalsePositives());
+        Assertions.assertEquals(0, filter.getRequests());
+    }
+}
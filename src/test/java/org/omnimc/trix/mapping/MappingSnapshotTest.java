@@ -0,0 +1,145 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.mapping;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.trix.api.TrixRemapper;
+import org.omnimc.trix.api.mapping.MappingSnapshot;
+import org.omnimc.trix.api.mapping.SymbolTable;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class MappingSnapshotTest {
+
+    private static SymbolTable createTable() {
+        SymbolTable.Builder builder = SymbolTable.builder();
+
+        for (int i = 0; i < 500; i++) {
+            String obfuscated = "c" + i;
+            String mapped = "net/minecraft/Class" + i;
+
+            builder.addClass(obfuscated, mapped)
+                    .addField(obfuscated, "a", "I", "field" + i)
+                    .addMethod(obfuscated, "a", "(L" + mapped + ";)V", "method" + i);
+        }
+
+        return builder.build();
+    }
+
+    @Test
+    public void testSymbolTableLookups() {
+        TrixRemapper remapper = new TrixRemapper(createTable());
+
+        Assertions.assertEquals("net/minecraft/Class42", remapper.mapType("c42"));
+        Assertions.assertEquals("java/lang/Object", remapper.mapType("java/lang/Object"));
+        Assertions.assertEquals("field7", remapper.mapFieldName("c7", "a", "I"));
+        Assertions.assertEquals("method7", remapper.mapMethodName("c7", "a", "(Lc7;)V"));
+        Assertions.assertEquals("b", remapper.mapMethodName("c7", "b", "()V"));
+    }
+
+    @Test
+    public void testSnapshotRoundTrip() throws IOException {
+        SymbolTable table = createTable();
+        Path file = Files.createTempFile("trix-snapshot", ".bin");
+
+        try {
+            MappingSnapshot.write(table, file);
+            MappingSnapshot snapshot = MappingSnapshot.open(file);
+
+            Assertions.assertEquals(table.getClassCount(), snapshot.getClassCount());
+            for (int i = 0; i < 500; i++) {
+                String obfuscated = "c" + i;
+                Assertions.assertEquals(table.mapClassName(obfuscated), snapshot.mapClassName(obfuscated));
+                Assertions.assertEquals("field" + i, snapshot.mapFieldName(obfuscated, "a", "I"));
+                Assertions.assertEquals("method" + i, snapshot.mapMethodName(obfuscated, "a", "(Lnet/minecraft/Class" + i + ";)V"));
+            }
+
+            Assertions.assertNull(snapshot.mapClassName("java/lang/String"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    public void testFullTableIsRejected() throws IOException {
+        // Both slots are taken, so a lookup for a missing class would never find an empty slot to stop at.
+        assertRejected(2, 2, new int[]{1, 2}, 2);
+    }
+
+    @Test
+    public void testTableThatIsNotAPowerOfTwoIsRejected() throws IOException {
+        assertRejected(2, 3, new int[]{1, 2, 0}, 2);
+    }
+
+    @Test
+    public void testOverflowingHeaderIsRejected() throws IOException {
+        // 0x80000002 chars take 4 bytes once multiplied as an int, which would match the size of the file.
+        assertRejected(1, 2, new int[]{1, 0}, 0x80000002);
+    }
+
+    /**
+     * Writes a snapshot holding the classes {@code a} and {@code b} with the given class table, the headers
+     * {@code classCount} and {@code charCount} are written as given while the file only ever holds two characters.
+     */
+    private static void assertRejected(int classCount, int classSlotCount, int[] classSlots, int charCount) throws IOException {
+        Path file = Files.createTempFile("trix-snapshot", ".bin");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+                int[] header = {MappingSnapshot.MAGIC, MappingSnapshot.VERSION, 2, charCount, classCount, classSlotCount, 0, 2, 0, 2};
+                for (int value : header) {
+                    out.writeInt(value);
+                }
+
+                int[][] sections = {
+                        {0, 1, 2}, {"a".hashCode(), "b".hashCode()},
+                        new int[classCount], new int[classCount], classSlots,
+                        {0, 0},
+                        {0, 0}
+                };
+                for (int[] section : sections) {
+                    for (int value : section) {
+                        out.writeInt(value);
+                    }
+                }
+                out.writeChars("ab");
+            }
+
+            Assertions.assertThrows(IOException.class, () -> MappingSnapshot.open(file),
+                                    "Snapshots that lookups can't safely read should be rejected when opened.");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
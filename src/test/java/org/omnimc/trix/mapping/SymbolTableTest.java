@@ -0,0 +1,127 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.mapping;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.trix.api.mapping.SymbolTable;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class SymbolTableTest {
+
+    /**
+     * Every one of these has the same {@link String#hashCode()}.
+     */
+    private static final String[] COLLIDING = {"AaAa", "AaBB", "BBAa", "BBBB"};
+
+    @Test
+    public void testHashCollisions() {
+        for (String name : COLLIDING) {
+            Assertions.assertEquals(COLLIDING[0].hashCode(), name.hashCode());
+        }
+
+        SymbolTable.Builder builder = SymbolTable.builder();
+        for (String name : COLLIDING) {
+            builder.addClass(name, "mapped/" + name);
+            for (String member : COLLIDING) {
+                builder.addField(name, member, "I", name + '_' + member);
+                builder.addMethod(name, member, "()V", name + '_' + member + "()");
+            }
+        }
+        SymbolTable table = builder.build();
+
+        for (String name : COLLIDING) {
+            Assertions.assertEquals("mapped/" + name, table.mapClassName(name));
+            for (String member : COLLIDING) {
+                Assertions.assertEquals(name + '_' + member, table.mapFieldName(name, member, "I"));
+                Assertions.assertEquals(name + '_' + member + "()", table.mapMethodName(name, member, "()V"));
+            }
+        }
+
+        // Same hash as the keys above, but never added.
+        Assertions.assertNull(table.mapClassName("AaAaAaAa"));
+        Assertions.assertNull(table.mapClassName("BBBBAaAa"));
+        Assertions.assertNull(table.mapFieldName("AaAa", "AaAa", "J"));
+        Assertions.assertNull(table.mapMethodName("AaBB", "AaAa", "()I"));
+    }
+
+    @Test
+    public void testTableGrowth() {
+        SymbolTable.Builder builder = SymbolTable.builder();
+        for (int i = 0; i < 20_000; i++) {
+            builder.addClass("c" + i, "net/minecraft/Class" + i)
+                    .addField("c" + i, "a", "I", "field" + i)
+                    .addMethod("c" + i, "a", "()V", "method" + i);
+        }
+        SymbolTable table = builder.build();
+
+        Assertions.assertEquals(20_000, table.getClassCount());
+        Assertions.assertEquals(20_000, table.getFieldCount());
+        Assertions.assertEquals(20_000, table.getMethodCount());
+
+        for (int i = 0; i < 20_000; i++) {
+            int classId = table.findClass("c" + i);
+            Assertions.assertNotEquals(SymbolTable.NOT_FOUND, classId);
+            Assertions.assertEquals("net/minecraft/Class" + i, table.getSymbol(table.getMappedClassSymbol(classId)));
+            Assertions.assertEquals("field" + i, table.getSymbol(table.getMappedFieldSymbol(table.findField(classId, "a", "I"))));
+            Assertions.assertEquals("method" + i, table.getSymbol(table.getMappedMethodSymbol(table.findMethod(classId, "a", "()V"))));
+        }
+
+        Assertions.assertEquals(SymbolTable.NOT_FOUND, table.findClass("c20000"));
+        Assertions.assertEquals(SymbolTable.NOT_FOUND, table.findMethod(table.findClass("c1"), "a", "()I"));
+    }
+
+    @Test
+    public void testLastMappingWins() {
+        SymbolTable table = SymbolTable.builder()
+                .addClass("a", "first")
+                .addField("a", "b", "I", "firstField")
+                .addClass("a", "second")
+                .addField("a", "b", "I", "secondField")
+                .build();
+
+        Assertions.assertEquals(1, table.getClassCount());
+        Assertions.assertEquals(1, table.getFieldCount());
+        Assertions.assertEquals("second", table.mapClassName("a"));
+        Assertions.assertEquals("secondField", table.mapFieldName("a", "b", "I"));
+    }
+
+    @Test
+    public void testMembersNeedTheirClass() {
+        Assertions.assertThrows(IllegalStateException.class, () -> SymbolTable.builder().addMethod("missing", "a", "()V", "b"));
+    }
+
+    @Test
+    public void testEmptyTable() {
+        SymbolTable table = SymbolTable.builder().build();
+
+        Assertions.assertEquals(SymbolTable.NOT_FOUND, table.findClass("a"));
+        Assertions.assertFalse(table.containsClass("a"));
+    }
+}
@@ -0,0 +1,139 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.metrics;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.omnimc.trix.api.asm.ClassWriterFactory;
+import org.omnimc.trix.api.metrics.MetricRecorder;
+import org.omnimc.trix.api.metrics.Phase;
+import org.omnimc.trix.api.metrics.TraitMetrics;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.resource.FileTrait;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.api.util.TraitUtil;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class TraitMetricsTest {
+
+    @Test
+    public void testPercentiles() {
+        MetricRecorder recorder = new MetricRecorder();
+        for (int i = 1; i <= 1000; i++) {
+            recorder.record(i * 1000L, 0, 0, 0);
+        }
+
+        Assertions.assertEquals(1000, recorder.getCount());
+        Assertions.assertEquals(1_000_000, recorder.getMaxNanos());
+        long median = recorder.getPercentileNanos(50);
+        Assertions.assertTrue(median >= 500_000 && median <= 500_000 * 1.125, "Median should be within one bucket, got " + median);
+        Assertions.assertEquals(1_000_000, recorder.getPercentileNanos(100));
+    }
+
+    @Test
+    public void testTraitsAndPhasesAreRecorded() {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "a/B", null, "java/lang/Object", null);
+        classWriter.visitEnd();
+        byte[] classBytes = classWriter.toByteArray();
+
+        ClassTrait trait = ClassTrait.of((classNode, remapper) -> classNode, Target.direct("a/B"));
+        TraitSequence<ClassTrait> sequence = TraitSequence.createImmutableTraitSequence(trait);
+
+        TraitMetrics metrics = new TraitMetrics();
+        for (int i = 0; i < 3; i++) {
+            TraitUtil.applyClassTraits("a/B", classBytes, null, sequence, ClassWriterFactory.DEFAULT, metrics);
+        }
+
+        Assertions.assertEquals(3, metrics.getTrait(trait).getCount());
+        Assertions.assertEquals(0, metrics.getTrait(trait).getSizedCount(), "A tree has no size to record.");
+        Assertions.assertFalse(metrics.getTrait(trait).toString().contains("in="));
+        Assertions.assertEquals(3, metrics.getPhase(Phase.READ).getCount());
+        Assertions.assertEquals(3L * classBytes.length, metrics.getPhase(Phase.READ).getBytesIn());
+        Assertions.assertEquals(3, metrics.getPhase(Phase.TRANSFORM).getCount());
+        Assertions.assertEquals(3, metrics.getPhase(Phase.WRITE).getCount());
+        Assertions.assertTrue(metrics.report().contains("a/B"), "The report should name the trait's target.");
+    }
+
+    @Test
+    public void testFileTraitSizesAreRecorded() {
+        FileTrait trait = FileTrait.of((bytes, remapper) -> new byte[bytes.length * 2], Target.direct("a.txt"));
+
+        TraitMetrics metrics = new TraitMetrics();
+        TraitUtil.applyFileTraits("a.txt", new byte[5], null, TraitSequence.createImmutableTraitSequence(trait), metrics);
+
+        MetricRecorder recorder = metrics.getTrait(trait);
+        Assertions.assertEquals(1, recorder.getSizedCount());
+        Assertions.assertEquals(5, recorder.getBytesIn());
+        Assertions.assertEquals(10, recorder.getBytesOut());
+        Assertions.assertEquals(10, metrics.getPhase(Phase.TRANSFORM).getBytesOut());
+    }
+
+    @Test
+    public void testMetricsAreScopedToTheirCall() {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "a/B", null, "java/lang/Object", null);
+        classWriter.visitEnd();
+        byte[] classBytes = classWriter.toByteArray();
+
+        ClassTrait trait = ClassTrait.of((classNode, remapper) -> classNode, Target.direct("a/B"));
+        TraitSequence<ClassTrait> sequence = TraitSequence.createImmutableTraitSequence(trait);
+
+        TraitMetrics first = new TraitMetrics();
+        TraitMetrics second = new TraitMetrics();
+        TraitUtil.applyClassTraits("a/B", classBytes, null, sequence, ClassWriterFactory.DEFAULT, first);
+        TraitUtil.applyClassTraits("a/B", classBytes, null, sequence, ClassWriterFactory.DEFAULT, second);
+        TraitUtil.applyClassTraits("a/B", classBytes, null, sequence, ClassWriterFactory.DEFAULT, second);
+        TraitUtil.applyClassTraits("a/B", classBytes, null, sequence);
+
+        Assertions.assertEquals(1, first.getTrait(trait).getCount(), "Metrics should only see the calls they were handed to.");
+        Assertions.assertEquals(2, second.getTrait(trait).getCount());
+    }
+
+    @Test
+    public void testAllocationsAreOnlyTrackedWhenAskedFor() {
+        FileTrait trait = FileTrait.of((bytes, remapper) -> new byte[1024 * 1024], Target.direct("a.txt"));
+        TraitSequence<FileTrait> sequence = TraitSequence.createImmutableTraitSequence(trait);
+
+        TraitMetrics untracked = new TraitMetrics();
+        TraitUtil.applyFileTraits("a.txt", new byte[5], null, sequence, untracked);
+        Assertions.assertFalse(untracked.isAllocationTracked());
+        Assertions.assertEquals(0, untracked.currentAllocatedBytes());
+        Assertions.assertEquals(0, untracked.getTrait(trait).getAllocatedBytes());
+
+        TraitMetrics tracked = new TraitMetrics(true);
+        TraitUtil.applyFileTraits("a.txt", new byte[5], null, sequence, tracked);
+        if (tracked.isAllocationTracked()) {
+            Assertions.assertTrue(tracked.getTrait(trait).getAllocatedBytes() >= 1024 * 1024, "The trait's array should be counted.");
+        }
+    }
+}
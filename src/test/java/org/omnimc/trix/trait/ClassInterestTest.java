@@ -0,0 +1,95 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.trait;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.clazz.ClassInterest;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.api.util.TraitUtil;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class ClassInterestTest {
+
+    private static final String MIXIN = "Lorg/spongepowered/asm/mixin/Mixin;";
+
+    private static byte[] createClass(String name, String annotation) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", new String[]{"java/lang/Runnable"});
+        if (annotation != null) {
+            classWriter.visitAnnotation(annotation, false).visitEnd();
+        }
+        classWriter.visitField(Opcodes.ACC_PUBLIC, "value", "I", null, null).visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static TraitSequence<ClassTrait> createSequence(ClassInterest interest) {
+        return TraitSequence.createImmutableTraitSequence(ClassTrait.of((classNode, remapper) -> {
+            classNode.access |= Opcodes.ACC_FINAL;
+            return classNode;
+        }, Target.defaultTarget(), interest));
+    }
+
+    @Test
+    public void testUninterestingClassesPassThrough() {
+        byte[] classBytes = createClass("a/Plain", null);
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Plain", classBytes, null, createSequence(ClassInterest.annotatedWith(MIXIN)));
+
+        Assertions.assertSame(classBytes, transformed, "Classes no trait is interested in should be passed through untouched.");
+    }
+
+    @Test
+    public void testInterestingClassesAreModified() {
+        byte[] classBytes = createClass("a/Mixin", MIXIN);
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Mixin", classBytes, null,
+                                                        createSequence(ClassInterest.annotatedWith(MIXIN).and(ClassInterest.implementing("java/lang/Runnable"))));
+
+        ClassNode classNode = new ClassNode();
+        new ClassReader(transformed).accept(classNode, 0);
+        Assertions.assertTrue((classNode.access & Opcodes.ACC_FINAL) != 0, "Interested traits should still be applied.");
+        Assertions.assertEquals(1, classNode.fields.size());
+    }
+
+    @Test
+    public void testExtending() {
+        byte[] classBytes = createClass("a/Plain", null);
+
+        Assertions.assertSame(classBytes, TraitUtil.applyClassTraits("a/Plain", classBytes, null, createSequence(ClassInterest.extending("a/Base"))));
+        Assertions.assertNotSame(classBytes, TraitUtil.applyClassTraits("a/Plain", classBytes, null, createSequence(ClassInterest.extending("java/lang/Object"))));
+    }
+}
@@ -0,0 +1,166 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.trait;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.commons.SimpleRemapper;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.omnimc.trix.api.asm.Compatibility;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.TargetType;
+import org.omnimc.trix.api.trait.clazz.ClassInterest;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.clazz.ClassVisitorTrait;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.api.util.TraitUtil;
+import org.omnimc.trix.impl.visitors.mappings.MappingClassVisitor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class ClassVisitorTraitTest {
+
+    private static byte[] createClass(String name) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static ClassNode read(byte[] classBytes) {
+        ClassNode classNode = new ClassNode();
+        new ClassReader(classBytes).accept(classNode, 0);
+        return classNode;
+    }
+
+    private static List<String> getFieldNames(byte[] classBytes) {
+        List<String> names = new ArrayList<>();
+        for (FieldNode field : read(classBytes).fields) {
+            names.add(field.name);
+        }
+        return names;
+    }
+
+    private static String describe(ClassVisitor next) {
+        if (next instanceof ClassWriter) {
+            return "writer";
+        }
+        return next instanceof ClassNode ? "tree" : "visitor";
+    }
+
+    /**
+     * A visitor trait adding a field named {@code name} and recording the type of the visitor it was chained to.
+     */
+    private static ClassVisitorTrait addField(int priority, String name, List<String> calls) {
+        return ClassVisitorTrait.of(remapper -> next -> {
+            calls.add(name + " -> " + describe(next));
+            return new ClassVisitor(Compatibility.ASM_VERSION, next) {
+                @Override
+                public void visitEnd() {
+                    super.visitField(Opcodes.ACC_PUBLIC, name, "I", null, null).visitEnd();
+                    super.visitEnd();
+                }
+            };
+        }, Target.of(priority, TargetType.ALL));
+    }
+
+    private static ClassTrait addTreeField(int priority, String name, List<String> calls) {
+        return ClassTrait.of((classNode, remapper) -> {
+            calls.add(name + " -> tree");
+            classNode.fields.add(new FieldNode(Opcodes.ACC_PUBLIC, name, "I", null, null));
+            return classNode;
+        }, Target.of(priority, TargetType.ALL));
+    }
+
+    @Test
+    public void testVisitorTraitsStreamWithoutClassNode() {
+        List<String> calls = new ArrayList<>();
+        TraitSequence<ClassTrait> sequence = TraitSequence.createImmutableTraitSequence(addField(2, "first", calls), addField(1, "second", calls));
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Plain", createClass("a/Plain"), null, sequence);
+
+        Assertions.assertEquals(List.of("second -> writer", "first -> visitor"), calls,
+                                "Every visitor should be chained straight to the writer, no ClassNode in between.");
+        Assertions.assertEquals(List.of("first", "second"), getFieldNames(transformed), "Visitors should see the class in the order of the sequence.");
+    }
+
+    @Test
+    public void testMixedTraitsKeepTheirOrder() {
+        List<String> calls = new ArrayList<>();
+        TraitSequence<ClassTrait> sequence = TraitSequence.createImmutableTraitSequence(
+                addField(5, "read", calls),
+                addTreeField(4, "firstTree", calls),
+                addField(3, "between", calls),
+                addTreeField(2, "secondTree", calls),
+                addField(1, "write", calls));
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Plain", createClass("a/Plain"), null, sequence);
+
+        Assertions.assertEquals(List.of("read -> tree", "firstTree -> tree", "between -> tree", "secondTree -> tree", "write -> writer"), calls);
+        Assertions.assertEquals(List.of("read", "firstTree", "between", "secondTree", "write"), getFieldNames(transformed),
+                                "Every trait should see the changes of the traits before it.");
+    }
+
+    @Test
+    public void testNoMatchingTrait() {
+        List<String> calls = new ArrayList<>();
+        ClassVisitorTrait otherClass = ClassVisitorTrait.of(remapper -> next -> {
+            calls.add("otherClass");
+            return next;
+        }, Target.direct("a/Other"));
+        ClassVisitorTrait notInterested = ClassVisitorTrait.of(remapper -> next -> {
+            calls.add("notInterested");
+            return next;
+        }, Target.defaultTarget(), ClassInterest.extending("a/Base"));
+        byte[] classBytes = createClass("a/Plain");
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Plain", classBytes, null, TraitSequence.createImmutableTraitSequence(otherClass, notInterested));
+
+        Assertions.assertSame(classBytes, transformed);
+        Assertions.assertTrue(calls.isEmpty(), "No visitor should be created for a class no trait wants.");
+    }
+
+    @Test
+    public void testExistingChainedVisitor() {
+        ClassVisitorTrait rename = ClassVisitorTrait.of(remapper -> new MappingClassVisitor(null, remapper));
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Plain", createClass("a/Plain"), new SimpleRemapper(Map.of("a/Plain", "b/Renamed")),
+                                                        TraitSequence.createImmutableTraitSequence(rename));
+
+        Assertions.assertEquals("b/Renamed", read(transformed).name);
+    }
+}
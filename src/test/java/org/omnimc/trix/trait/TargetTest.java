@@ -0,0 +1,115 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.trait;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldNode;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.TargetType;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.sequence.TraitIndex;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.api.util.TraitUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class TargetTest {
+
+    private static final int CLASS_COUNT = 256;
+
+    @Test
+    @SuppressWarnings("deprecation")
+    public void testTargetsOwnTheirName() {
+        Target first = Target.of(0, TargetType.DIRECT.setTarget("a/First"));
+        Target second = Target.of(0, TargetType.DIRECT.setTarget("a/Second"));
+
+        Assertions.assertTrue(first.matches("a/First"), "Setting another target should not change an existing one");
+        Assertions.assertFalse(first.matches("a/Second"));
+        Assertions.assertTrue(second.matches("a/Second"));
+        Assertions.assertNotEquals(first, second);
+        Assertions.assertEquals(Target.direct("a/First"), first);
+    }
+
+    @Test
+    public void testConcurrentTraitApplication() throws Exception {
+        ClassTrait[] traits = new ClassTrait[CLASS_COUNT];
+        for (int i = 0; i < CLASS_COUNT; i++) {
+            String fieldName = "field" + i;
+            traits[i] = ClassTrait.of((classNode, remapper) -> {
+                classNode.fields.add(new FieldNode(Opcodes.ACC_PUBLIC, fieldName, "I", null, null));
+                return classNode;
+            }, Target.direct("test/Class" + i));
+        }
+
+        TraitSequence<ClassTrait> sequence = TraitSequence.createImmutableTraitSequence(traits);
+        TraitIndex<ClassTrait> index = TraitIndex.compile(sequence);
+
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int round = 0; round < 4; round++) {
+                for (int i = 0; i < CLASS_COUNT; i++) {
+                    int classIndex = i;
+                    TraitSequence<ClassTrait> used = (round & 1) == 0 ? sequence : index;
+                    futures.add(executor.submit(() -> assertOnlyOwnTrait(classIndex, used)));
+                }
+            }
+
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void assertOnlyOwnTrait(int classIndex, TraitSequence<ClassTrait> sequence) {
+        String className = "test/Class" + classIndex;
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, className, null, "java/lang/Object", null);
+        classWriter.visitEnd();
+
+        byte[] transformed = TraitUtil.applyClassTraits(className, classWriter.toByteArray(), null, sequence);
+
+        ClassNode classNode = new ClassNode();
+        new ClassReader(transformed).accept(classNode, 0);
+        Assertions.assertEquals(1, classNode.fields.size(), className + " should only get its own trait");
+        Assertions.assertEquals("field" + classIndex, classNode.fields.getFirst().name);
+    }
+}
@@ -0,0 +1,274 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.trait;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.MethodVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.tree.AbstractInsnNode;
+import org.objectweb.asm.tree.ClassNode;
+import org.objectweb.asm.tree.FieldInsnNode;
+import org.objectweb.asm.tree.LdcInsnNode;
+import org.objectweb.asm.tree.MethodInsnNode;
+import org.objectweb.asm.tree.MethodNode;
+import org.objectweb.asm.tree.VarInsnNode;
+import org.omnimc.trix.api.asm.ClassWriterFactory;
+import org.omnimc.trix.api.asm.Compatibility;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+import org.omnimc.trix.api.util.TraitUtil;
+import org.omnimc.trix.api.visitor.ChainedClassVisitor;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class TraitUtilTest {
+
+    private static final TraitSequence<ClassTrait> FINAL_SEQUENCE = TraitSequence.createImmutableTraitSequence(ClassTrait.of((classNode, remapper) -> {
+        classNode.access |= Opcodes.ACC_FINAL;
+        return classNode;
+    }, Target.direct("a/Target")));
+
+    private static byte[] createClass(String name) {
+        ClassWriter classWriter = new ClassWriter(0);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, name, null, "java/lang/Object", null);
+        classWriter.visitField(Opcodes.ACC_PUBLIC, "value", "I", null, null).visitEnd();
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static ClassNode read(byte[] classBytes) {
+        ClassNode classNode = new ClassNode();
+        new ClassReader(classBytes).accept(classNode, 0);
+        return classNode;
+    }
+
+    /**
+     * @return A buffer holding {@code classBytes} after a few bytes of padding, positioned at the class and limited
+     * before a few more bytes of padding.
+     */
+    private static ByteBuffer wrapWithPadding(byte[] classBytes, boolean direct) {
+        int capacity = classBytes.length + 13;
+        ByteBuffer buffer = direct ? ByteBuffer.allocateDirect(capacity) : ByteBuffer.allocate(capacity);
+        buffer.put(new byte[]{1, 2, 3, 4, 5, 6, 7}).put(classBytes).put(new byte[]{8, 9, 10, 11, 12, 13});
+        buffer.position(7).limit(7 + classBytes.length);
+        return buffer;
+    }
+
+    @Test
+    public void testUntargetedClassesReturnTheOriginalArray() {
+        byte[] classBytes = createClass("a/Other");
+
+        Assertions.assertSame(classBytes, TraitUtil.applyClassTraits("a/Other", classBytes, null, FINAL_SEQUENCE));
+        Assertions.assertSame(classBytes, TraitUtil.applyClassTraits("a/Other", classBytes, null, TraitSequence.createImmutableTraitSequence()));
+    }
+
+    @Test
+    public void testTargetedClassesAreModified() {
+        byte[] classBytes = createClass("a/Target");
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Target", classBytes, null, FINAL_SEQUENCE);
+
+        Assertions.assertNotSame(classBytes, transformed);
+        Assertions.assertTrue((read(transformed).access & Opcodes.ACC_FINAL) != 0);
+    }
+
+    @Test
+    public void testHeapBufferWithPosition() {
+        testBufferWithPosition(false);
+    }
+
+    @Test
+    public void testDirectBufferWithPosition() {
+        testBufferWithPosition(true);
+    }
+
+    private static void testBufferWithPosition(boolean direct) {
+        byte[] targetBytes = createClass("a/Target");
+        ByteBuffer targetBuffer = wrapWithPadding(targetBytes, direct);
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Target", targetBuffer, null, FINAL_SEQUENCE);
+
+        Assertions.assertEquals("a/Target", read(transformed).name);
+        Assertions.assertTrue((read(transformed).access & Opcodes.ACC_FINAL) != 0, "The class should be read from the buffer's position.");
+        Assertions.assertEquals(7, targetBuffer.position(), "The position of the buffer should be left untouched.");
+        Assertions.assertEquals(7 + targetBytes.length, targetBuffer.limit());
+
+        byte[] otherBytes = createClass("a/Other");
+        ByteBuffer otherBuffer = wrapWithPadding(otherBytes, direct);
+
+        byte[] untouched = TraitUtil.applyClassTraits("a/Other", otherBuffer, null, FINAL_SEQUENCE);
+
+        Assertions.assertArrayEquals(otherBytes, untouched, "An untargeted class should come back as exactly the remaining bytes.");
+        Assertions.assertEquals(7, otherBuffer.position());
+    }
+
+    @Test
+    public void testHeapBufferWithArrayOffset() {
+        byte[] classBytes = createClass("a/Target");
+        ByteBuffer buffer = wrapWithPadding(classBytes, false);
+        buffer.position(3);
+        ByteBuffer slice = buffer.slice();
+        slice.position(4);
+
+        byte[] transformed = TraitUtil.applyClassTraits("a/Target", slice, null, FINAL_SEQUENCE);
+
+        Assertions.assertTrue((read(transformed).access & Opcodes.ACC_FINAL) != 0, "The array offset of a slice should be honoured.");
+    }
+
+    @Test
+    public void testBatchKeepsOrderAndUntouchedArrays() {
+        Map<String, byte[]> classes = new LinkedHashMap<>();
+        classes.put("a/Other", createClass("a/Other"));
+        classes.put("a/Target", createClass("a/Target"));
+        classes.put("a/Another", createClass("a/Another"));
+
+        Map<String, byte[]> transformed = TraitUtil.applyClassTraits(classes, null, FINAL_SEQUENCE);
+
+        Assertions.assertEquals(List.copyOf(classes.keySet()), List.copyOf(transformed.keySet()));
+        Assertions.assertSame(classes.get("a/Other"), transformed.get("a/Other"));
+        Assertions.assertSame(classes.get("a/Another"), transformed.get("a/Another"));
+        Assertions.assertTrue((read(transformed.get("a/Target")).access & Opcodes.ACC_FINAL) != 0);
+    }
+
+    /**
+     * A class with two methods that each load a string and print it, {@code untouched} is left alone by
+     * {@link #replaceChangedConstant()}.
+     */
+    private static byte[] createClassWithMethods() {
+        ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_MAXS);
+        classWriter.visit(Opcodes.V17, Opcodes.ACC_PUBLIC, "a/Methods", null, "java/lang/Object", null);
+        for (String name : new String[]{"untouched", "changed"}) {
+            MethodVisitor methodVisitor = classWriter.visitMethod(Opcodes.ACC_PUBLIC | Opcodes.ACC_STATIC, name, "(I)I", null, null);
+            methodVisitor.visitCode();
+            methodVisitor.visitFieldInsn(Opcodes.GETSTATIC, "java/lang/System", "out", "Ljava/io/PrintStream;");
+            methodVisitor.visitLdcInsn(name + " value");
+            methodVisitor.visitMethodInsn(Opcodes.INVOKEVIRTUAL, "java/io/PrintStream", "println", "(Ljava/lang/String;)V", false);
+            methodVisitor.visitVarInsn(Opcodes.ILOAD, 0);
+            methodVisitor.visitInsn(Opcodes.IRETURN);
+            methodVisitor.visitMaxs(0, 0);
+            methodVisitor.visitEnd();
+        }
+        classWriter.visitEnd();
+        return classWriter.toByteArray();
+    }
+
+    private static ChainedClassVisitor replaceChangedConstant() {
+        return next -> new ClassVisitor(Compatibility.ASM_VERSION, next) {
+            @Override
+            public MethodVisitor visitMethod(int access, String name, String descriptor, String signature, String[] exceptions) {
+                MethodVisitor methodVisitor = super.visitMethod(access, name, descriptor, signature, exceptions);
+                if (!name.equals("changed")) {
+                    return methodVisitor;
+                }
+
+                return new MethodVisitor(Compatibility.ASM_VERSION, methodVisitor) {
+                    @Override
+                    public void visitLdcInsn(Object value) {
+                        super.visitLdcInsn("replaced value");
+                    }
+                };
+            }
+        };
+    }
+
+    /**
+     * @return Every instruction of {@code methodName} with its operands, labels and line numbers left out.
+     */
+    private static List<String> describeMethod(byte[] classBytes, String methodName) {
+        for (MethodNode method : read(classBytes).methods) {
+            if (!method.name.equals(methodName)) {
+                continue;
+            }
+
+            List<String> instructions = new ArrayList<>();
+            for (AbstractInsnNode instruction : method.instructions) {
+                if (instruction.getOpcode() < 0) {
+                    continue;
+                }
+
+                String operands = "";
+                if (instruction instanceof FieldInsnNode field) {
+                    operands = field.owner + "." + field.name + field.desc;
+                } else if (instruction instanceof MethodInsnNode invoke) {
+                    operands = invoke.owner + "." + invoke.name + invoke.desc;
+                } else if (instruction instanceof LdcInsnNode ldc) {
+                    operands = String.valueOf(ldc.cst);
+                } else if (instruction instanceof VarInsnNode var) {
+                    operands = String.valueOf(var.var);
+                }
+                instructions.add(instruction.getOpcode() + " " + operands);
+            }
+            return instructions;
+        }
+        throw new AssertionError("No method named " + methodName);
+    }
+
+    @Test
+    public void testCopyThroughMatchesDefault() {
+        byte[] classBytes = createClassWithMethods();
+
+        byte[] defaultBytes = TraitUtil.applyClassVisitors(classBytes, ClassWriterFactory.DEFAULT, replaceChangedConstant());
+        byte[] copiedBytes = TraitUtil.applyClassVisitors(classBytes, ClassWriterFactory.COPY_THROUGH, replaceChangedConstant());
+
+        Assertions.assertEquals(describeMethod(classBytes, "untouched"), describeMethod(copiedBytes, "untouched"),
+                                "A method no visitor touched should be copied as it was.");
+        Assertions.assertEquals(describeMethod(defaultBytes, "untouched"), describeMethod(copiedBytes, "untouched"));
+
+        List<String> changed = describeMethod(copiedBytes, "changed");
+        Assertions.assertTrue(changed.contains(Opcodes.LDC + " replaced value"), "A changed method should be written with its changes.");
+        Assertions.assertEquals(describeMethod(defaultBytes, "changed"), changed);
+
+        Assertions.assertTrue(contains(copiedBytes, "changed value"), "The original constant pool should have been copied.");
+        Assertions.assertFalse(contains(defaultBytes, "changed value"));
+    }
+
+    private static boolean contains(byte[] classBytes, String constant) {
+        return new String(classBytes, StandardCharsets.ISO_8859_1).contains(constant);
+    }
+
+    @Test
+    public void testCopyThroughWithoutVisitors() {
+        byte[] classBytes = createClassWithMethods();
+
+        byte[] copiedBytes = TraitUtil.applyClassVisitors(classBytes, ClassWriterFactory.COPY_THROUGH);
+
+        Assertions.assertArrayEquals(classBytes, copiedBytes, "Without any visitor the class should be copied byte for byte.");
+    }
+}
@@ -27,11 +27,19 @@ package org.omnimc.trix.trait.sequence;
 
 import org.junit.jupiter.api.Assertions;
 import org.junit.jupiter.api.Test;
+import org.omnimc.trix.api.trait.Target;
+import org.objectweb.asm.commons.Remapper;
+import org.objectweb.asm.tree.ClassNode;
+import org.omnimc.trix.api.trait.TargetType;
 import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.clazz.ClassVisitorTrait;
 import org.omnimc.trix.api.trait.sequence.MutableTraitSequence;
 import org.omnimc.trix.api.trait.sequence.TraitSequence;
 
+import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.List;
 
 /**
  * @author <a href=https://github.com/CadenCCC>Caden</a>
@@ -67,6 +75,89 @@ public class MutableSequenceTest {
                                 "sequence 'add' is not updating the list.");
     }
 
+    @Test
+    public void testMixedTraitTypes() {
+        MutableTraitSequence<ClassTrait> sequence = TraitSequence.createMutableTraitSequence(SequenceTestHelp.unsortedClassTraits);
+
+        sequence.add(ClassVisitorTrait.of(remapper -> next -> next, Target.of(5, TargetType.ALL)));
+
+        ClassTrait[] traits = sequence.getSequence();
+        Assertions.assertEquals(SequenceTestHelp.unsortedClassTraits.length + 1, traits.length);
+        Assertions.assertSame(traits, sequence.getSequence(), "Unchanged sequences should hand out the same snapshot.");
+    }
+
+    @Test
+    public void testConcurrentAdds() throws InterruptedException {
+        MutableTraitSequence<ClassTrait> sequence = new MutableTraitSequence<>();
+
+        Thread[] threads = new Thread[8];
+        for (int i = 0; i < threads.length; i++) {
+            int priority = i;
+            threads[i] = new Thread(() -> {
+                for (int j = 0; j < 250; j++) {
+                    sequence.add(SequenceTestHelp.createStupidClassTrait(priority));
+                }
+            });
+            threads[i].start();
+        }
+
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int[] actualPriorities = Arrays.stream(sequence.getSequence())
+                .mapToInt(trait -> trait.getTarget().getPriority())
+                .toArray();
+
+        Assertions.assertEquals(threads.length * 250, actualPriorities.length, "Concurrent adds should not be lost.");
+        for (int i = 1; i < actualPriorities.length; i++) {
+            Assertions.assertTrue(actualPriorities[i - 1] >= actualPriorities[i], "Priorities should be sorted from highest to lowest.");
+        }
+    }
+
+    @Test
+    public void testSharedInterfacesKeepTheTraitType() {
+        MutableTraitSequence<ClassTrait> sequence = new MutableTraitSequence<>();
+        sequence.add(new SerializableTrait(1));
+        sequence.add(new OtherSerializableTrait(2));
+
+        ClassTrait[] traits = sequence.getSequence();
+        Assertions.assertEquals(ClassTrait.class, traits.getClass().getComponentType(),
+                                "Interfaces outside of Trait should never type the sequence.");
+
+        MutableTraitSequence<ClassTrait> created = TraitSequence.createMutableTraitSequence(new SerializableTrait(1));
+        created.add(new OtherSerializableTrait(2));
+        Assertions.assertEquals(ClassTrait.class, created.getSequence().getClass().getComponentType(),
+                                "Created sequences should be typed as their trait type.");
+    }
+
+    @Test
+    public void testEqualPrioritiesKeepTheirOrder() {
+        MutableTraitSequence<ClassTrait> sequence = TraitSequence.createMutableTraitSequence(SequenceTestHelp.unsortedClassTraits);
+
+        List<ClassTrait> added = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ClassTrait trait = SequenceTestHelp.createStupidClassTrait(i % 2 == 0 ? 10 : 1);
+            added.add(trait);
+            sequence.add(trait);
+        }
+
+        List<ClassTrait> batch = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            batch.add(SequenceTestHelp.createStupidClassTrait(i % 3 == 0 ? 10 : 50));
+        }
+        sequence.addAll(batch.toArray(new ClassTrait[0]));
+
+        List<ClassTrait> expected = new ArrayList<>(Arrays.asList(SequenceTestHelp.unsortedClassTraits));
+        expected.addAll(added);
+        expected.addAll(batch);
+        // List.sort is stable, so this is the order traits that were added one after another should have.
+        expected.sort((first, second) -> Integer.compare(second.getTarget().getPriority(), first.getTarget().getPriority()));
+
+        Assertions.assertEquals(expected, Arrays.asList(sequence.getSequence()),
+                                "Traits of equal priority should stay in the order they were added.");
+    }
+
     @Test
     public void testClear() {
         MutableTraitSequence<ClassTrait> sequence = TraitSequence.createMutableTraitSequence(SequenceTestHelp.unsortedClassTraits);
@@ -77,4 +168,42 @@ public class MutableSequenceTest {
 
         Assertions.assertNull(traits, "sequence 'clear' is not null.");
     }
-}
\ No newline at end of file
+
+    private static final class SerializableTrait implements Serializable, ClassTrait {
+
+        private final Target target;
+
+        private SerializableTrait(int priority) {
+            this.target = Target.of(priority, TargetType.ALL);
+        }
+
+        @Override
+        public ClassNode modify(ClassNode nodeToChange, Remapper remapper) {
+            return nodeToChange;
+        }
+
+        @Override
+        public Target getTarget() {
+            return target;
+        }
+    }
+
+    private static final class OtherSerializableTrait implements Serializable, ClassTrait {
+
+        private final Target target;
+
+        private OtherSerializableTrait(int priority) {
+            this.target = Target.of(priority, TargetType.ALL);
+        }
+
+        @Override
+        public ClassNode modify(ClassNode nodeToChange, Remapper remapper) {
+            return nodeToChange;
+        }
+
+        @Override
+        public Target getTarget() {
+            return target;
+        }
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * MIT License
+ *
+ * Copyright (c) 2026 OmniMC
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in all
+ * copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN THE
+ * SOFTWARE.
+ *
+ */
+
+package org.omnimc.trix.trait.sequence;
+
+import org.junit.jupiter.api.Assertions;
+import org.junit.jupiter.api.Test;
+import org.omnimc.trix.api.trait.Target;
+import org.omnimc.trix.api.trait.TargetType;
+import org.omnimc.trix.api.trait.clazz.ClassTrait;
+import org.omnimc.trix.api.trait.sequence.TraitIndex;
+import org.omnimc.trix.api.trait.sequence.TraitSequence;
+
+import java.util.Arrays;
+
+/**
+ * @author <a href=https://github.com/CadenCCC>Caden</a>
+ * @since 2.0.0
+ */
+public class TraitIndexTest {
+
+    @Test
+    public void testDirectTraitsAreMergedByPriority() {
+        ClassTrait direct = ClassTrait.of((classNode, remapper) -> classNode, Target.direct(50, "a/B"));
+        ClassTrait[] traits = Arrays.copyOf(SequenceTestHelp.unsortedClassTraits, SequenceTestHelp.unsortedClassTraits.length + 1);
+        traits[traits.length - 1] = direct;
+
+        TraitIndex<ClassTrait> index = TraitIndex.compile(TraitSequence.createImmutableTraitSequence(traits));
+
+        int[] actualPriorities = Arrays.stream(index.getTraits("a/B"))
+                .mapToInt(trait -> trait.getTarget().getPriority())
+                .toArray();
+
+        Assertions.assertArrayEquals(new int[]{Integer.MAX_VALUE, 100, 50, 10, 1, 0}, actualPriorities,
+                                     "Direct traits should be merged in between the other traits by priority");
+        Assertions.assertEquals(SequenceTestHelp.sortedClassTraits.length, index.getTraits("c/D").length,
+                                "Other names should only get the traits that apply to everything");
+    }
+
+    @Test
+    public void testPatternTargets() {
+        ClassTrait packageTrait = ClassTrait.of((classNode, remapper) -> classNode, Target.inPackage(3, "net.minecraft"));
+        ClassTrait prefixTrait = ClassTrait.of((classNode, remapper) -> classNode, Target.prefix(2, "net/minecraft/client/Mine"));
+        ClassTrait globTrait = ClassTrait.of((classNode, remapper) -> classNode, Target.glob(1, "com/example/**Mixin"));
+        ClassTrait allTrait = SequenceTestHelp.createStupidClassTrait(0);
+
+        TraitIndex<ClassTrait> index = TraitIndex.compile(TraitSequence.createImmutableTraitSequence(globTrait, allTrait, prefixTrait, packageTrait));
+
+        Assertions.assertArrayEquals(new ClassTrait[]{packageTrait, prefixTrait, allTrait}, index.getTraits("net/minecraft/client/Minecraft"));
+        Assertions.assertArrayEquals(new ClassTrait[]{packageTrait, allTrait}, index.getTraits("net/minecraft/world/Level"));
+        Assertions.assertArrayEquals(new ClassTrait[]{allTrait}, index.getTraits("net/minecraftforge/Forge"),
+                                     "Packages should only match whole package names");
+        Assertions.assertArrayEquals(new ClassTrait[]{globTrait, allTrait}, index.getTraits("com/example/client/GuiMixin"));
+        Assertions.assertArrayEquals(new ClassTrait[]{allTrait}, index.getTraits("com/example/client/GuiMixins"));
+    }
+
+    @Test
+    public void testGlobs() {
+        Assertions.assertTrue(TargetType.compileGlob("a/*/C").matcher("a/b/C").matches());
+        Assertions.assertFalse(TargetType.compileGlob("a/*/C").matcher("a/b/d/C").matches());
+        Assertions.assertTrue(TargetType.compileGlob("a/**/C").matcher("a/b/d/C").matches());
+        Assertions.assertTrue(TargetType.compileGlob("a/?$1").matcher("a/B$1").matches());
+        Assertions.assertEquals("a/", TargetType.getLiteralPrefix("a/*/C"));
+    }
+
+    @Test
+    public void testEmptySequence() {
+        TraitIndex<ClassTrait> index = TraitIndex.compile(TraitSequence.createMutableTraitSequence());
+
+        Assertions.assertNull(index.getTraits("a/B"));
+        Assertions.assertNull(index.getSequence());
+        Assertions.assertSame(index, TraitIndex.compile(index));
+    }
+}